@@ -0,0 +1,25 @@
+package com.creditsuisse.validator.benchmark;
+
+import com.creditsuisse.validator.ValidatorApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Application context without web server, which is shared by benchmarks of one JMH fork
+ */
+final class BenchmarkContext {
+
+    private static ConfigurableApplicationContext context;
+
+    private BenchmarkContext() {
+    }
+
+    static synchronized <T> T getBean(Class<T> type) {
+        if(null == context) {
+            context = new SpringApplicationBuilder(ValidatorApplication.class)
+                    .web(false)
+                    .run("--logging.level.root=WARN");
+        }
+        return context.getBean(type);
+    }
+}
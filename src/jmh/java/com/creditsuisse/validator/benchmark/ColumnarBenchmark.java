@@ -0,0 +1,71 @@
+package com.creditsuisse.validator.benchmark;
+
+import com.creditsuisse.validator.metrics.ValidationMetrics;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import com.creditsuisse.validator.reference.ReferenceDataProvider;
+import com.creditsuisse.validator.rules.TradeColumns;
+import com.creditsuisse.validator.service.ExecutionPlan;
+import com.creditsuisse.validator.service.RuleOrdering;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of rule evaluation of one chunk in one thread:
+ *      objects - every trade is validated by all its rules (ExecutionPlan.validate(Trade...))
+ *      columns - chunk is converted to TradeColumns and every rule is applied to all trades at once
+ * Conversion to columns is included in "columns", because it's done for every chunk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class ColumnarBenchmark {
+
+    @Param({"256", "4096"})
+    private int chunkSize;
+
+    @Param({"0.0", "0.3"})
+    private double invalidShare;
+
+    private ExecutionPlan executionPlan;
+    private ReferenceData referenceData;
+    private ValidationMetrics validationMetrics;
+    private List<Trade> trades;
+
+    @Setup
+    public void setup() {
+        executionPlan = BenchmarkContext.getBean(RuleOrdering.class).getExecutionPlan();
+        referenceData = BenchmarkContext.getBean(ReferenceDataProvider.class).get();
+        validationMetrics = BenchmarkContext.getBean(ValidationMetrics.class);
+        trades = new TradeGenerator(0.4, 0.3, invalidShare).generate(chunkSize);
+    }
+
+    @Benchmark
+    public long[] objects() {
+        long[] masks = new long[trades.size()];
+        for(int i = 0; i < masks.length; i++) {
+            masks[i] = executionPlan.validate(trades.get(i), referenceData, false, false, validationMetrics);
+        }
+        return masks;
+    }
+
+    @Benchmark
+    public long[] columns() {
+        return executionPlan.validate(new TradeColumns(trades, 0, trades.size()), referenceData, validationMetrics);
+    }
+}
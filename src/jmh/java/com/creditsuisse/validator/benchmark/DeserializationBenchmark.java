@@ -0,0 +1,66 @@
+package com.creditsuisse.validator.benchmark;
+
+import com.creditsuisse.validator.model.Trade;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of Trade batch deserialization:
+ *      default - reflection based binding of Jackson with jackson-datatype-jsr310
+ *      custom - ObjectMapper of application with TradeDeserializer
+ * Run with "-prof gc" to compare also allocation per batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeserializationBenchmark {
+
+    private static final TypeReference<List<Trade>> TRADES_TYPE = new TypeReference<List<Trade>>() {};
+
+    @Param({"1000"})
+    private int batchSize;
+
+    @Param({"default", "custom"})
+    private String deserializer;
+
+    private ObjectMapper objectMapper;
+    private byte[] tradesJson;
+
+    @Setup
+    public void setup() throws IOException {
+        if(deserializer.equals("custom")) {
+            objectMapper = BenchmarkContext.getBean(ObjectMapper.class);
+        } else {
+            objectMapper = new ObjectMapper()
+                    .registerModule(new JavaTimeModule())
+                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        }
+        tradesJson = BenchmarkContext.getBean(ObjectMapper.class)
+                .writeValueAsBytes(new TradeGenerator(0.4, 0.3, 0.3).generate(batchSize));
+    }
+
+    @Benchmark
+    public List<Trade> deserializeTrades() throws IOException {
+        return objectMapper.readValue(tradesJson, TRADES_TYPE);
+    }
+}
@@ -0,0 +1,100 @@
+package com.creditsuisse.validator.benchmark;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.expression.Expression;
+import com.creditsuisse.validator.expression.ExpressionParser;
+import com.creditsuisse.validator.expression.ExpressionRule;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.rules.ProductType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of rule of configuration (see ExpressionRules) on 1024 trades:
+ *      interpreted - tree of condition is walked for every trade
+ *      compiled - condition is compiled to method handles (as it's applied by ExpressionRule)
+ *      handWritten - the same condition written in Java, as rule of code
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+
+    private static final String CONDITION = "amount1 > 0 and valueDate >= tradeDate "
+            + "and (ccyPair in ('EURUSD', 'GBPUSD', 'USDJPY') or legalEntity = 'CS Zurich')";
+    private static final Set<String> CCY_PAIRS = new HashSet<>(Arrays.asList("EURUSD", "GBPUSD", "USDJPY"));
+
+    private Expression expression;
+    private ExpressionRule rule;
+    private List<Trade> trades;
+
+    @Setup
+    public void setup() {
+        expression = ExpressionParser.parse(CONDITION);
+        rule = new ExpressionRule("benchmark", EnumSet.allOf(ProductType.class), expression, MessageTextEnum.RULE_IS_VIOLATED);
+        trades = new TradeGenerator(0.4, 0.3, 0.3).generate(1024);
+    }
+
+    @Benchmark
+    public int interpreted() {
+        int valid = 0;
+        for(Trade trade : trades) {
+            if(expression.evaluate(trade)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int compiled() {
+        int valid = 0;
+        for(Trade trade : trades) {
+            if(null == rule.validate(trade, null)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int handWritten() {
+        int valid = 0;
+        for(Trade trade : trades) {
+            if(handWritten(trade)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    private static boolean handWritten(Trade trade) {
+        BigDecimal amount1 = trade.getAmount1();
+        LocalDate valueDate = trade.getValueDate();
+        LocalDate tradeDate = trade.getTradeDate();
+        return null != amount1 && amount1.compareTo(BigDecimal.ZERO) > 0
+                && null != valueDate && null != tradeDate && valueDate.compareTo(tradeDate) >= 0
+                && (null != trade.getCcyPair() && CCY_PAIRS.contains(trade.getCcyPair())
+                    || null != trade.getLegalEntity() && trade.getLegalEntity().compareTo("CS Zurich") == 0);
+    }
+}
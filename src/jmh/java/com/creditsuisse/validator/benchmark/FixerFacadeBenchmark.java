@@ -0,0 +1,55 @@
+package com.creditsuisse.validator.benchmark;
+
+import com.creditsuisse.validator.integration.FixerFacade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of FixerFacade.isWorkingDay for every day of two years
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixerFacadeBenchmark {
+
+    private FixerFacade fixerFacade;
+    private LocalDate[] dates;
+
+    @Setup
+    public void setup() {
+        fixerFacade = BenchmarkContext.getBean(FixerFacade.class);
+        dates = new LocalDate[730];
+        for(int i = 0; i < dates.length; i++) {
+            dates[i] = LocalDate.of(2017, 1, 1).plusDays(i);
+        }
+    }
+
+    @Benchmark
+    public void isWorkingDay(Blackhole blackhole) {
+        for(LocalDate date : dates) {
+            blackhole.consume(fixerFacade.isWorkingDay(date));
+        }
+    }
+
+    @Benchmark
+    public void isWorkingDayCcyPair(Blackhole blackhole) {
+        for(LocalDate date : dates) {
+            blackhole.consume(fixerFacade.isWorkingDay(date, "EURUSD"));
+        }
+    }
+}
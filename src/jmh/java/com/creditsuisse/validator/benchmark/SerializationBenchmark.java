@@ -0,0 +1,65 @@
+package com.creditsuisse.validator.benchmark;
+
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.responses.ValidationResponse;
+import com.creditsuisse.validator.service.ValidationService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of Jackson deserialization of Trade batch and serialization of ValidationResponse,
+ *      with the same ObjectMapper, which is used by REST resource.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<Trade>> TRADES_TYPE = new TypeReference<List<Trade>>() {};
+
+    @Param({"1000"})
+    private int batchSize;
+
+    @Param({"0.3"})
+    private double invalidShare;
+
+    private ObjectMapper objectMapper;
+    private byte[] tradesJson;
+    private ValidationResponse response;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = BenchmarkContext.getBean(ObjectMapper.class);
+        List<Trade> trades = new TradeGenerator(0.4, 0.3, invalidShare).generate(batchSize);
+        tradesJson = objectMapper.writeValueAsBytes(trades);
+        response = BenchmarkContext.getBean(ValidationService.class).validate(trades);
+    }
+
+    @Benchmark
+    public List<Trade> deserializeTrades() throws IOException {
+        return objectMapper.readValue(tradesJson, TRADES_TYPE);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
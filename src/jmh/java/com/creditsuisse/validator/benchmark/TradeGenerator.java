@@ -0,0 +1,131 @@
+package com.creditsuisse.validator.benchmark;
+
+import com.creditsuisse.validator.model.Trade;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generator of synthetic trades for benchmarks.
+ * Product mix is given by share of SPOT, FORWARD and OPTION trades, and share of not valid trades.
+ * Generator is seeded, so every benchmark run validates the same trades.
+ */
+public class TradeGenerator {
+
+    private static final String[] CCY_PAIRS = {"EURUSD", "GBPUSD", "USDCHF", "USDJPY", "EURGBP", "EURCHF"};
+    private static final LocalDate FIRST_TRADE_DATE = LocalDate.of(2017, 1, 2);
+
+    private final Random random = new Random(42);
+    private final double spotShare;
+    private final double forwardShare;
+    private final double invalidShare;
+
+    /**
+     * @param spotShare share of SPOT trades, e.g. 0.5
+     * @param forwardShare share of FORWARD trades, rest of trades are OPTION trades
+     * @param invalidShare share of not valid trades, e.g. 0.3
+     */
+    public TradeGenerator(double spotShare, double forwardShare, double invalidShare) {
+        this.spotShare = spotShare;
+        this.forwardShare = forwardShare;
+        this.invalidShare = invalidShare;
+    }
+
+    public List<Trade> generate(int count) {
+        List<Trade> trades = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) {
+            trades.add(generate());
+        }
+        return trades;
+    }
+
+    public Trade generate() {
+        double product = random.nextDouble();
+        Trade trade;
+        if(product < spotShare) {
+            trade = spot("Spot", 2);
+        } else if(product < spotShare + forwardShare) {
+            trade = spot("Forward", 30);
+        } else {
+            trade = option();
+        }
+
+        if(random.nextDouble() < invalidShare) {
+            breakTrade(trade);
+        }
+        return trade;
+    }
+
+    private Trade spot(String type, int valueDays) {
+        Trade trade = common(type);
+        trade.setValueDate(workingDay(trade.getTradeDate().plusDays(valueDays)));
+        return trade;
+    }
+
+    private Trade option() {
+        Trade trade = common("VanillaOption");
+        trade.setStyle(random.nextBoolean() ? "AMERICAN" : "EUROPEAN");
+        trade.setStrategy("CALL");
+        trade.setExcerciseStartDate(trade.getTradeDate().plusDays(1));
+        trade.setExpiryDate(trade.getTradeDate().plusDays(8));
+        trade.setDeliveryDate(trade.getTradeDate().plusDays(11));
+        trade.setPayCcy("USD");
+        trade.setPremium(0.20);
+        trade.setPremiumCcy("USD");
+        trade.setPremiumType("%USD");
+        trade.setPremiumDate(trade.getTradeDate().plusDays(1));
+        return trade;
+    }
+
+    private Trade common(String type) {
+        Trade trade = new Trade();
+        trade.setCustomer(random.nextBoolean() ? "PLUTO1" : "PLUTO2");
+        trade.setCcyPair(CCY_PAIRS[random.nextInt(CCY_PAIRS.length)]);
+        trade.setType(type);
+        trade.setDirection(random.nextBoolean() ? "BUY" : "SELL");
+        trade.setTradeDate(workingDay(FIRST_TRADE_DATE.plusDays(random.nextInt(600))));
+        trade.setAmount1(BigDecimal.valueOf(1000000.00));
+        trade.setAmount2(BigDecimal.valueOf(1120000.00));
+        trade.setRate(1.12);
+        trade.setLegalEntity("CS Zurich");
+        trade.setTrader("Johann Baumfiddler");
+        return trade;
+    }
+
+    private void breakTrade(Trade trade) {
+        switch (random.nextInt(5)) {
+            case 0:
+                trade.setCustomer("PLUTO3");
+                break;
+            case 1:
+                trade.setCcyPair("EURXXY");
+                break;
+            case 2:
+                trade.setLegalEntity("CS London");
+                break;
+            case 3:
+                trade.setPayCcy("AAA");
+                break;
+            default:
+                if(null != trade.getValueDate()) {
+                    trade.setValueDate(trade.getTradeDate().minusDays(1));
+                } else {
+                    trade.setStyle("ASIAN");
+                }
+        }
+    }
+
+    private static LocalDate workingDay(LocalDate date) {
+        switch (date.getDayOfWeek()) {
+            case SATURDAY:
+                return date.plusDays(2);
+            case SUNDAY:
+                return date.plusDays(1);
+            default:
+                return date;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.creditsuisse.validator.benchmark;
+
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.responses.ValidationResponse;
+import com.creditsuisse.validator.service.ValidationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of ValidationService: one trade and batches of different size, product mix and share of not valid trades
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    private int batchSize;
+
+    @Param({"0.0", "0.3"})
+    private double invalidShare;
+
+    @Param({"0.4"})
+    private double spotShare;
+
+    @Param({"0.3"})
+    private double forwardShare;
+
+    private ValidationService validationService;
+    private List<Trade> trades;
+    private List<Trade> singleTrade;
+
+    @Setup
+    public void setup() {
+        validationService = BenchmarkContext.getBean(ValidationService.class);
+        trades = new TradeGenerator(spotShare, forwardShare, invalidShare).generate(batchSize);
+        singleTrade = Collections.singletonList(trades.get(0));
+    }
+
+    @Benchmark
+    public ValidationResponse validateBatch() {
+        return validationService.validate(trades);
+    }
+
+    @Benchmark
+    public ValidationResponse validateSingleTrade() {
+        return validationService.validate(singleTrade);
+    }
+}
@@ -1,12 +1,15 @@
 package com.creditsuisse.validator;
 
+import com.creditsuisse.validator.cli.BulkValidationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.context.annotation.ComponentScan;
 
 /**
  * Main Configuration
+ * With argument "--cli.input=<file>" application validates file offline without web server (see BulkValidationRunner)
  */
 @SpringBootApplication
 @EnableAutoConfiguration
@@ -14,6 +17,9 @@ import org.springframework.context.annotation.ComponentScan;
 public class ValidatorApplication {
 
 	public static void main(String[] args) {
+		if(BulkValidationRunner.isRequested(args)) {
+			System.exit(SpringApplication.exit(new SpringApplicationBuilder(ValidatorApplication.class).web(false).run(args)));
+		}
 		SpringApplication.run(ValidatorApplication.class, args);
 	}
 }
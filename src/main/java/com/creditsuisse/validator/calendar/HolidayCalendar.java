@@ -0,0 +1,100 @@
+package com.creditsuisse.validator.calendar;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Business day calendar of one financial centre.
+ * All not working days (weekends and public holidays) between first and last year are precomputed
+ *      in a bitmap indexed by epoch day, so isWorkingDay is one array lookup without any allocation.
+ * Outside of precomputed years only weekends are known.
+ */
+public class HolidayCalendar {
+
+    private final String name;
+    private final long firstDay;
+    private final long lastDay;
+    private final long[] notWorkingDays;
+
+    /**
+     * @param name name of calendar, e.g. currency "USD"
+     * @param holidays public holidays
+     * @param firstYear first year, which should be precomputed
+     * @param lastYear last year (inclusive), which should be precomputed
+     */
+    public HolidayCalendar(String name, Collection<LocalDate> holidays, int firstYear, int lastYear) {
+        this.name = name;
+        this.firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        this.lastDay = LocalDate.of(lastYear + 1, 1, 1).toEpochDay();
+        this.notWorkingDays = new long[(int) ((lastDay - firstDay + 63) >>> 6)];
+
+        for(long day = firstDay; day < lastDay; day++) {
+            if(isWeekend(day)) {
+                mark(day);
+            }
+        }
+        for(LocalDate holiday : holidays) {
+            long day = holiday.toEpochDay();
+            if(day >= firstDay && day < lastDay) {
+                mark(day);
+            }
+        }
+    }
+
+    /**
+     * Calendar, which knows only weekends
+     * @param name name of calendar
+     * @return calendar without public holidays
+     */
+    public static HolidayCalendar weekendsOnly(String name) {
+        return new HolidayCalendar(name, Collections.emptyList(), 1970, 1970);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Identify, if input date is working day
+     * @param epochDay input date as LocalDate.toEpochDay()
+     * @return true, if input date is working day
+     */
+    public boolean isWorkingDay(long epochDay) {
+        long offset = epochDay - firstDay;
+        if(offset < 0 || epochDay >= lastDay) {
+            return !isWeekend(epochDay);
+        }
+        return (notWorkingDays[(int) (offset >>> 6)] & (1L << offset)) == 0;
+    }
+
+    /**
+     * Identify, if input date is working day
+     * @param date input date
+     * @return true, if input date is working day
+     */
+    public boolean isWorkingDay(LocalDate date) {
+        return isWorkingDay(date.toEpochDay());
+    }
+
+    private void mark(long day) {
+        long offset = day - firstDay;
+        notWorkingDays[(int) (offset >>> 6)] |= 1L << offset;
+    }
+
+    /**
+     * Identify, if input date is Saturday or Sunday
+     * @param date input date
+     * @return true, if input date is weekend
+     */
+    public static boolean isWeekend(LocalDate date) {
+        return isWeekend(date.toEpochDay());
+    }
+
+    /**
+     * 1970-01-01 (epoch day 0) is Thursday, so (epochDay + 3) mod 7 is 0 for Monday ... 5 for Saturday, 6 for Sunday
+     */
+    static boolean isWeekend(long epochDay) {
+        return Math.floorMod(epochDay + 3, 7) >= 5;
+    }
+}
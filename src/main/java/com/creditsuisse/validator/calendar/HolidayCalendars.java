@@ -0,0 +1,220 @@
+package com.creditsuisse.validator.calendar;
+
+import com.creditsuisse.validator.util.CurrencyCodes;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Business day calendars of all financial centres, identified by currency.
+ * Calendars are looked up by encoded currency code, so joint calendar of currency pair (e.g. "EURUSD")
+ *      is resolved directly from ccyPair chars without substring and map lookup.
+ * Currency without configured calendar has calendar with weekends only.
+ */
+public class HolidayCalendars {
+
+    private final HolidayCalendar[] calendars = new HolidayCalendar[CurrencyCodes.SIZE];
+    private final HolidayCalendar weekendsOnly = HolidayCalendar.weekendsOnly("WEEKENDS");
+    private final HolidayCalendar defaultCalendar;
+    private final String defaultCurrency;
+    private final Map<String, List<LocalDate>> holidays = new HashMap<>();
+    private final List<String> currencies;
+    private final long firstDay;
+    private final long lastDay;
+    private final SettlementCalendar settlementCalendar;
+
+    /**
+     * @param holidays public holidays by currency, e.g. "USD" -> [2017-01-02, 2017-01-16 ...]
+     * @param defaultCurrency currency, which calendar is used, if currency of trade is not known
+     */
+    public HolidayCalendars(Map<String, ? extends Collection<LocalDate>> holidays, String defaultCurrency) {
+        this(holidays, defaultCurrency, Collections.emptyList());
+    }
+
+    /**
+     * @param holidays public holidays by currency, e.g. "USD" -> [2017-01-02, 2017-01-16 ...]
+     * @param defaultCurrency currency, which calendar is used, if currency of trade is not known
+     * @param spotNextDayPairs currency pairs, which settle spot T+1 instead of T+2, e.g. "USDCAD"
+     */
+    public HolidayCalendars(Map<String, ? extends Collection<LocalDate>> holidays, String defaultCurrency,
+                            Collection<String> spotNextDayPairs) {
+        int firstYear = holidays.values().stream().flatMap(Collection::stream)
+                .mapToInt(LocalDate::getYear).min().orElse(LocalDate.now().getYear());
+        int lastYear = holidays.values().stream().flatMap(Collection::stream)
+                .mapToInt(LocalDate::getYear).max().orElse(LocalDate.now().getYear());
+
+        holidays.forEach((currency, dates) -> {
+            int code = CurrencyCodes.encode(currency);
+            if(code == CurrencyCodes.NOT_VALID) {
+                throw new IllegalArgumentException("Holiday calendar should be identified by currency, but was: " + currency);
+            }
+            calendars[code] = new HolidayCalendar(currency, dates, firstYear, lastYear);
+            this.holidays.put(currency, Collections.unmodifiableList(new ArrayList<>(dates)));
+        });
+
+        this.defaultCalendar = get(defaultCurrency);
+        this.defaultCurrency = defaultCurrency;
+        List<String> names = new ArrayList<>(holidays.keySet());
+        Collections.sort(names);
+        this.currencies = Collections.unmodifiableList(names);
+        this.firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        this.lastDay = LocalDate.of(lastYear + 1, 1, 1).toEpochDay();
+        this.settlementCalendar = new SettlementCalendar(this, spotNextDayPairs);
+    }
+
+    /**
+     * Calendars without public holidays (only weekends)
+     * @return calendars
+     */
+    public static HolidayCalendars weekendsOnly() {
+        return new HolidayCalendars(Collections.emptyMap(), "USD");
+    }
+
+    /**
+     * @return currencies, which have calendar with public holidays
+     */
+    public List<String> getCurrencies() {
+        return currencies;
+    }
+
+    /**
+     * @return currency, which calendar is used, if currency of trade is not known
+     */
+    public String getDefaultCurrency() {
+        return defaultCurrency;
+    }
+
+    /**
+     * @param currency currency, e.g. "USD"
+     * @return public holidays of currency, as they are configured, or null if currency has no calendar
+     */
+    public List<LocalDate> getHolidays(String currency) {
+        return holidays.get(currency);
+    }
+
+    /**
+     * @return spot dates of currency pairs on these calendars
+     */
+    public SettlementCalendar getSettlementCalendar() {
+        return settlementCalendar;
+    }
+
+    /**
+     * Calendar of currency
+     * @param currency currency, e.g. "USD"
+     * @return calendar of currency, or calendar with weekends only if there are no holidays for currency
+     */
+    public HolidayCalendar get(String currency) {
+        return get(CurrencyCodes.encode(currency));
+    }
+
+    /**
+     * Identify, if input date is working day in default calendar
+     * @param date input date, which we should identify
+     * @return true, if input date is working day
+     */
+    public boolean isWorkingDay(LocalDate date) {
+        return defaultCalendar.isWorkingDay(date.toEpochDay());
+    }
+
+    /**
+     * Identify, if input date is working day in both currencies of currency pair.
+     * If currency pair is not valid, then default calendar is used.
+     * @param date input date, which we should identify
+     * @param ccyPair currency pair, e.g. "EURUSD"
+     * @return true, if input date is working day
+     */
+    public boolean isWorkingDay(LocalDate date, String ccyPair) {
+        long epochDay = date.toEpochDay();
+        if(!isCcyPair(ccyPair)) {
+            return defaultCalendar.isWorkingDay(epochDay);
+        }
+        return get(CurrencyCodes.encode(ccyPair, 0)).isWorkingDay(epochDay)
+                && get(CurrencyCodes.encode(ccyPair, 3)).isWorkingDay(epochDay);
+    }
+
+    /**
+     * Identify, if input date is working day in both currencies of encoded currency pair (see CurrencyCodes)
+     * @param epochDay input date as LocalDate.toEpochDay()
+     * @param first encoded first currency of pair
+     * @param second encoded second currency of pair
+     * @return true, if input date is working day
+     */
+    public boolean isWorkingDay(long epochDay, int first, int second) {
+        return get(first).isWorkingDay(epochDay) && get(second).isWorkingDay(epochDay);
+    }
+
+    /**
+     * Add business days of both currencies of currency pair. E.g. settlement date T+2 is addBusinessDays(tradeDate, 2, ccyPair)
+     * If currency pair is not valid, then default calendar is used.
+     * @param date start date
+     * @param days number of business days, which should be added (negative to subtract)
+     * @param ccyPair currency pair, e.g. "EURUSD"
+     * @return date, which is "days" business days after start date
+     */
+    public LocalDate addBusinessDays(LocalDate date, int days, String ccyPair) {
+        HolidayCalendar first = defaultCalendar;
+        HolidayCalendar second = defaultCalendar;
+        if(isCcyPair(ccyPair)) {
+            first = get(CurrencyCodes.encode(ccyPair, 0));
+            second = get(CurrencyCodes.encode(ccyPair, 3));
+        }
+
+        return LocalDate.ofEpochDay(addBusinessDays(date.toEpochDay(), days, first, second));
+    }
+
+    /**
+     * Add business days of joint calendar
+     * @param epochDay start date as LocalDate.toEpochDay()
+     * @param days number of business days, which should be added (negative to subtract)
+     * @param first first calendar
+     * @param second second calendar
+     * @return epoch day, which is "days" business days after start date
+     */
+    static long addBusinessDays(long epochDay, int days, HolidayCalendar first, HolidayCalendar second) {
+        int step = days < 0 ? -1 : 1;
+        for(int remaining = Math.abs(days); remaining > 0; ) {
+            epochDay += step;
+            if(first.isWorkingDay(epochDay) && second.isWorkingDay(epochDay)) {
+                remaining--;
+            }
+        }
+        return epochDay;
+    }
+
+    /**
+     * @return first precomputed day of calendars (epoch day)
+     */
+    long getFirstDay() {
+        return firstDay;
+    }
+
+    /**
+     * @return day after last precomputed day of calendars (epoch day)
+     */
+    long getLastDay() {
+        return lastDay;
+    }
+
+    /**
+     * @param code encoded currency (see CurrencyCodes)
+     * @return calendar of currency, or calendar with weekends only
+     */
+    HolidayCalendar get(int code) {
+        if(code == CurrencyCodes.NOT_VALID || null == calendars[code]) {
+            return weekendsOnly;
+        }
+        return calendars[code];
+    }
+
+    private static boolean isCcyPair(String ccyPair) {
+        return null != ccyPair && ccyPair.length() == 6
+                && CurrencyCodes.encode(ccyPair, 0) != CurrencyCodes.NOT_VALID
+                && CurrencyCodes.encode(ccyPair, 3) != CurrencyCodes.NOT_VALID;
+    }
+}
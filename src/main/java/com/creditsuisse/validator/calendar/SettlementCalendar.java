@@ -0,0 +1,142 @@
+package com.creditsuisse.validator.calendar;
+
+import com.creditsuisse.validator.util.CurrencyCodes;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spot (settlement) dates of currency pairs. Spot date is trade date + 2 business days (T+2) on joint calendar
+ *      of both currencies, or T+1 for pairs, which are listed in "holidays.spotNextDay" (e.g. USDCAD).
+ * Spot dates of all trade dates in precomputed years of calendars are computed once per currency pair
+ *      into table indexed by epoch day, so spot date of trade is one array lookup.
+ * Tables are created lazily for pairs, which occur in trades (EURUSD and USDEUR share one table),
+ *      at most MAX_TABLES of them. Other pairs and trade dates outside of precomputed years are computed directly.
+ */
+public class SettlementCalendar {
+
+    public static final int SPOT_DAYS = 2;
+    public static final int SPOT_NEXT_DAY = 1;
+
+    private static final int MAX_TABLES = 1024;
+
+    private final HolidayCalendars calendars;
+    private final Set<Integer> nextDayPairs = new HashSet<>();
+    private final List<String> nextDayPairNames;
+    private final ConcurrentHashMap<Integer, int[]> tables = new ConcurrentHashMap<>();
+
+    /**
+     * @param calendars holiday calendars
+     * @param nextDayPairs currency pairs, which settle T+1, e.g. "USDCAD"
+     */
+    SettlementCalendar(HolidayCalendars calendars, Collection<String> nextDayPairs) {
+        this.calendars = calendars;
+        for(String ccyPair : nextDayPairs) {
+            int first = CurrencyCodes.encode(ccyPair, 0);
+            int second = CurrencyCodes.encode(ccyPair, 3);
+            if(ccyPair.length() != 6 || first == CurrencyCodes.NOT_VALID || second == CurrencyCodes.NOT_VALID) {
+                throw new IllegalArgumentException("Spot T+1 should be configured for currency pair, but was: " + ccyPair);
+            }
+            this.nextDayPairs.add(key(first, second));
+        }
+        this.nextDayPairNames = Collections.unmodifiableList(new ArrayList<>(nextDayPairs));
+    }
+
+    /**
+     * @return currency pairs, which settle T+1, as they are configured
+     */
+    public List<String> getNextDayPairs() {
+        return nextDayPairNames;
+    }
+
+    /**
+     * @param ccyPair currency pair, e.g. "USDCAD"
+     * @return number of business days between trade date and spot date, or -1 if currency pair is not valid
+     */
+    public int getSpotDays(String ccyPair) {
+        if(!isCcyPair(ccyPair)) {
+            return -1;
+        }
+        return getSpotDays(CurrencyCodes.encode(ccyPair, 0), CurrencyCodes.encode(ccyPair, 3));
+    }
+
+    /**
+     * @param tradeDate trade date
+     * @param ccyPair currency pair, e.g. "EURUSD"
+     * @return spot date, or null if currency pair is not valid
+     */
+    public LocalDate spotDate(LocalDate tradeDate, String ccyPair) {
+        if(!isCcyPair(ccyPair)) {
+            return null;
+        }
+        return LocalDate.ofEpochDay(spotDay(tradeDate.toEpochDay(),
+                CurrencyCodes.encode(ccyPair, 0), CurrencyCodes.encode(ccyPair, 3)));
+    }
+
+    /**
+     * Spot date of encoded currency pair, e.g. for columns of trades (see TradeColumns)
+     * @param tradeDay trade date as LocalDate.toEpochDay()
+     * @param first encoded first currency of pair (see CurrencyCodes)
+     * @param second encoded second currency of pair
+     * @return spot date as epoch day
+     */
+    public long spotDay(long tradeDay, int first, int second) {
+        long offset = tradeDay - calendars.getFirstDay();
+        if(offset >= 0 && tradeDay < calendars.getLastDay()) {
+            int[] table = table(first, second);
+            if(null != table) {
+                return table[(int) offset];
+            }
+        }
+        return HolidayCalendars.addBusinessDays(tradeDay, getSpotDays(first, second),
+                calendars.get(first), calendars.get(second));
+    }
+
+    private int getSpotDays(int first, int second) {
+        return nextDayPairs.contains(key(first, second)) ? SPOT_NEXT_DAY : SPOT_DAYS;
+    }
+
+    /**
+     * @return table of spot dates by offset of trade date, or null if there are too many tables
+     */
+    private int[] table(int first, int second) {
+        int key = key(first, second);
+        int[] table = tables.get(key);
+        if(null == table && tables.size() < MAX_TABLES) {
+            table = tables.computeIfAbsent(key, ignored -> computeTable(first, second));
+        }
+        return table;
+    }
+
+    private int[] computeTable(int first, int second) {
+        HolidayCalendar firstCalendar = calendars.get(first);
+        HolidayCalendar secondCalendar = calendars.get(second);
+        int spotDays = getSpotDays(first, second);
+
+        int[] table = new int[(int) (calendars.getLastDay() - calendars.getFirstDay())];
+        for(int i = 0; i < table.length; i++) {
+            table[i] = (int) HolidayCalendars.addBusinessDays(calendars.getFirstDay() + i, spotDays,
+                    firstCalendar, secondCalendar);
+        }
+        return table;
+    }
+
+    /**
+     * Key of pair, which doesn't depend on order of currencies
+     */
+    private static int key(int first, int second) {
+        return Math.min(first, second) * CurrencyCodes.SIZE + Math.max(first, second);
+    }
+
+    private static boolean isCcyPair(String ccyPair) {
+        return null != ccyPair && ccyPair.length() == 6
+                && CurrencyCodes.encode(ccyPair, 0) != CurrencyCodes.NOT_VALID
+                && CurrencyCodes.encode(ccyPair, 3) != CurrencyCodes.NOT_VALID;
+    }
+}
@@ -0,0 +1,260 @@
+package com.creditsuisse.validator.cli;
+
+import com.creditsuisse.validator.io.ErrorReportWriter;
+import com.creditsuisse.validator.model.ErrorReport;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.service.ValidationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offline validation of big NDJSON or CSV file, without web server:
+ *      java -jar validator.jar --cli.input=trades.ndjson [--cli.output=errors.ndjson] [--cli.format=csv]
+ * Input file is memory mapped and split on line boundaries to regions of "cli.regionSize" bytes,
+ *      which are parsed and validated in parallel by ValidationService. Error reports are written to output file
+ *      in order of input (see ErrorReportWriter), with index of trade in whole file.
+ * Record, which can't be parsed, doesn't stop validation: it's reported as error line {"index": N, "error": "..."}.
+ * Exit code is 0, if all trades are valid, and 1, if there are not valid trades or records, which are not parsed.
+ */
+@Component
+@ConditionalOnProperty(name = "cli.input")
+public class BulkValidationRunner implements CommandLineRunner, ExitCodeGenerator {
+
+    private static final Logger LOGGER = LogManager.getLogger(BulkValidationRunner.class);
+    private static final String INPUT_ARGUMENT = "--cli.input=";
+    private static final String FORMAT_CSV = "csv";
+
+    @Value("${cli.input}")
+    private String input;
+
+    @Value("${cli.output:}")
+    private String output;
+
+    @Value("${cli.format:}")
+    private String format;
+
+    @Value("${cli.regionSize:16777216}")
+    private long regionSize;
+
+    @Value("${cli.threads:0}")
+    private int threads;
+
+    @Autowired
+    private ValidationService validationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private int exitCode;
+
+    /**
+     * @param args command line arguments of application
+     * @return true, if application should run offline validation instead of web server
+     */
+    public static boolean isRequested(String[] args) {
+        return Arrays.stream(args).anyMatch(arg -> arg.startsWith(INPUT_ARGUMENT));
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Path inputFile = Paths.get(input);
+        Path outputFile = Paths.get(output.isEmpty() ? input + ".errors.ndjson" : output);
+        boolean csv = format.isEmpty() ? input.toLowerCase().endsWith("." + FORMAT_CSV) : format.equalsIgnoreCase(FORMAT_CSV);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "cli-validation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        long records = 0;
+        long errors = 0;
+        long malformed = 0;
+        try (FileChannel channel = FileChannel.open(inputFile, StandardOpenOption.READ);
+             ErrorReportWriter writer = new ErrorReportWriter(objectMapper, new BufferedOutputStream(Files.newOutputStream(outputFile)))) {
+            CsvTradeParser csvParser = null;
+            long dataStart = 0;
+            if(csv) {
+                dataStart = MappedRegions.endOfLine(channel, 0, ByteBuffer.allocate(8192));
+                ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, dataStart);
+                csvParser = new CsvTradeParser(objectMapper, nextLine(header));
+            }
+
+            CsvTradeParser parser = csvParser;
+            Deque<Future<RegionResult>> results = new ArrayDeque<>();
+            for(ByteBuffer region : MappedRegions.map(channel, dataStart, Math.min(regionSize, Integer.MAX_VALUE / 2))) {
+                results.add(executor.submit(() -> validate(region, parser)));
+                // results are written in order, so only few regions are parsed ahead of writer
+                while(results.size() > poolSize * 2) {
+                    RegionResult result = get(results.poll());
+                    write(writer, result, records);
+                    records += result.records;
+                    errors += result.reports.size();
+                    malformed += result.malformed.size();
+                }
+            }
+            while(!results.isEmpty()) {
+                RegionResult result = get(results.poll());
+                write(writer, result, records);
+                records += result.records;
+                errors += result.reports.size();
+                malformed += result.malformed.size();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        double seconds = Math.max(System.nanoTime() - start, 1) / (double) TimeUnit.SECONDS.toNanos(1);
+        LOGGER.info(String.format("Validated %d records in %.3f s (%.0f records/sec), %d not valid trades"
+                + " and %d not parsed records written to %s", records, seconds, records / seconds, errors, malformed, outputFile));
+        exitCode = errors == 0 && malformed == 0 ? 0 : 1;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    /**
+     * Parse and validate region. NDJSON and CSV have one record per line, so record, which can't be parsed,
+     *      is skipped and parsing continues with next line.
+     */
+    private RegionResult validate(ByteBuffer region, CsvTradeParser csvParser) {
+        ObjectReader tradeReader = objectMapper.readerFor(Trade.class);
+        List<Trade> trades = new ArrayList<>();
+        List<MalformedRecord> malformed = new ArrayList<>();
+        long records = 0;
+        for(String line = nextLine(region); null != line; line = nextLine(region)) {
+            if(line.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                trades.add(null != csvParser ? csvParser.parse(line) : tradeReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                malformed.add(new MalformedRecord(records, e.getOriginalMessage()));
+            } catch (IOException | RuntimeException e) {
+                malformed.add(new MalformedRecord(records, e.getMessage()));
+            }
+            records++;
+        }
+        return new RegionResult(records, validationService.validate(trades).getValidationDetails(), malformed);
+    }
+
+    /**
+     * Writes error reports and not parsed records of region in order of records.
+     * Index of error report is index of trade, which doesn't count not parsed records before it.
+     */
+    private static void write(ErrorReportWriter writer, RegionResult result, long offset) throws IOException {
+        int next = 0;
+        for(ErrorReport report : result.reports) {
+            long record = report.getIndex() + next;
+            while(next < result.malformed.size() && result.malformed.get(next).index <= record) {
+                writer.writeError(offset + result.malformed.get(next).index, result.malformed.get(next).error);
+                next++;
+                record++;
+            }
+            writer.write(report, offset + record);
+        }
+        for(; next < result.malformed.size(); next++) {
+            writer.writeError(offset + result.malformed.get(next).index, result.malformed.get(next).error);
+        }
+    }
+
+    private static RegionResult get(Future<RegionResult> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @return next line of buffer without "\r\n", or null at the end of buffer
+     */
+    private static String nextLine(ByteBuffer buffer) {
+        if(!buffer.hasRemaining()) {
+            return null;
+        }
+
+        int start = buffer.position();
+        int end = start;
+        while(end < buffer.limit() && buffer.get(end) != '\n') {
+            end++;
+        }
+        buffer.position(Math.min(end + 1, buffer.limit()));
+        if(end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+
+        byte[] bytes = new byte[end - start];
+        for(int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Validated region: number of records, error reports with index of trade in region
+     *      and records, which are not parsed, with index of record in region
+     */
+    private static class RegionResult {
+        private final long records;
+        private final List<ErrorReport> reports;
+        private final List<MalformedRecord> malformed;
+
+        private RegionResult(long records, List<ErrorReport> reports, List<MalformedRecord> malformed) {
+            this.records = records;
+            this.reports = reports;
+            this.malformed = malformed;
+        }
+    }
+
+    private static class MalformedRecord {
+        private final long index;
+        private final String error;
+
+        private MalformedRecord(long index, String error) {
+            this.index = index;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.creditsuisse.validator.cli;
+
+import com.creditsuisse.validator.model.Trade;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser of CSV records of trades. First line of file is header with names of Trade fields, e.g.
+ *      customer,ccyPair,type,tradeDate,valueDate,legalEntity
+ * Values can be quoted ("CS Zurich", "a ""quoted"" value"), but one record should be on one line.
+ * Empty value is null. Values are bound by ObjectMapper, so formats are the same as in JSON.
+ */
+class CsvTradeParser {
+
+    private final ObjectMapper objectMapper;
+    private final String[] fields;
+
+    CsvTradeParser(ObjectMapper objectMapper, String header) {
+        this.objectMapper = objectMapper;
+        this.fields = split(header).stream().map(String::trim).toArray(String[]::new);
+    }
+
+    /**
+     * @param line CSV record
+     * @return trade
+     */
+    Trade parse(String line) throws JsonProcessingException {
+        List<String> values = split(line);
+        if(values.size() > fields.length) {
+            throw new IllegalArgumentException("CSV record has more values than header: " + line);
+        }
+
+        ObjectNode node = objectMapper.createObjectNode();
+        for(int i = 0; i < values.size(); i++) {
+            if(!values.get(i).isEmpty()) {
+                node.put(fields[i], values.get(i));
+            }
+        }
+        return objectMapper.treeToValue(node, Trade.class);
+    }
+
+    static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for(int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if(quoted) {
+                if(c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if(c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if(c == '"') {
+                quoted = true;
+            } else if(c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
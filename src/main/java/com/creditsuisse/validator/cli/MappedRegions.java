@@ -0,0 +1,57 @@
+package com.creditsuisse.validator.cli;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits file with one record per line to memory mapped regions. Every region ends on end of line,
+ *      so regions can be parsed independently. Regions are mapped separately, so file can be bigger than 2GB.
+ */
+final class MappedRegions {
+
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private MappedRegions() {
+    }
+
+    /**
+     * @param channel file
+     * @param start position of first record
+     * @param regionSize approximate size of region in bytes
+     * @return read-only regions of file from start to end of file
+     */
+    static List<ByteBuffer> map(FileChannel channel, long start, long regionSize) throws IOException {
+        List<ByteBuffer> regions = new ArrayList<>();
+        long size = channel.size();
+        ByteBuffer scanBuffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+
+        for(long from = start; from < size; ) {
+            long to = from + regionSize >= size ? size : endOfLine(channel, from + regionSize - 1, scanBuffer);
+            regions.add(channel.map(FileChannel.MapMode.READ_ONLY, from, to - from));
+            from = to;
+        }
+        return regions;
+    }
+
+    /**
+     * @return position after first '\n' at position or after it, or size of file
+     */
+    static long endOfLine(FileChannel channel, long position, ByteBuffer scanBuffer) throws IOException {
+        for(long offset = position; ; ) {
+            scanBuffer.clear();
+            int count = channel.read(scanBuffer, offset);
+            if(count <= 0) {
+                return channel.size();
+            }
+            for(int i = 0; i < count; i++) {
+                if(scanBuffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += count;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.creditsuisse.validator.configuration;
+
+import com.creditsuisse.validator.calendar.HolidayCalendars;
+import com.creditsuisse.validator.reference.ReferenceDataLoader;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuration of business day calendars.
+ * Calendars are listed in "holidays.calendars", and public holidays of every calendar are in "holidays.<currency>"
+ * Note: these are calendars of application.properties. Calendars, which are reloaded at runtime,
+ *      are in snapshot of ReferenceDataProvider.
+ */
+@Configuration
+public class CalendarConfig {
+
+    @Bean
+    public HolidayCalendars holidayCalendars(Environment environment) {
+        return ReferenceDataLoader.calendars(environment::getProperty);
+    }
+}
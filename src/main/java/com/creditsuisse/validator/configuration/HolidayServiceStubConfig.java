@@ -0,0 +1,29 @@
+package com.creditsuisse.validator.configuration;
+
+import com.creditsuisse.validator.calendar.HolidayCalendars;
+import com.creditsuisse.validator.integration.stub.HolidayServiceStub;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Configuration of in-process stub of 3rd party holiday API, to run RemoteFixerFacade offline.
+ * If "fixer.remote.url" is empty, then RemoteFixerFacade calls this stub.
+ */
+@Configuration
+@ConditionalOnProperty(name = "fixer.remote.stub.enabled", havingValue = "true")
+public class HolidayServiceStubConfig {
+
+    @Bean(destroyMethod = "stop")
+    public HolidayServiceStub holidayServiceStub(HolidayCalendars holidayCalendars,
+                                                 @Value("#{'${holidays.calendars}'.split(',')}") List<String> currencies,
+                                                 @Value("${fixer.remote.stub.port:0}") int port) throws IOException {
+        HolidayServiceStub stub = new HolidayServiceStub(holidayCalendars, currencies);
+        stub.start(port);
+        return stub;
+    }
+}
@@ -0,0 +1,56 @@
+package com.creditsuisse.validator.configuration;
+
+import com.creditsuisse.validator.io.TradeDeserializer;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import com.creditsuisse.validator.reference.ReferenceDataProvider;
+import com.creditsuisse.validator.util.StringCanonicalizer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of JSON binding. Module is registered by Spring Boot to ObjectMapper of application.
+ * Trade is deserialized by TradeDeserializer, which canonicalizes strings against reference data
+ *      and values listed in "validation.json.canonicalValues".
+ * Canonical values are replaced, when reference data are reloaded.
+ */
+@Configuration
+@ConditionalOnProperty(name = "validation.json.tradeDeserializer", havingValue = "true", matchIfMissing = true)
+public class JacksonConfig {
+
+    /**
+     * Known values of low cardinality string fields, which are shared also by binary format of trades
+     */
+    @Bean
+    public StringCanonicalizer tradeCanonicalizer(ReferenceDataProvider referenceDataProvider,
+                                                   @Value("#{'${validation.json.canonicalValues:}'.split(',')}") List<String> canonicalValues) {
+        StringCanonicalizer canonicalizer = new StringCanonicalizer(
+                getCanonicalValues(referenceDataProvider.get(), canonicalValues));
+        referenceDataProvider.addListener(
+                referenceData -> canonicalizer.reset(getCanonicalValues(referenceData, canonicalValues)));
+        return canonicalizer;
+    }
+
+    @Bean
+    public Module tradeModule(StringCanonicalizer tradeCanonicalizer) {
+        SimpleModule module = new SimpleModule("TradeModule");
+        module.addDeserializer(Trade.class, new TradeDeserializer(tradeCanonicalizer));
+        return module;
+    }
+
+    private static List<String> getCanonicalValues(ReferenceData referenceData, List<String> canonicalValues) {
+        List<String> values = new ArrayList<>();
+        values.addAll(referenceData.getCustomers());
+        values.addAll(referenceData.getCurrencies().toList());
+        values.addAll(referenceData.getLegalEntities());
+        values.addAll(canonicalValues);
+        return values;
+    }
+}
@@ -1,38 +1,66 @@
-package com.creditsuisse.validator.enums;
-
-import com.fasterxml.jackson.annotation.JsonValue;
-
-/**
- * NOTE: it's better to configure internalization and i18n... and store messages in property files.
- *      But for current demo task.... I will put in enum.
- * Message Text, with explanation, why Trade data is not valid.
- */
-public enum MessageTextEnum {
-
-    VALUE_DATE_BEFORE_TRADE_DATE("Value date should be after Trade Date"),
-    VALUE_DATE_IS_NOT_WORKING_DAY("Value date should be as working day"),
-    CUSTOMER_IS_NOT_SUPPORTED("Customer is not supported. Should be some of 'PLUTO1' or 'PLUTO2'"),
-    CCYPAIR_IS_NOT_VALID("CcyPair is not valid"),
-    PAYCCY_IS_NOT_VALID("PayCcy is not valid according WIKI list of correct currencies"),
-    PREMIUMCCY_IS_NOT_VALID("PremiumCcy is not valid according WIKI list of correct currencies"),
-    VALUE_DATE_IS_EMPTY("Value Date should not be empty for Product Type = SPOT or FORWARD"),
-    STYLE_IS_NOT_VALID_FOR_OPTION("Style is not valid. Should be AMERICAN or EUROPEAN"),
-    EXCERCISE_START_DATE_IS_EMPTY("ExcerciseStartDate should not be empty, if style is American"),
-    EXCERCISE_START_DATE_IS_BEFORE_TRADE_DATE("ExcerciseStartDate should be after trade date"),
-    EXCERCISE_START_DATE_IS_AFTER_EXPIRY_DATE("ExcerciseStartDate should be before expiry date"),
-    EXPIRY_DATE_IS_AFTER_DELIVERY_DATE("Expiry date should be before Delivery date, if Product Type contains 'OPTION'"),
-    PREMIUM_DATE_IS_AFTER_DELIVERY_DATE("Premium date should be before Delivery date, if Product Type contains 'OPTION'"),
-    LEGAL_ENTITY_IS_NOT_VALID("Legal Entity is not valid");
-
-
-    private String text;
-
-    MessageTextEnum(String text) {
-        this.text = text;
-    }
-
-    @JsonValue
-    public String getText() {
-        return text;
-    }
-}
+package com.creditsuisse.validator.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * NOTE: it's better to configure internalization and i18n... and store messages in property files.
+ *      But for current demo task.... I will put in enum.
+ * Message Text, with explanation, why Trade data is not valid.
+ * Every message has short stable code. Codes should never be changed, because clients of compact response rely on them.
+ */
+public enum MessageTextEnum {
+
+    VALUE_DATE_BEFORE_TRADE_DATE("VD1", "Value date should be after Trade Date"),
+    VALUE_DATE_IS_NOT_WORKING_DAY("VD2", "Value date should be as working day"),
+    CUSTOMER_IS_NOT_SUPPORTED("CU1", "Customer is not supported. Should be some of 'PLUTO1' or 'PLUTO2'"),
+    CCYPAIR_IS_NOT_VALID("CP1", "CcyPair is not valid"),
+    PAYCCY_IS_NOT_VALID("PC1", "PayCcy is not valid according WIKI list of correct currencies"),
+    PREMIUMCCY_IS_NOT_VALID("PM1", "PremiumCcy is not valid according WIKI list of correct currencies"),
+    VALUE_DATE_IS_EMPTY("VD3", "Value Date should not be empty for Product Type = SPOT or FORWARD"),
+    STYLE_IS_NOT_VALID_FOR_OPTION("ST1", "Style is not valid. Should be AMERICAN or EUROPEAN"),
+    EXCERCISE_START_DATE_IS_EMPTY("EX1", "ExcerciseStartDate should not be empty, if style is American"),
+    EXCERCISE_START_DATE_IS_BEFORE_TRADE_DATE("EX2", "ExcerciseStartDate should be after trade date"),
+    EXCERCISE_START_DATE_IS_AFTER_EXPIRY_DATE("EX3", "ExcerciseStartDate should be before expiry date"),
+    EXPIRY_DATE_IS_AFTER_DELIVERY_DATE("DL1", "Expiry date should be before Delivery date, if Product Type contains 'OPTION'"),
+    PREMIUM_DATE_IS_AFTER_DELIVERY_DATE("DL2", "Premium date should be before Delivery date, if Product Type contains 'OPTION'"),
+    LEGAL_ENTITY_IS_NOT_VALID("LE1", "Legal Entity is not valid"),
+    DUPLICATE_TRADE("DU1", "Trade is duplicate of other trade in the same batch"),
+    CONFLICTING_TRADE("DU2", "Trade has the same key as other trade in the same batch, but different details"),
+    VALUE_DATE_IS_NOT_SPOT_DATE("VD4", "Value date of Spot should be spot date of currency pair (T+2, or T+1 e.g. for USDCAD)"),
+    VALUE_DATE_IS_BEFORE_SPOT_DATE("VD5", "Value date of Forward should be after spot date of currency pair"),
+    RULE_IS_VIOLATED("RU1", "Trade violates rule of configuration");
+
+
+    private String code;
+    private String text;
+
+    static {
+        if(values().length > Long.SIZE) {
+            throw new IllegalStateException("Messages are encoded as bits of long, so there can be at most 64 messages");
+        }
+    }
+
+    MessageTextEnum(String code, String text) {
+        this.code = code;
+        this.text = text;
+    }
+
+    /**
+     * @return short stable code of message, which is used in compact response
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * @return bit of message in bitmask of messages (see MessageList)
+     */
+    public long mask() {
+        return 1L << ordinal();
+    }
+
+    @JsonValue
+    public String getText() {
+        return text;
+    }
+}
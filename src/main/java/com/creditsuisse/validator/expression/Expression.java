@@ -0,0 +1,416 @@
+package com.creditsuisse.validator.expression;
+
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.rules.TradeField;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Parsed condition of trade (see ExpressionParser). Condition can be evaluated in two ways:
+ *      evaluate - interpreted, tree is walked for every trade
+ *      compile - tree is compiled once to chain of method handles (Trade)boolean, which calls getters of Trade
+ *          and static comparisons directly, with literals bound as constants, so nothing is interpreted per trade
+ * Note: compiled chain is held by instance field of rule (see ExpressionRule), which JIT doesn't treat as constant,
+ *      so the chain is invoked through the handle and it's not inlined into caller like rule of code.
+ * Both ways have the same semantics. Comparison with null value is false, only "is null" is true for null.
+ */
+public abstract class Expression {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType CONDITION = MethodType.methodType(boolean.class, Trade.class);
+
+    /**
+     * Interpreted evaluation
+     * @param trade trade
+     * @return true, if condition holds for trade
+     */
+    public abstract boolean evaluate(Trade trade);
+
+    /**
+     * @return method handle of type (Trade)boolean, which evaluates condition
+     */
+    public abstract MethodHandle compile();
+
+    /**
+     * @return fields of trade, which condition reads
+     */
+    public Set<TradeField> getFields() {
+        Set<TradeField> fields = EnumSet.noneOf(TradeField.class);
+        collectFields(fields);
+        return fields;
+    }
+
+    abstract void collectFields(Set<TradeField> fields);
+
+    static Expression and(Expression left, Expression right) {
+        return new And(left, right);
+    }
+
+    static Expression or(Expression left, Expression right) {
+        return new Or(left, right);
+    }
+
+    static Expression not(Expression expression) {
+        return new Not(expression);
+    }
+
+    static Expression compare(Operand left, Operator operator, Operand right) {
+        return new Compare(left, operator, right);
+    }
+
+    static Expression in(Field field, Collection<?> values) {
+        return new In(field, values);
+    }
+
+    static Expression isNull(Field field) {
+        return new IsNull(field);
+    }
+
+    /**
+     * Comparison operators, with static methods, which are called by compiled expressions
+     */
+    enum Operator {
+        EQ("="),
+        NE("!="),
+        LT("<"),
+        LE("<="),
+        GT(">"),
+        GE(">=");
+
+        private final String symbol;
+        private final MethodHandle handle;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+            // Comparable<Object> parameters are erased to Comparable
+            this.handle = find(Operator.class, name().toLowerCase(),
+                    MethodType.methodType(boolean.class, Comparable.class, Comparable.class));
+        }
+
+        static Operator of(String symbol) {
+            for(Operator operator : values()) {
+                if(operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            return null;
+        }
+
+        boolean test(Comparable<Object> left, Comparable<Object> right) {
+            switch (this) {
+                case EQ:
+                    return eq(left, right);
+                case NE:
+                    return ne(left, right);
+                case LT:
+                    return lt(left, right);
+                case LE:
+                    return le(left, right);
+                case GT:
+                    return gt(left, right);
+                default:
+                    return ge(left, right);
+            }
+        }
+
+        // values are compared by compareTo, so BigDecimal 1000.00 and 1000 are equal
+
+        static boolean eq(Comparable<Object> left, Comparable<Object> right) {
+            return null != left && null != right && left.compareTo(right) == 0;
+        }
+
+        static boolean ne(Comparable<Object> left, Comparable<Object> right) {
+            return null != left && null != right && left.compareTo(right) != 0;
+        }
+
+        static boolean lt(Comparable<Object> left, Comparable<Object> right) {
+            return null != left && null != right && left.compareTo(right) < 0;
+        }
+
+        static boolean le(Comparable<Object> left, Comparable<Object> right) {
+            return null != left && null != right && left.compareTo(right) <= 0;
+        }
+
+        static boolean gt(Comparable<Object> left, Comparable<Object> right) {
+            return null != left && null != right && left.compareTo(right) > 0;
+        }
+
+        static boolean ge(Comparable<Object> left, Comparable<Object> right) {
+            return null != left && null != right && left.compareTo(right) >= 0;
+        }
+    }
+
+    /**
+     * Operand of comparison: field of trade or literal
+     */
+    abstract static class Operand {
+        abstract Class<?> getType();
+
+        abstract Object get(Trade trade);
+
+        /**
+         * @return method handle of type (Trade)Comparable
+         */
+        abstract MethodHandle compile();
+    }
+
+    static class Field extends Operand {
+        private final TradeField field;
+        private final Class<?> type;
+        private final MethodHandle getter;
+
+        Field(TradeField field) {
+            String property = field.getProperty();
+            String getterName = "get" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+            try {
+                this.getter = LOOKUP.findVirtual(Trade.class, getterName, MethodType.methodType(
+                        Trade.class.getMethod(getterName).getReturnType()));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalStateException("Trade has no getter of field " + property, e);
+            }
+            this.field = field;
+            this.type = getter.type().returnType();
+        }
+
+        TradeField getField() {
+            return field;
+        }
+
+        @Override
+        Class<?> getType() {
+            return type;
+        }
+
+        @Override
+        Object get(Trade trade) {
+            return field.get(trade);
+        }
+
+        @Override
+        MethodHandle compile() {
+            return getter.asType(MethodType.methodType(Comparable.class, Trade.class));
+        }
+    }
+
+    static class Literal extends Operand {
+        private final Comparable<?> value;
+
+        Literal(Comparable<?> value) {
+            this.value = value;
+        }
+
+        @Override
+        Class<?> getType() {
+            return value.getClass();
+        }
+
+        @Override
+        Object get(Trade trade) {
+            return value;
+        }
+
+        @Override
+        MethodHandle compile() {
+            return MethodHandles.dropArguments(MethodHandles.constant(Comparable.class, value), 0, Trade.class);
+        }
+    }
+
+    private static class And extends Expression {
+        private final Expression left;
+        private final Expression right;
+
+        private And(Expression left, Expression right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean evaluate(Trade trade) {
+            return left.evaluate(trade) && right.evaluate(trade);
+        }
+
+        @Override
+        public MethodHandle compile() {
+            return MethodHandles.guardWithTest(left.compile(), right.compile(), constant(false));
+        }
+
+        @Override
+        void collectFields(Set<TradeField> fields) {
+            left.collectFields(fields);
+            right.collectFields(fields);
+        }
+    }
+
+    private static class Or extends Expression {
+        private final Expression left;
+        private final Expression right;
+
+        private Or(Expression left, Expression right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean evaluate(Trade trade) {
+            return left.evaluate(trade) || right.evaluate(trade);
+        }
+
+        @Override
+        public MethodHandle compile() {
+            return MethodHandles.guardWithTest(left.compile(), constant(true), right.compile());
+        }
+
+        @Override
+        void collectFields(Set<TradeField> fields) {
+            left.collectFields(fields);
+            right.collectFields(fields);
+        }
+    }
+
+    private static class Not extends Expression {
+        private static final MethodHandle NOT = find(Not.class, "not", MethodType.methodType(boolean.class, boolean.class));
+
+        private final Expression expression;
+
+        private Not(Expression expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public boolean evaluate(Trade trade) {
+            return !expression.evaluate(trade);
+        }
+
+        @Override
+        public MethodHandle compile() {
+            return MethodHandles.filterReturnValue(expression.compile(), NOT);
+        }
+
+        @Override
+        void collectFields(Set<TradeField> fields) {
+            expression.collectFields(fields);
+        }
+
+        static boolean not(boolean value) {
+            return !value;
+        }
+    }
+
+    private static class Compare extends Expression {
+        private final Operand left;
+        private final Operator operator;
+        private final Operand right;
+
+        private Compare(Operand left, Operator operator, Operand right) {
+            this.left = left;
+            this.operator = operator;
+            this.right = right;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean evaluate(Trade trade) {
+            return operator.test((Comparable<Object>) left.get(trade), (Comparable<Object>) right.get(trade));
+        }
+
+        @Override
+        public MethodHandle compile() {
+            // (Comparable, Comparable)boolean -> (Trade, Trade)boolean -> (Trade)boolean
+            MethodHandle handle = MethodHandles.filterArguments(operator.handle, 0, left.compile(), right.compile());
+            return MethodHandles.permuteArguments(handle, CONDITION, 0, 0);
+        }
+
+        @Override
+        void collectFields(Set<TradeField> fields) {
+            if(left instanceof Field) {
+                fields.add(((Field) left).getField());
+            }
+            if(right instanceof Field) {
+                fields.add(((Field) right).getField());
+            }
+        }
+    }
+
+    private static class In extends Expression {
+        private static final MethodHandle CONTAINS = find(In.class, "contains",
+                MethodType.methodType(boolean.class, Set.class, Object.class));
+
+        private final Field field;
+        private final Set<Object> values;
+
+        private In(Field field, Collection<?> values) {
+            this.field = field;
+            this.values = new HashSet<>(values);
+        }
+
+        @Override
+        public boolean evaluate(Trade trade) {
+            return contains(values, field.get(trade));
+        }
+
+        @Override
+        public MethodHandle compile() {
+            MethodHandle contains = MethodHandles.insertArguments(CONTAINS, 0, values);
+            return MethodHandles.filterArguments(contains, 0, field.compile().asType(
+                    MethodType.methodType(Object.class, Trade.class)));
+        }
+
+        @Override
+        void collectFields(Set<TradeField> fields) {
+            fields.add(field.getField());
+        }
+
+        static boolean contains(Set<Object> values, Object value) {
+            return null != value && values.contains(value);
+        }
+    }
+
+    private static class IsNull extends Expression {
+        private static final MethodHandle IS_NULL = find(IsNull.class, "isNull",
+                MethodType.methodType(boolean.class, Object.class));
+
+        private final Field field;
+
+        private IsNull(Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public boolean evaluate(Trade trade) {
+            return null == field.get(trade);
+        }
+
+        @Override
+        public MethodHandle compile() {
+            return MethodHandles.filterArguments(IS_NULL, 0, field.compile().asType(
+                    MethodType.methodType(Object.class, Trade.class)));
+        }
+
+        @Override
+        void collectFields(Set<TradeField> fields) {
+            fields.add(field.getField());
+        }
+
+        static boolean isNull(Object value) {
+            return null == value;
+        }
+    }
+
+    private static MethodHandle constant(boolean value) {
+        return MethodHandles.dropArguments(MethodHandles.constant(boolean.class, value), 0, Trade.class);
+    }
+
+    private static MethodHandle find(Class<?> type, String name, MethodType methodType) {
+        try {
+            return LOOKUP.findStatic(type, name, methodType);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
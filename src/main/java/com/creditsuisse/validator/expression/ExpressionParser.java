@@ -0,0 +1,270 @@
+package com.creditsuisse.validator.expression;
+
+import com.creditsuisse.validator.expression.Expression.Field;
+import com.creditsuisse.validator.expression.Expression.Literal;
+import com.creditsuisse.validator.expression.Expression.Operand;
+import com.creditsuisse.validator.expression.Expression.Operator;
+import com.creditsuisse.validator.rules.TradeField;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser of conditions of trade, e.g. "amount1 > 0 and (payCcy is null or payCcy in ('USD', 'EUR'))"
+ *      condition  := or
+ *      or         := and ("or" and)*
+ *      and        := unary ("and" unary)*
+ *      unary      := "not" unary | "(" condition ")" | predicate
+ *      predicate  := field "is" ["not"] "null" | field ["not"] "in" "(" literal ("," literal)* ")"
+ *                  | operand ("=" | "!=" | "<" | "<=" | ">" | ">=") operand
+ *      operand    := field | literal
+ * Fields are JSON properties of trade (e.g. "ccyPair"). Literals are strings in single quotes or numbers,
+ *      and they are converted to type of field, which they are compared with. Dates are strings "yyyy-MM-dd".
+ *      Operator "in" is supported only for text and date fields.
+ * Keywords are case insensitive.
+ */
+public class ExpressionParser {
+
+    private final String text;
+    private int position;
+
+    private ExpressionParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * @param text condition
+     * @return parsed condition
+     * @throws IllegalArgumentException if condition is not valid
+     */
+    public static Expression parse(String text) {
+        ExpressionParser parser = new ExpressionParser(text);
+        Expression expression = parser.or();
+        parser.skipWhitespace();
+        if(parser.position < text.length()) {
+            throw parser.error("Unexpected text");
+        }
+        if(expression.getFields().isEmpty()) {
+            throw new IllegalArgumentException("Condition should read at least one field of trade: " + text);
+        }
+        return expression;
+    }
+
+    private Expression or() {
+        Expression expression = and();
+        while(keyword("or")) {
+            expression = Expression.or(expression, and());
+        }
+        return expression;
+    }
+
+    private Expression and() {
+        Expression expression = unary();
+        while(keyword("and")) {
+            expression = Expression.and(expression, unary());
+        }
+        return expression;
+    }
+
+    private Expression unary() {
+        if(keyword("not")) {
+            return Expression.not(unary());
+        }
+        if(symbol("(")) {
+            Expression expression = or();
+            expect(")");
+            return expression;
+        }
+        return predicate();
+    }
+
+    private Expression predicate() {
+        int start = position;
+        Object left = operand();
+
+        if(left instanceof Field) {
+            Field field = (Field) left;
+            if(keyword("is")) {
+                boolean negated = keyword("not");
+                if(!keyword("null")) {
+                    throw error("Expected null");
+                }
+                Expression isNull = Expression.isNull(field);
+                return negated ? Expression.not(isNull) : isNull;
+            }
+            boolean negated = keyword("not");
+            if(keyword("in")) {
+                if(field.getType() != String.class && field.getType() != LocalDate.class) {
+                    throw error("Operator in is supported only for text and date fields");
+                }
+                Expression in = Expression.in(field, literals(field));
+                return negated ? Expression.not(in) : in;
+            }
+            if(negated) {
+                throw error("Expected in");
+            }
+        }
+
+        Operator operator = operator();
+        Object right = operand();
+        if(!(left instanceof Field) && !(right instanceof Field)) {
+            position = start;
+            throw error("Comparison should contain at least one field");
+        }
+        if(left instanceof Field && right instanceof Field
+                && ((Field) left).getType() != ((Field) right).getType()) {
+            position = start;
+            throw error("Compared fields should have the same type");
+        }
+        Operand leftOperand = left instanceof Field ? (Field) left : literal((Token) left, ((Field) right).getType());
+        Operand rightOperand = right instanceof Field ? (Field) right : literal((Token) right, ((Field) left).getType());
+        return Expression.compare(leftOperand, operator, rightOperand);
+    }
+
+    private List<Object> literals(Field field) {
+        expect("(");
+        List<Object> values = new ArrayList<>();
+        do {
+            Object value = operand();
+            if(!(value instanceof Token)) {
+                throw error("Expected literal");
+            }
+            values.add(literal((Token) value, field.getType()).get(null));
+        } while(symbol(","));
+        expect(")");
+        return values;
+    }
+
+    /**
+     * @return Field or Token of literal
+     */
+    private Object operand() {
+        skipWhitespace();
+        int start = position;
+        if(position >= text.length()) {
+            throw error("Expected field or literal");
+        }
+
+        char c = text.charAt(position);
+        if(c == '\'') {
+            int end = text.indexOf('\'', position + 1);
+            if(end < 0) {
+                throw error("String is not closed");
+            }
+            position = end + 1;
+            return new Token(text.substring(start + 1, end), true, start);
+        }
+        if(c == '-' || Character.isDigit(c)) {
+            position++;
+            while(position < text.length() && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+                position++;
+            }
+            return new Token(text.substring(start, position), false, start);
+        }
+
+        String identifier = identifier();
+        TradeField field = TradeField.ofProperty(identifier);
+        if(null == field) {
+            position = start;
+            throw error("Unknown field '" + identifier + "'");
+        }
+        return new Field(field);
+    }
+
+    private Literal literal(Token token, Class<?> type) {
+        try {
+            if(type == String.class && token.string) {
+                return new Literal(token.text);
+            }
+            if(type == LocalDate.class && token.string) {
+                return new Literal(LocalDate.parse(token.text));
+            }
+            if(type == BigDecimal.class && !token.string) {
+                return new Literal(new BigDecimal(token.text));
+            }
+            if(type == Double.class && !token.string) {
+                return new Literal(Double.valueOf(token.text));
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            position = token.position;
+            throw error("Literal is not valid " + type.getSimpleName());
+        }
+        position = token.position;
+        throw error("Literal can't be compared with " + type.getSimpleName());
+    }
+
+    private Operator operator() {
+        skipWhitespace();
+        int start = position;
+        while(position < text.length() && "=!<>".indexOf(text.charAt(position)) >= 0) {
+            position++;
+        }
+        Operator operator = Operator.of(text.substring(start, position));
+        if(null == operator) {
+            position = start;
+            throw error("Expected comparison operator");
+        }
+        return operator;
+    }
+
+    private boolean keyword(String keyword) {
+        skipWhitespace();
+        int start = position;
+        if(identifier().equalsIgnoreCase(keyword)) {
+            return true;
+        }
+        position = start;
+        return false;
+    }
+
+    private String identifier() {
+        int start = position;
+        while(position < text.length() && Character.isLetterOrDigit(text.charAt(position))) {
+            position++;
+        }
+        return text.substring(start, position);
+    }
+
+    private boolean symbol(String symbol) {
+        skipWhitespace();
+        if(text.startsWith(symbol, position)) {
+            position += symbol.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String symbol) {
+        if(!symbol(symbol)) {
+            throw error("Expected " + symbol);
+        }
+    }
+
+    private void skipWhitespace() {
+        while(position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " of condition: " + text);
+    }
+
+    /**
+     * Literal, which is not converted yet, because type of field is not known
+     */
+    private static class Token {
+        private final String text;
+        private final boolean string;
+        private final int position;
+
+        private Token(String text, boolean string, int position) {
+            this.text = text;
+            this.string = string;
+            this.position = position;
+        }
+    }
+}
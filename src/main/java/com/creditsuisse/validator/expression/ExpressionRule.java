@@ -0,0 +1,52 @@
+package com.creditsuisse.validator.expression;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import com.creditsuisse.validator.rules.AbstractTradeRule;
+import com.creditsuisse.validator.rules.ProductType;
+import com.creditsuisse.validator.rules.TradeField;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Set;
+
+/**
+ * Rule, which is defined by condition in configuration (see ExpressionRules).
+ * Trade is valid, if condition holds. Condition is compiled to method handle, when rule is created.
+ */
+public class ExpressionRule extends AbstractTradeRule {
+
+    private final Expression condition;
+    private final MethodHandle compiled;
+    private final MessageTextEnum message;
+
+    /**
+     * @param name unique name of rule
+     * @param productTypes product types, to which rule is applied
+     * @param condition condition, which should hold for valid trade
+     * @param message message of not valid trade
+     */
+    public ExpressionRule(String name, Set<ProductType> productTypes, Expression condition, MessageTextEnum message) {
+        super(name, productTypes, condition.getFields().toArray(new TradeField[0]));
+        this.condition = condition;
+        this.compiled = condition.compile();
+        this.message = message;
+    }
+
+    public Expression getCondition() {
+        return condition;
+    }
+
+    @Override
+    public MessageTextEnum validate(Trade trade, ReferenceData referenceData) {
+        boolean valid;
+        try {
+            valid = (boolean) compiled.invokeExact(trade);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Condition of rule " + getName() + " failed", e);
+        }
+        return valid ? null : message;
+    }
+}
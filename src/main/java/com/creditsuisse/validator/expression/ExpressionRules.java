@@ -0,0 +1,83 @@
+package com.creditsuisse.validator.expression;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.rules.ProductType;
+import com.creditsuisse.validator.rules.TradeRule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Rules, which are defined in configuration instead of code. Names of rules are listed in "validation.expressions",
+ *      and every rule has properties:
+ *      validation.expressions.<name> - condition, which should hold for valid trade (see ExpressionParser)
+ *      validation.expressions.<name>.productTypes - product types, to which rule is applied (default all)
+ *      validation.expressions.<name>.message - code of message of not valid trade (default RU1)
+ * Rules are compiled at startup, and they are applied after rules of code (see RuleOrdering).
+ */
+@Component
+public class ExpressionRules {
+
+    private static final String PREFIX = "validation.expressions";
+
+    @Autowired
+    private Environment environment;
+
+    private List<TradeRule> rules;
+
+    @PostConstruct
+    public void init() {
+        List<TradeRule> list = new ArrayList<>();
+        for(String name : split(environment.getProperty(PREFIX, ""))) {
+            String condition = environment.getProperty(PREFIX + "." + name);
+            if(null == condition) {
+                throw new IllegalStateException("Condition of rule is missing: " + PREFIX + "." + name);
+            }
+            list.add(new ExpressionRule(name,
+                    productTypes(environment.getProperty(PREFIX + "." + name + ".productTypes", "")),
+                    ExpressionParser.parse(condition),
+                    message(environment.getProperty(PREFIX + "." + name + ".message", MessageTextEnum.RULE_IS_VIOLATED.getCode()))));
+        }
+        rules = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * @return rules in order of configuration
+     */
+    public List<TradeRule> getRules() {
+        return rules;
+    }
+
+    private static Set<ProductType> productTypes(String value) {
+        Set<ProductType> productTypes = EnumSet.noneOf(ProductType.class);
+        for(String productType : split(value)) {
+            productTypes.add(ProductType.valueOf(productType.toUpperCase()));
+        }
+        return productTypes.isEmpty() ? EnumSet.allOf(ProductType.class) : productTypes;
+    }
+
+    private static MessageTextEnum message(String code) {
+        for(MessageTextEnum message : MessageTextEnum.values()) {
+            if(message.getCode().equals(code.trim())) {
+                return message;
+            }
+        }
+        throw new IllegalStateException("Message of rule is not known: " + code);
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
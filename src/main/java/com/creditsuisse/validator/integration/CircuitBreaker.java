@@ -0,0 +1,54 @@
+package com.creditsuisse.validator.integration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simple circuit breaker for calls of 3rd party API.
+ * After "failureThreshold" failures in a row, circuit is open and calls are not allowed during "openMillis".
+ * Then one call is allowed (half open): if it's successful, circuit is closed again, otherwise it's open again.
+ */
+public class CircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicLong openUntil = new AtomicLong();
+
+    /**
+     * @param failureThreshold number of failures in a row, after which circuit is open
+     * @param openMillis time in milliseconds, during which calls are not allowed
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * @return true, if call of 3rd party API is allowed
+     */
+    public boolean allowRequest() {
+        long until = openUntil.get();
+        if(until == 0) {
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+        return now >= until && openUntil.compareAndSet(until, now + openMillis);
+    }
+
+    public void recordSuccess() {
+        failures.set(0);
+        openUntil.set(0);
+    }
+
+    public void recordFailure() {
+        if(failures.incrementAndGet() >= failureThreshold) {
+            openUntil.set(System.currentTimeMillis() + openMillis);
+        }
+    }
+
+    public boolean isOpen() {
+        return openUntil.get() != 0;
+    }
+}
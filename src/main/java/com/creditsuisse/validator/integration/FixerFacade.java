@@ -1,16 +1,47 @@
-package com.creditsuisse.validator.integration;
-
-import java.time.LocalDate;
-
-/**
- * Facade to calling 3rd party API
- */
-public interface FixerFacade {
-
-    /**
-     * Identify, if input date is working day
-     * @param date input date, which we should identify
-     * @return true, if input date is working day
-     */
-    boolean isWorkingDay(LocalDate date);
-}
+package com.creditsuisse.validator.integration;
+
+import com.creditsuisse.validator.reference.ReferenceData;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Facade to calling 3rd party API
+ */
+public interface FixerFacade {
+
+    /**
+     * Identify, if input date is working day
+     * @param date input date, which we should identify
+     * @return true, if input date is working day
+     */
+    boolean isWorkingDay(LocalDate date);
+
+    /**
+     * Identify, if input date is working day for both currencies of currency pair
+     * @param date input date, which we should identify
+     * @param ccyPair currency pair, e.g. "EURUSD"
+     * @return true, if input date is working day
+     */
+    boolean isWorkingDay(LocalDate date, String ccyPair);
+
+    /**
+     * Identify, if input date is working day for both currencies of currency pair,
+     *      with holiday calendars of reference data snapshot, which is used for validation of batch
+     * @param date input date, which we should identify
+     * @param ccyPair currency pair, e.g. "EURUSD"
+     * @param referenceData snapshot of reference data
+     * @return true, if input date is working day
+     */
+    default boolean isWorkingDay(LocalDate date, String ccyPair, ReferenceData referenceData) {
+        return isWorkingDay(date, ccyPair);
+    }
+
+    /**
+     * Resolve all dates of a batch in advance, before isWorkingDay is called for every trade.
+     * Implementations, which call remote API, should resolve them in one bulk call.
+     * @param dates distinct dates of a batch
+     */
+    default void prefetch(Collection<LocalDate> dates) {
+    }
+}
@@ -0,0 +1,266 @@
+package com.creditsuisse.validator.integration;
+
+import com.creditsuisse.validator.calendar.HolidayCalendar;
+import com.creditsuisse.validator.integration.stub.HolidayServiceStub;
+import com.creditsuisse.validator.reference.ReferenceData;
+import com.creditsuisse.validator.reference.ReferenceDataProvider;
+import com.creditsuisse.validator.util.CurrencyCodes;
+import com.creditsuisse.validator.util.ExpiringCache;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Facade to calling 3rd party holiday API.
+ * API is called with distinct dates of whole batch (see prefetch) and returns currencies,
+ *      which have public holiday on these dates: POST [dates] -> {date: [currencies]}.
+ * Results are cached with TTL and max size. Concurrent requests of the same dates are coalesced to one call.
+ * If API is not available (or circuit breaker is open), then last known (expired) result is used,
+ *      and if there is no result at all, then local calendar of reference data (FixerFacadeImpl) is used.
+ * Cache is cleared, when reference data are reloaded, so calendars of new snapshot are not hidden by old results.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "fixer.remote.enabled", havingValue = "true")
+public class RemoteFixerFacade implements FixerFacade {
+
+    private static final Logger LOGGER = LogManager.getLogger(RemoteFixerFacade.class);
+    private static final TypeReference<Map<String, List<String>>> RESPONSE_TYPE = new TypeReference<Map<String, List<String>>>() {};
+
+    @Value("${fixer.remote.url:}")
+    private String url;
+
+    @Value("${fixer.remote.connectTimeout:1000}")
+    private int connectTimeout;
+
+    @Value("${fixer.remote.readTimeout:2000}")
+    private int readTimeout;
+
+    @Value("${fixer.remote.cache.ttl:3600000}")
+    private long cacheTtl;
+
+    @Value("${fixer.remote.cache.maxSize:10000}")
+    private int cacheMaxSize;
+
+    @Value("${fixer.remote.circuitBreaker.failureThreshold:5}")
+    private int failureThreshold;
+
+    @Value("${fixer.remote.circuitBreaker.openTime:30000}")
+    private long openTime;
+
+    @Value("${holidays.default}")
+    private String defaultCurrency;
+
+    @Autowired
+    private FixerFacadeImpl localFixerFacade;
+
+    @Autowired
+    private ReferenceDataProvider referenceDataProvider;
+
+    @Autowired(required = false)
+    private HolidayServiceStub holidayServiceStub;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentHashMap<LocalDate, CompletableFuture<int[]>> inFlight = new ConcurrentHashMap<>();
+    private ExpiringCache<LocalDate, int[]> cache;
+    private CircuitBreaker circuitBreaker;
+
+    @PostConstruct
+    public void init() {
+        if(url.isEmpty() && null != holidayServiceStub) {
+            url = holidayServiceStub.getUrl();
+        }
+        cache = new ExpiringCache<>(cacheTtl, cacheMaxSize);
+        circuitBreaker = new CircuitBreaker(failureThreshold, openTime);
+        referenceDataProvider.addListener(referenceData -> cache.clear());
+    }
+
+    /**
+     * Identify, if input date is working day in default calendar
+     * @param date input date, which we should identify
+     * @return true, if input date is working day
+     */
+    @Override
+    public boolean isWorkingDay(LocalDate date) {
+        return isWorkingDay(date, null);
+    }
+
+    /**
+     * Identify, if input date is working day for both currencies of currency pair
+     * @param date input date, which we should identify
+     * @param ccyPair currency pair, e.g. "EURUSD"
+     * @return true, if input date is working day
+     */
+    @Override
+    public boolean isWorkingDay(LocalDate date, String ccyPair) {
+        return isWorkingDay(date, ccyPair, referenceDataProvider.get());
+    }
+
+    /**
+     * Identify, if input date is working day for both currencies of currency pair
+     * @param date input date, which we should identify
+     * @param ccyPair currency pair, e.g. "EURUSD"
+     * @param referenceData snapshot of reference data, which calendars are used, if API is not available
+     * @return true, if input date is working day
+     */
+    @Override
+    public boolean isWorkingDay(LocalDate date, String ccyPair, ReferenceData referenceData) {
+        if(HolidayCalendar.isWeekend(date)) {
+            return false;
+        }
+
+        int[] holidays = getHolidays(date);
+        if(null == holidays) {
+            return localFixerFacade.isWorkingDay(date, ccyPair, referenceData);
+        }
+
+        // the same as local calendars: if any currency of pair is not valid, default calendar is used
+        int first = CurrencyCodes.encode(ccyPair, 0);
+        int second = CurrencyCodes.encode(ccyPair, 3);
+        if(null == ccyPair || ccyPair.length() != 6
+                || first == CurrencyCodes.NOT_VALID || second == CurrencyCodes.NOT_VALID) {
+            return !contains(holidays, CurrencyCodes.encode(defaultCurrency));
+        }
+        return !contains(holidays, first) && !contains(holidays, second);
+    }
+
+    /**
+     * Resolve all not cached dates of a batch in one call of API
+     * @param dates distinct dates of a batch
+     */
+    @Override
+    public void prefetch(Collection<LocalDate> dates) {
+        resolve(dates);
+    }
+
+    public boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    private int[] getHolidays(LocalDate date) {
+        int[] holidays = cache.get(date);
+        if(null == holidays) {
+            resolve(Collections.singletonList(date));
+            holidays = cache.get(date);
+        }
+        return null != holidays ? holidays : cache.getStale(date);
+    }
+
+    /**
+     * Resolve dates, which are not in cache. Dates, which are already requested by other thread, are not requested again,
+     *      but this thread waits for their result.
+     */
+    private void resolve(Collection<LocalDate> dates) {
+        Map<LocalDate, CompletableFuture<int[]>> requested = new HashMap<>();
+        List<CompletableFuture<int[]>> awaited = new ArrayList<>();
+
+        for(LocalDate date : dates) {
+            if(null != cache.get(date)) {
+                continue;
+            }
+            CompletableFuture<int[]> future = new CompletableFuture<>();
+            CompletableFuture<int[]> existing = inFlight.putIfAbsent(date, future);
+            if(null == existing) {
+                // other thread could complete this date between check of cache and putIfAbsent
+                int[] cached = cache.get(date);
+                if(null != cached) {
+                    inFlight.remove(date, future);
+                    future.complete(cached);
+                } else {
+                    requested.put(date, future);
+                }
+            } else {
+                awaited.add(existing);
+            }
+        }
+
+        if(!requested.isEmpty()) {
+            Map<LocalDate, int[]> holidays = fetch(requested.keySet());
+            requested.forEach((date, future) -> {
+                int[] result = holidays.get(date);
+                if(null != result) {
+                    cache.put(date, result);
+                }
+                inFlight.remove(date, future);
+                future.complete(result);
+            });
+        }
+
+        awaited.forEach(CompletableFuture::join);
+    }
+
+    private Map<LocalDate, int[]> fetch(Collection<LocalDate> dates) {
+        if(!circuitBreaker.allowRequest()) {
+            return Collections.emptyMap();
+        }
+
+        try {
+            Map<String, List<String>> response = call(dates.stream().map(LocalDate::toString).collect(Collectors.toList()));
+            circuitBreaker.recordSuccess();
+
+            Map<LocalDate, int[]> holidays = new HashMap<>();
+            response.forEach((date, currencies) -> holidays.put(LocalDate.parse(date),
+                    currencies.stream().mapToInt(CurrencyCodes::encode).toArray()));
+            return holidays;
+        } catch (IOException | RuntimeException e) {
+            circuitBreaker.recordFailure();
+            LOGGER.warn("Holiday API call failed, last known calendar is used", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private Map<String, List<String>> call(List<String> dates) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url + "/holidays").openConnection();
+        try {
+            connection.setConnectTimeout(connectTimeout);
+            connection.setReadTimeout(readTimeout);
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", "application/json");
+            connection.setDoOutput(true);
+
+            try (OutputStream output = connection.getOutputStream()) {
+                objectMapper.writeValue(output, dates);
+            }
+            if(connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Holiday API responded with status " + connection.getResponseCode());
+            }
+            try (InputStream input = connection.getInputStream()) {
+                return objectMapper.readValue(input, RESPONSE_TYPE);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static boolean contains(int[] currencies, int currency) {
+        for(int value : currencies) {
+            if(value == currency) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,103 @@
+package com.creditsuisse.validator.integration.stub;
+
+import com.creditsuisse.validator.calendar.HolidayCalendar;
+import com.creditsuisse.validator.calendar.HolidayCalendars;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * In-process HTTP stub of 3rd party holiday API, so RemoteFixerFacade can be used and tested offline.
+ * POST /holidays with JSON array of dates ["2017-01-02", ...]
+ *      responds with currencies, which have public holiday on every date: {"2017-01-02": ["USD", "GBP"], ...}
+ * Answers are taken from local calendars (see HolidayCalendars).
+ */
+public class HolidayServiceStub {
+
+    private static final TypeReference<List<String>> REQUEST_TYPE = new TypeReference<List<String>>() {};
+
+    private final HolidayCalendars holidayCalendars;
+    private final List<String> currencies;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private HttpServer server;
+
+    /**
+     * @param holidayCalendars calendars, which are used to answer requests
+     * @param currencies currencies, which holidays are known
+     */
+    public HolidayServiceStub(HolidayCalendars holidayCalendars, List<String> currencies) {
+        this.holidayCalendars = holidayCalendars;
+        this.currencies = currencies;
+    }
+
+    /**
+     * Start stub on localhost
+     * @param port port, or 0 for any free port
+     */
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/holidays", this::handle);
+        server.start();
+    }
+
+    public void stop() {
+        if(null != server) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return number of requests, which stub received
+     */
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        if(!"POST".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(405, -1);
+            exchange.close();
+            return;
+        }
+
+        List<String> dates;
+        try (InputStream input = exchange.getRequestBody()) {
+            dates = objectMapper.readValue(input, REQUEST_TYPE);
+        }
+
+        Map<String, List<String>> holidays = new LinkedHashMap<>();
+        for(String date : dates) {
+            LocalDate day = LocalDate.parse(date);
+            holidays.put(date, currencies.stream()
+                    .filter(currency -> !HolidayCalendar.isWeekend(day) && !holidayCalendars.get(currency).isWorkingDay(day))
+                    .collect(Collectors.toList()));
+        }
+
+        byte[] response = objectMapper.writeValueAsBytes(holidays);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(response);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.creditsuisse.validator.io;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Input in binary format of trades is malformed (e.g. wrong magic, truncated record or not valid value)
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BinaryFormatException extends RuntimeException {
+
+    public BinaryFormatException(String message) {
+        super(message);
+    }
+
+    public BinaryFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
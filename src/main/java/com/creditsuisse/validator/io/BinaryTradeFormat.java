@@ -0,0 +1,67 @@
+package com.creditsuisse.validator.io;
+
+import com.creditsuisse.validator.rules.TradeField;
+
+/**
+ * Compact binary encoding of trades (content type "application/vnd.validator.trades"), which is decoded
+ *      without text parsing. All numbers are big endian.
+ *      stream := "VTB1" record*
+ *      record := length:int32 (of rest of record) present:int32 text:int32 value*
+ * Bit of field in "present" and "text" is ordinal of TradeField. Values of present (not null) fields follow in order of TradeField:
+ *      dates - epoch day:int32
+ *      amounts - scale:int8 unscaled value:int64
+ *      rate, premium - float64
+ *      payCcy, premiumCcy - 3 ASCII bytes, ccyPair - 6 ASCII bytes
+ *      other strings - length:uint16 UTF-8 bytes
+ * If amount or currency can't be encoded in compact form (e.g. too big amount or not ASCII currency),
+ *      then its bit in "text" is set, and it's encoded as string.
+ * See BinaryTradeWriter and BinaryTradeReader.
+ */
+public final class BinaryTradeFormat {
+
+    public static final String CONTENT_TYPE = "application/vnd.validator.trades";
+    public static final byte[] MAGIC = {'V', 'T', 'B', '1'};
+
+    static final int MAX_STRING_LENGTH = 0xFFFF;
+    static final TradeField[] FIELDS = TradeField.values();
+
+    /**
+     * Encoding of value of field
+     */
+    enum Kind {
+        STRING,
+        DATE,
+        AMOUNT,
+        DOUBLE,
+        CURRENCY,
+        CCY_PAIR
+    }
+
+    private BinaryTradeFormat() {
+    }
+
+    static Kind kind(TradeField field) {
+        switch (field) {
+            case TRADE_DATE:
+            case DELIVERY_DATE:
+            case EXPIRY_DATE:
+            case EXCERCISE_START_DATE:
+            case PREMIUM_DATE:
+            case VALUE_DATE:
+                return Kind.DATE;
+            case AMOUNT1:
+            case AMOUNT2:
+                return Kind.AMOUNT;
+            case RATE:
+            case PREMIUM:
+                return Kind.DOUBLE;
+            case PAY_CCY:
+            case PREMIUM_CCY:
+                return Kind.CURRENCY;
+            case CCY_PAIR:
+                return Kind.CCY_PAIR;
+            default:
+                return Kind.STRING;
+        }
+    }
+}
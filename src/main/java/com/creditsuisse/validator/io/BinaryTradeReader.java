@@ -0,0 +1,198 @@
+package com.creditsuisse.validator.io;
+
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.rules.TradeField;
+import com.creditsuisse.validator.util.StringCanonicalizer;
+
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.creditsuisse.validator.io.BinaryTradeFormat.FIELDS;
+import static com.creditsuisse.validator.io.BinaryTradeFormat.MAGIC;
+
+/**
+ * Reads Trades one by one from binary format (see BinaryTradeFormat) directly from ByteBuffer.
+ * Values are read in place by absolute position, only strings are allocated:
+ *      ASCII strings (and currencies) are looked up in StringCanonicalizer from char buffer, like in TradeDeserializer,
+ *      so known values are shared instances; dates are kept in small direct mapped cache by epoch day.
+ * Reader is not thread safe.
+ */
+public class BinaryTradeReader implements Iterator<Trade> {
+
+    private static final int DATE_CACHE_SIZE = 64;
+
+    private final ByteBuffer buffer;
+    private final StringCanonicalizer canonicalizer;
+    private final LocalDate[] dates = new LocalDate[DATE_CACHE_SIZE];
+    private char[] chars = new char[64];
+    private int position;
+
+    /**
+     * @param buffer buffer with binary stream between its position and limit (buffer is not modified)
+     * @param canonicalizer known values of low cardinality string fields
+     * @throws BinaryFormatException if stream doesn't start with magic
+     */
+    public BinaryTradeReader(ByteBuffer buffer, StringCanonicalizer canonicalizer) {
+        this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        this.canonicalizer = canonicalizer;
+        this.position = buffer.position();
+
+        if(buffer.remaining() < MAGIC.length) {
+            throw new BinaryFormatException("Binary stream of trades is too short");
+        }
+        for(byte b : MAGIC) {
+            if(buffer.get(position++) != b) {
+                throw new BinaryFormatException("Binary stream of trades doesn't start with magic");
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position < buffer.limit();
+    }
+
+    /**
+     * @return next trade
+     * @throws BinaryFormatException if record is truncated or it contains not valid value
+     */
+    @Override
+    public Trade next() {
+        if(!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        int start = position;
+        try {
+            int length = readInt();
+            int end = position + length;
+            if(length < 8 || end > buffer.limit() || end < position) {
+                throw new BinaryFormatException("Record at " + start + " is truncated");
+            }
+            int present = readInt();
+            int text = readInt();
+
+            Trade trade = new Trade();
+            for(TradeField field : FIELDS) {
+                int bit = 1 << field.ordinal();
+                if((present & bit) != 0) {
+                    field.set(trade, (text & bit) != 0 ? readText(field) : readValue(field));
+                }
+            }
+            if(position != end) {
+                throw new BinaryFormatException("Record at " + start + " has wrong length");
+            }
+            return trade;
+        } catch (IndexOutOfBoundsException | BufferUnderflowException | DateTimeException | NumberFormatException e) {
+            throw new BinaryFormatException("Record at " + start + " is not valid", e);
+        }
+    }
+
+    private Object readValue(TradeField field) {
+        switch (BinaryTradeFormat.kind(field)) {
+            case DATE:
+                return readDate();
+            case AMOUNT:
+                int scale = buffer.get(position++);
+                return BigDecimal.valueOf(readLong(), scale);
+            case DOUBLE:
+                double value = buffer.getDouble(position);
+                position += 8;
+                return value;
+            case CURRENCY:
+                return readAscii(3, true);
+            case CCY_PAIR:
+                return readAscii(6, true);
+            default:
+                return readString(field != TradeField.TRADE_ID);
+        }
+    }
+
+    /**
+     * Value, which couldn't be encoded in compact form
+     */
+    private Object readText(TradeField field) {
+        String value = readString(field != TradeField.TRADE_ID);
+        switch (BinaryTradeFormat.kind(field)) {
+            case AMOUNT:
+                return new BigDecimal(value);
+            case CURRENCY:
+            case CCY_PAIR:
+            case STRING:
+                return value;
+            default:
+                throw new BinaryFormatException("Field " + field.getProperty() + " can't be encoded as text");
+        }
+    }
+
+    private LocalDate readDate() {
+        int epochDay = readInt();
+        int index = epochDay & (DATE_CACHE_SIZE - 1);
+        LocalDate date = dates[index];
+        if(null == date || date.toEpochDay() != epochDay) {
+            date = LocalDate.ofEpochDay(epochDay);
+            dates[index] = date;
+        }
+        return date;
+    }
+
+    private String readString(boolean canonical) {
+        int length = buffer.getShort(position) & 0xFFFF;
+        position += 2;
+        if(position + length > buffer.limit()) {
+            throw new BinaryFormatException("String at " + position + " is truncated");
+        }
+
+        for(int i = 0; i < length; i++) {
+            if(buffer.get(position + i) < 0) {
+                return readUtf8(length);
+            }
+        }
+        return readAscii(length, canonical);
+    }
+
+    private String readAscii(int length, boolean canonical) {
+        if(chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        for(int i = 0; i < length; i++) {
+            chars[i] = (char) buffer.get(position + i);
+        }
+        position += length;
+        return canonical ? canonicalizer.canonicalize(chars, 0, length) : new String(chars, 0, length);
+    }
+
+    private String readUtf8(int length) {
+        String value;
+        if(buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            for(int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(position + i);
+            }
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        position += length;
+        return value;
+    }
+
+    private int readInt() {
+        int value = buffer.getInt(position);
+        position += 4;
+        return value;
+    }
+
+    private long readLong() {
+        long value = buffer.getLong(position);
+        position += 8;
+        return value;
+    }
+}
@@ -0,0 +1,156 @@
+package com.creditsuisse.validator.io;
+
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.rules.TradeField;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.creditsuisse.validator.io.BinaryTradeFormat.FIELDS;
+import static com.creditsuisse.validator.io.BinaryTradeFormat.MAGIC;
+import static com.creditsuisse.validator.io.BinaryTradeFormat.MAX_STRING_LENGTH;
+
+/**
+ * Encoder of trades to binary format (see BinaryTradeFormat) for clients, which send big batches.
+ * Magic is written, when writer is created, and then every trade is written as one record.
+ * Writer is not thread safe.
+ */
+public class BinaryTradeWriter implements Closeable {
+
+    private static final int HEADER_LENGTH = 12;
+
+    private final OutputStream output;
+    private ByteBuffer record = ByteBuffer.allocate(256);
+
+    public BinaryTradeWriter(OutputStream output) {
+        this.output = output;
+        try {
+            output.write(MAGIC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param trades trades
+     * @return binary stream with all trades
+     */
+    public static byte[] encode(List<Trade> trades) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(MAGIC.length + trades.size() * 128);
+        BinaryTradeWriter writer = new BinaryTradeWriter(output);
+        trades.forEach(writer::write);
+        return output.toByteArray();
+    }
+
+    /**
+     * @param trade trade, which should be written as one record
+     * @throws IllegalArgumentException if some string is longer than 65535 bytes
+     */
+    public void write(Trade trade) {
+        record.clear();
+        record.position(HEADER_LENGTH);
+        int present = 0;
+        int text = 0;
+
+        for(TradeField field : FIELDS) {
+            Object value = field.get(trade);
+            if(null == value) {
+                continue;
+            }
+            present |= 1 << field.ordinal();
+            if(!writeValue(field, value)) {
+                text |= 1 << field.ordinal();
+                writeString(value.toString());
+            }
+        }
+
+        record.putInt(0, record.position() - 4);
+        record.putInt(4, present);
+        record.putInt(8, text);
+        try {
+            output.write(record.array(), 0, record.position());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return false, if value can't be written in compact form and it should be written as string with text bit
+     */
+    private boolean writeValue(TradeField field, Object value) {
+        switch (BinaryTradeFormat.kind(field)) {
+            case DATE:
+                ensure(4).putInt((int) ((LocalDate) value).toEpochDay());
+                return true;
+            case AMOUNT:
+                return writeAmount((BigDecimal) value);
+            case DOUBLE:
+                ensure(8).putDouble((Double) value);
+                return true;
+            case CURRENCY:
+                return writeAscii((String) value, 3);
+            case CCY_PAIR:
+                return writeAscii((String) value, 6);
+            default:
+                writeString((String) value);
+                return true;
+        }
+    }
+
+    private boolean writeAmount(BigDecimal amount) {
+        BigInteger unscaled = amount.unscaledValue();
+        if(unscaled.bitLength() > 63 || amount.scale() < Byte.MIN_VALUE || amount.scale() > Byte.MAX_VALUE) {
+            return false;
+        }
+        ensure(9).put((byte) amount.scale()).putLong(unscaled.longValue());
+        return true;
+    }
+
+    private boolean writeAscii(String value, int length) {
+        if(value.length() != length) {
+            return false;
+        }
+        for(int i = 0; i < length; i++) {
+            if(value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        ensure(length);
+        for(int i = 0; i < length; i++) {
+            record.put((byte) value.charAt(i));
+        }
+        return true;
+    }
+
+    private void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if(bytes.length > MAX_STRING_LENGTH) {
+            throw new IllegalArgumentException("String is longer than " + MAX_STRING_LENGTH + " bytes");
+        }
+        ensure(2 + bytes.length).putShort((short) bytes.length).put(bytes);
+    }
+
+    private ByteBuffer ensure(int length) {
+        if(record.remaining() < length) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(record.capacity() * 2, record.position() + length));
+            record.flip();
+            bigger.put(record);
+            record = bigger;
+        }
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
@@ -0,0 +1,81 @@
+package com.creditsuisse.validator.io;
+
+import com.creditsuisse.validator.model.ErrorReport;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes error reports as NDJSON with index of trade in batch: {"index": 1, "trade": {...}, "messages": [...]}
+ *      and errors of records, which are not parsed: {"index": 1, "error": "..."}
+ */
+public class ErrorReportWriter implements Closeable {
+
+    private final ObjectMapper objectMapper;
+    private final OutputStream output;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(1024);
+
+    public ErrorReportWriter(ObjectMapper objectMapper, OutputStream output) {
+        this.objectMapper = objectMapper;
+        this.output = output;
+    }
+
+    /**
+     * @param report error report
+     * @return number of written bytes
+     */
+    public int write(ErrorReport report) throws IOException {
+        return write(report, report.getIndex());
+    }
+
+    /**
+     * @param report error report
+     * @param index index of trade in whole batch
+     * @return number of written bytes
+     */
+    public int write(ErrorReport report, long index) throws IOException {
+        line.reset();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(line)) {
+            generator.writeStartObject();
+            generator.writeNumberField("index", index);
+            generator.writeObjectField("trade", report.getTrade());
+            generator.writeObjectField("messages", report.getMessages());
+            generator.writeEndObject();
+        }
+        line.write('\n');
+        line.writeTo(output);
+        return line.size();
+    }
+
+    /**
+     * Writes error of record, which can't be parsed to trade: {"index": 1, "error": "..."}
+     * @param index index of record in whole batch
+     * @param error description of error
+     * @return number of written bytes
+     */
+    public int writeError(long index, String error) throws IOException {
+        line.reset();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(line)) {
+            generator.writeStartObject();
+            generator.writeNumberField("index", index);
+            generator.writeStringField("error", error);
+            generator.writeEndObject();
+        }
+        line.write('\n');
+        line.writeTo(output);
+        return line.size();
+    }
+
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
@@ -0,0 +1,96 @@
+package com.creditsuisse.validator.io;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Parser of ISO dates ("2017-08-25") directly from characters of parser buffer.
+ * Batch of trades has only few distinct dates, so parsed dates are kept in small direct mapped cache
+ *      indexed by epoch day, and known date is returned without allocation.
+ * LocalDate is immutable, so cache can be shared by threads without locking: in worst case date is parsed twice.
+ */
+public class LocalDateCache {
+
+    private static final int ISO_DATE_LENGTH = 10;
+
+    private final LocalDate[] dates;
+    private final int mask;
+
+    /**
+     * @param size number of cached dates, rounded up to power of two
+     */
+    public LocalDateCache(int size) {
+        int capacity = Integer.highestOneBit(Math.max(size, 1) * 2 - 1);
+        this.dates = new LocalDate[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @param chars buffer with characters of date
+     * @param offset offset of date in buffer
+     * @param length length of date
+     * @return date or null, if characters are not valid ISO date "yyyy-MM-dd"
+     */
+    public LocalDate parse(char[] chars, int offset, int length) {
+        if(length != ISO_DATE_LENGTH || chars[offset + 4] != '-' || chars[offset + 7] != '-') {
+            return null;
+        }
+
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        if(year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+
+        long epochDay = epochDay(year, month, day);
+        int index = (int) epochDay & mask;
+        LocalDate date = dates[index];
+        if(null != date && date.getYear() == year && date.getMonthValue() == month && date.getDayOfMonth() == day) {
+            return date;
+        }
+
+        try {
+            date = LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+        dates[index] = date;
+        return date;
+    }
+
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for(int i = 0; i < count; i++) {
+            int digit = chars[offset + i] - '0';
+            if(digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Epoch day of date (the same as LocalDate.toEpochDay(), but without creating LocalDate).
+     * Day of month is not validated here, not existing date (e.g. 2017-02-30) is rejected by LocalDate.of
+     */
+    private static long epochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y;
+        total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if(month > 2) {
+            total--;
+            if(!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - 719528;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+}
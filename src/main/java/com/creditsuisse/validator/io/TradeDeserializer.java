@@ -0,0 +1,174 @@
+package com.creditsuisse.validator.io;
+
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.util.StringCanonicalizer;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Deserializer of Trade without reflection. Field names are matched by switch, setters are called directly.
+ * Dates in ISO format are parsed from parser buffer through LocalDateCache,
+ *      and low cardinality strings (customer, ccyPair, type, currencies, legal entity...) are canonicalized
+ *      against reference data, so the same value in all trades of batch is the same instance.
+ * Values in other formats (e.g. date as [2017, 8, 25], amount as string) are delegated to default deserializers
+ *      of Jackson, so accepted input is the same as with default binding.
+ */
+public class TradeDeserializer extends StdDeserializer<Trade> {
+
+    private static final int DATE_CACHE_SIZE = 1024;
+
+    private final StringCanonicalizer canonicalizer;
+    private final LocalDateCache dateCache = new LocalDateCache(DATE_CACHE_SIZE);
+
+    /**
+     * @param canonicalizer known values of low cardinality string fields
+     */
+    public TradeDeserializer(StringCanonicalizer canonicalizer) {
+        super(Trade.class);
+        this.canonicalizer = canonicalizer;
+    }
+
+    @Override
+    public Trade deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if(token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if(token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (Trade) context.handleUnexpectedToken(Trade.class, parser);
+        }
+
+        Trade trade = new Trade();
+        for(; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            readField(trade, field, parser, context);
+        }
+        return trade;
+    }
+
+    private void readField(Trade trade, String field, JsonParser parser, DeserializationContext context) throws IOException {
+        switch (field) {
+            case "tradeId":
+                trade.setTradeId(readText(parser, context));
+                break;
+            case "customer":
+                trade.setCustomer(readCanonicalText(parser, context));
+                break;
+            case "ccyPair":
+                trade.setCcyPair(readCanonicalText(parser, context));
+                break;
+            case "type":
+                trade.setType(readCanonicalText(parser, context));
+                break;
+            case "style":
+                trade.setStyle(readCanonicalText(parser, context));
+                break;
+            case "direction":
+                trade.setDirection(readCanonicalText(parser, context));
+                break;
+            case "strategy":
+                trade.setStrategy(readCanonicalText(parser, context));
+                break;
+            case "tradeDate":
+                trade.setTradeDate(readDate(parser, context));
+                break;
+            case "amount1":
+                trade.setAmount1(readDecimal(parser, context));
+                break;
+            case "amount2":
+                trade.setAmount2(readDecimal(parser, context));
+                break;
+            case "rate":
+                trade.setRate(readDouble(parser, context));
+                break;
+            case "deliveryDate":
+                trade.setDeliveryDate(readDate(parser, context));
+                break;
+            case "expiryDate":
+                trade.setExpiryDate(readDate(parser, context));
+                break;
+            case "excerciseStartDate":
+                trade.setExcerciseStartDate(readDate(parser, context));
+                break;
+            case "payCcy":
+                trade.setPayCcy(readCanonicalText(parser, context));
+                break;
+            case "premium":
+                trade.setPremium(readDouble(parser, context));
+                break;
+            case "premiumCcy":
+                trade.setPremiumCcy(readCanonicalText(parser, context));
+                break;
+            case "premiumType":
+                trade.setPremiumType(readCanonicalText(parser, context));
+                break;
+            case "premiumDate":
+                trade.setPremiumDate(readDate(parser, context));
+                break;
+            case "valueDate":
+                trade.setValueDate(readDate(parser, context));
+                break;
+            case "legalEntity":
+                trade.setLegalEntity(readCanonicalText(parser, context));
+                break;
+            case "trader":
+                trade.setTrader(readCanonicalText(parser, context));
+                break;
+            default:
+                context.handleUnknownProperty(parser, this, trade, field);
+        }
+    }
+
+    private static String readText(JsonParser parser, DeserializationContext context) throws IOException {
+        if(parser.getCurrentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        return readDefault(parser, context, String.class);
+    }
+
+    private String readCanonicalText(JsonParser parser, DeserializationContext context) throws IOException {
+        if(parser.getCurrentToken() == JsonToken.VALUE_STRING) {
+            return canonicalizer.canonicalize(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+        return readDefault(parser, context, String.class);
+    }
+
+    private LocalDate readDate(JsonParser parser, DeserializationContext context) throws IOException {
+        if(parser.getCurrentToken() == JsonToken.VALUE_STRING) {
+            LocalDate date = dateCache.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if(null != date) {
+                return date;
+            }
+        }
+        return readDefault(parser, context, LocalDate.class);
+    }
+
+    private static BigDecimal readDecimal(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if(token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDecimalValue();
+        }
+        return readDefault(parser, context, BigDecimal.class);
+    }
+
+    private static Double readDouble(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if(token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDoubleValue();
+        }
+        return readDefault(parser, context, Double.class);
+    }
+
+    private static <T> T readDefault(JsonParser parser, DeserializationContext context, Class<T> type) throws IOException {
+        if(parser.getCurrentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return context.readValue(parser, type);
+    }
+}
@@ -0,0 +1,87 @@
+package com.creditsuisse.validator.io;
+
+import com.creditsuisse.validator.model.Trade;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads Trades one by one from input stream with Jackson streaming parser, so whole batch is never in memory.
+ * Supported formats:
+ *      top-level JSON array: [{...}, {...}]
+ *      NDJSON (or any whitespace separated sequence of JSON objects): {...}\n{...}
+ */
+public class TradeStreamReader implements Iterator<Trade>, Closeable {
+
+    private final JsonParser parser;
+    private final ObjectReader tradeReader;
+    private boolean array;
+    private boolean started;
+    private JsonToken next;
+
+    public TradeStreamReader(ObjectMapper objectMapper, InputStream input) throws IOException {
+        this.parser = objectMapper.getFactory().createParser(input);
+        this.tradeReader = objectMapper.readerFor(Trade.class);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if(null == next) {
+            next = nextTradeToken();
+        }
+        return next == JsonToken.START_OBJECT;
+    }
+
+    @Override
+    public Trade next() {
+        if(!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+            next = null;
+            return tradeReader.readValue(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private JsonToken nextTradeToken() {
+        try {
+            JsonToken token = parser.nextToken();
+            if(!started) {
+                started = true;
+                array = token == JsonToken.START_ARRAY;
+                if(array) {
+                    token = parser.nextToken();
+                }
+            }
+
+            if(null == token || (array && token == JsonToken.END_ARRAY)) {
+                return JsonToken.NOT_AVAILABLE;
+            }
+
+            if(token != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Trade object expected, but was " + token);
+            }
+
+            return token;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.creditsuisse.validator.job;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Job doesn't exist, or it's already removed after retention time
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class JobNotFoundException extends RuntimeException {
+
+    public JobNotFoundException(String id) {
+        super("Validation job is not found: " + id);
+    }
+}
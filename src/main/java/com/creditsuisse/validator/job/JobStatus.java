@@ -0,0 +1,11 @@
+package com.creditsuisse.validator.job;
+
+/**
+ * Status of validation job
+ */
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,180 @@
+package com.creditsuisse.validator.job;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous validation of one batch. Trades are read from input file, and error reports are appended
+ *      to result file while validation runs, so client can page through results before job is completed.
+ * Byte position of every INDEX_STEP-th error report is kept, so page is read without scan of whole result file.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ValidationJob {
+
+    static final int INDEX_STEP = 256;
+
+    private final String id;
+    private final Instant submittedAt = Instant.now();
+    private final Path inputFile;
+    private final Path resultFile;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile long inputSize;
+    private volatile long errors;
+    private volatile String message;
+    private volatile Future<?> future;
+    private long[] positions = new long[16];
+
+    public ValidationJob(String id, Path inputFile, Path resultFile) {
+        this.id = id;
+        this.inputFile = inputFile;
+        this.resultFile = resultFile;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * @return number of trades, which are already read from input
+     */
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    /**
+     * @return share of input, which is already read, from 0.0 to 1.0
+     */
+    public double getProgress() {
+        if(status == JobStatus.COMPLETED) {
+            return 1.0;
+        }
+        return inputSize > 0 ? Math.min(1.0, (double) bytesRead.get() / inputSize) : 0.0;
+    }
+
+    /**
+     * @return number of not valid trades, which results are available
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return true, if job is completed and all trades are valid, null if job is not completed
+     */
+    public Boolean getValid() {
+        return status == JobStatus.COMPLETED ? errors == 0 : null;
+    }
+
+    /**
+     * @return reason, why job is failed
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @JsonIgnore
+    public Path getInputFile() {
+        return inputFile;
+    }
+
+    @JsonIgnore
+    public Path getResultFile() {
+        return resultFile;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+    }
+
+    void setInputSize(long inputSize) {
+        this.inputSize = inputSize;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    void cancel() {
+        if(null != future) {
+            future.cancel(true);
+        }
+    }
+
+    void incrementProcessed() {
+        processed.incrementAndGet();
+    }
+
+    void addBytesRead(long count) {
+        bytesRead.addAndGet(count);
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        status = JobStatus.RUNNING;
+    }
+
+    void completed() {
+        finishedAt = Instant.now();
+        status = JobStatus.COMPLETED;
+    }
+
+    void failed(String message) {
+        this.message = message;
+        finishedAt = Instant.now();
+        status = JobStatus.FAILED;
+    }
+
+    /**
+     * Results up to count are written to result file, and can be read by clients
+     */
+    void setErrors(long errors) {
+        this.errors = errors;
+    }
+
+    /**
+     * @param report number of error report, which is multiple of INDEX_STEP
+     * @param position byte position of error report in result file
+     */
+    synchronized void addPosition(long report, long position) {
+        int index = (int) (report / INDEX_STEP);
+        if(index >= positions.length) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+        }
+        positions[index] = position;
+    }
+
+    /**
+     * @param report number of error report
+     * @return byte position of nearest indexed error report, which is not after requested one
+     */
+    synchronized long getPosition(long report) {
+        return positions[(int) (report / INDEX_STEP)];
+    }
+}
@@ -0,0 +1,378 @@
+package com.creditsuisse.validator.job;
+
+import com.creditsuisse.validator.io.ErrorReportWriter;
+import com.creditsuisse.validator.io.TradeStreamReader;
+import com.creditsuisse.validator.model.ErrorReport;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.service.ValidationRejectedException;
+import com.creditsuisse.validator.service.ValidationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Service, which contains logic of asynchronous validation jobs.
+ * Input of job is spooled to local file, and then validated in streaming mode by own bounded executor,
+ *      so at most "validation.jobs.concurrency" jobs run at the same time. Error reports are appended to result file
+ *      of job as NDJSON (see ErrorReportWriter). Finished jobs and their files are removed after "validation.jobs.retention".
+ * Size of all files in directory of jobs is limited by "validation.jobs.maxDirectorySize", so job, which doesn't fit,
+ *      is rejected.
+ */
+@Service
+public class ValidationJobService {
+
+    private static final Logger LOGGER = LogManager.getLogger(ValidationJobService.class);
+    private static final int FLUSH_STEP = 256;
+
+    @Value("${validation.jobs.concurrency:2}")
+    private int concurrency;
+
+    @Value("${validation.jobs.queueCapacity:100}")
+    private int queueCapacity;
+
+    @Value("${validation.jobs.directory:}")
+    private String directory;
+
+    @Value("${validation.jobs.retention:3600000}")
+    private long retention;
+
+    @Value("${validation.jobs.maxDirectorySize:0}")
+    private long maxDirectorySize;
+
+    @Autowired
+    private ValidationService validationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, ValidationJob> jobs = new ConcurrentHashMap<>();
+    private Path jobsDirectory;
+    private ThreadPoolExecutor executor;
+    private ScheduledExecutorService cleaner;
+
+    @PostConstruct
+    public void init() throws IOException {
+        jobsDirectory = directory.isEmpty()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "validation-jobs")
+                : Paths.get(directory);
+        Files.createDirectories(jobsDirectory);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "validation-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "validation-job-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, Math.min(retention, 60000));
+        cleaner.scheduleWithFixedDelay(this::removeExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        cleaner.shutdownNow();
+        executor.shutdownNow();
+        new ArrayList<>(jobs.keySet()).forEach(this::remove);
+    }
+
+    /**
+     * Submit job. Input is written to local file before method returns, and validated later.
+     * @param input JSON array or NDJSON of trades
+     * @return submitted job
+     * @throws ValidationRejectedException if there are too many jobs in queue or input doesn't fit to directory of jobs
+     */
+    public ValidationJob submit(InputStream input) throws IOException {
+        String id = UUID.randomUUID().toString();
+        ValidationJob job = new ValidationJob(id, jobsDirectory.resolve(id + ".input"), jobsDirectory.resolve(id + ".ndjson"));
+        jobs.put(id, job);
+
+        try {
+            job.setInputSize(spool(input, job.getInputFile()));
+            job.setFuture(executor.submit(() -> run(job)));
+            return job;
+        } catch (RejectedExecutionException e) {
+            remove(id);
+            throw new ValidationRejectedException("Validation job queue is full", e);
+        } catch (IOException | RuntimeException e) {
+            remove(id);
+            throw e;
+        }
+    }
+
+    /**
+     * @param id ID of job
+     * @return job
+     * @throws JobNotFoundException if job doesn't exist
+     */
+    public ValidationJob get(String id) {
+        ValidationJob job = jobs.get(id);
+        if(null == job) {
+            throw new JobNotFoundException(id);
+        }
+        return job;
+    }
+
+    /**
+     * Page of error reports of job. Only results, which are already written, are returned.
+     * @param id ID of job
+     * @param offset number of first error report
+     * @param limit max number of error reports
+     * @return error reports with index of not valid trade in batch
+     */
+    public List<JsonNode> getResults(String id, long offset, int limit) throws IOException {
+        ValidationJob job = get(id);
+        long end = Math.min(job.getErrors(), offset + limit);
+        if(offset < 0 || offset >= end) {
+            return Collections.emptyList();
+        }
+
+        List<JsonNode> results = new ArrayList<>((int) (end - offset));
+        long report = offset - offset % ValidationJob.INDEX_STEP;
+        try (SeekableByteChannel channel = Files.newByteChannel(job.getResultFile())) {
+            channel.position(job.getPosition(offset));
+            BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1));
+            for(; report < end; report++) {
+                String line = reader.readLine();
+                if(report >= offset) {
+                    results.add(objectMapper.readTree(line));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            throw new JobNotFoundException(id);
+        }
+        return results;
+    }
+
+    /**
+     * Cancel job, if it's not finished, and remove it with its files
+     * @param id ID of job
+     */
+    public void remove(String id) {
+        ValidationJob job = jobs.remove(id);
+        if(null != job) {
+            job.cancel();
+            delete(job.getInputFile());
+            delete(job.getResultFile());
+        }
+    }
+
+    private void run(ValidationJob job) {
+        job.started();
+        try (InputStream input = new BufferedInputStream(new CountingInputStream(Files.newInputStream(job.getInputFile()), job));
+             TradeStreamReader trades = new TradeStreamReader(objectMapper, input);
+             ResultWriter results = new ResultWriter(job)) {
+            try {
+                validationService.validate(new CountingIterator(trades, job), results);
+            } finally {
+                // reports, which are written before job failed, are counted too, so they can be read
+                results.flush();
+            }
+            job.completed();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Validation job " + job.getId() + " is failed", e);
+            job.failed(null != e.getMessage() ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            delete(job.getInputFile());
+        }
+    }
+
+    /**
+     * Copy input to file, but not more than free space of directory of jobs
+     * @return size of input
+     */
+    private long spool(InputStream input, Path file) throws IOException {
+        if(maxDirectorySize <= 0) {
+            return Files.copy(input, file);
+        }
+        long available = maxDirectorySize - directorySize();
+        long size = 0;
+        byte[] buffer = new byte[8192];
+        try (OutputStream output = Files.newOutputStream(file)) {
+            for(int count = input.read(buffer); count >= 0; count = input.read(buffer)) {
+                size += count;
+                if(size > available) {
+                    throw new ValidationRejectedException("Directory of validation jobs is full");
+                }
+                output.write(buffer, 0, count);
+            }
+        }
+        return size;
+    }
+
+    private long directorySize() throws IOException {
+        try (Stream<Path> files = Files.list(jobsDirectory)) {
+            return files.mapToLong(file -> {
+                try {
+                    return Files.size(file);
+                } catch (IOException e) {
+                    // file of removed job
+                    return 0;
+                }
+            }).sum();
+        }
+    }
+
+    private void removeExpired() {
+        Instant expired = Instant.now().minusMillis(retention);
+        jobs.values().stream()
+                .filter(job -> job.isFinished() && job.getFinishedAt().isBefore(expired))
+                .map(ValidationJob::getId)
+                .forEach(this::remove);
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("File of validation job can't be deleted: " + file, e);
+        }
+    }
+
+    /**
+     * Appends error reports to result file. Reports are visible for clients after they are flushed.
+     */
+    private class ResultWriter implements Consumer<ErrorReport>, Closeable {
+        private final ValidationJob job;
+        private final ErrorReportWriter writer;
+        private long position;
+        private long written;
+
+        private ResultWriter(ValidationJob job) throws IOException {
+            this.job = job;
+            this.writer = new ErrorReportWriter(objectMapper, new BufferedOutputStream(Files.newOutputStream(job.getResultFile())));
+        }
+
+        @Override
+        public void accept(ErrorReport report) {
+            try {
+                if(written % ValidationJob.INDEX_STEP == 0) {
+                    job.addPosition(written, position);
+                }
+                position += writer.write(report);
+                written++;
+
+                if(written % FLUSH_STEP == 0) {
+                    flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void flush() throws IOException {
+            writer.flush();
+            job.setErrors(written);
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Counts trades, which are read, and stops validation, if job is cancelled
+     */
+    private static class CountingIterator implements Iterator<Trade> {
+        private final Iterator<Trade> trades;
+        private final ValidationJob job;
+
+        private CountingIterator(Iterator<Trade> trades, ValidationJob job) {
+            this.trades = trades;
+            this.job = job;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if(Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Validation job is cancelled");
+            }
+            return trades.hasNext();
+        }
+
+        @Override
+        public Trade next() {
+            Trade trade = trades.next();
+            job.incrementProcessed();
+            return trade;
+        }
+    }
+
+    /**
+     * Counts bytes of input, which are read, for progress of job
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private final ValidationJob job;
+
+        private CountingInputStream(InputStream input, ValidationJob job) {
+            super(input);
+            this.job = job;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if(value >= 0) {
+                job.addBytesRead(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if(count > 0) {
+                job.addBytesRead(count);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.creditsuisse.validator.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of positive long values (latency in nanoseconds, batch size...).
+ * Values are counted in log-linear buckets: 8 buckets per power of two, so percentiles have relative error less than 12.5%.
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    public void record(long value) {
+        long positive = Math.max(value, 0);
+        counts.incrementAndGet(index(positive));
+        count.increment();
+        sum.add(positive);
+        max.accumulate(positive);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long total = count.sum();
+        return total == 0 ? 0 : (double) sum.sum() / total;
+    }
+
+    /**
+     * @param quantile quantile, e.g. 0.99
+     * @return upper bound of bucket, which contains value of quantile
+     */
+    public long getPercentile(double quantile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if(total == 0) {
+            return 0;
+        }
+
+        long target = (long) Math.ceil(quantile * total);
+        long cumulative = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            cumulative += snapshot[i];
+            if(cumulative >= Math.max(target, 1)) {
+                return Math.min(lowerBound(i + 1) - 1, getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * @param scale divisor of values, e.g. 1000 to report nanoseconds as microseconds
+     * @return count, mean, p50, p99, p999 and max
+     */
+    public Map<String, Object> toMap(double scale) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", getCount());
+        map.put("mean", getMean() / scale);
+        map.put("p50", getPercentile(0.5) / scale);
+        map.put("p99", getPercentile(0.99) / scale);
+        map.put("p999", getPercentile(0.999) / scale);
+        map.put("max", getMax() / scale);
+        return map;
+    }
+
+    static int index(long value) {
+        if(value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long lowerBound(int index) {
+        if(index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        if(exponent >= 63) {
+            return Long.MAX_VALUE;
+        }
+        long subBucket = index & (SUB_BUCKETS - 1);
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+}
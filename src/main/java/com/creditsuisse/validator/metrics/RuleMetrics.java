@@ -0,0 +1,92 @@
+package com.creditsuisse.validator.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counters of one validation rule: invocations, failures and (sampled) time of invocations
+ */
+public class RuleMetrics {
+
+    private final String name;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timedInvocations = new LongAdder();
+    private final LongAdder timedNanos = new LongAdder();
+
+    public RuleMetrics(String name) {
+        this.name = name;
+    }
+
+    public void record(boolean failed) {
+        invocations.increment();
+        if(failed) {
+            failures.increment();
+        }
+    }
+
+    public void record(boolean failed, long nanos) {
+        record(failed);
+        timedInvocations.increment();
+        timedNanos.add(nanos);
+    }
+
+    /**
+     * Record invocations of rule on range of trades (see TradeColumns), which are timed together
+     * @param count number of validated trades
+     * @param failed number of not valid trades
+     * @param nanos time of validation of range
+     */
+    public void record(long count, long failed, long nanos) {
+        invocations.add(count);
+        failures.add(failed);
+        timedInvocations.add(count);
+        timedNanos.add(nanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getTimedInvocations() {
+        return timedInvocations.sum();
+    }
+
+    public long getTimedNanos() {
+        return timedNanos.sum();
+    }
+
+    /**
+     * @return average time of one invocation in nanoseconds, measured on sampled invocations
+     */
+    public double getAverageNanos() {
+        long timed = timedInvocations.sum();
+        return timed == 0 ? 0 : (double) timedNanos.sum() / timed;
+    }
+
+    /**
+     * @return share of invocations, which failed
+     */
+    public double getFailureRate() {
+        long total = invocations.sum();
+        return total == 0 ? 0 : (double) failures.sum() / total;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("invocations", getInvocations());
+        map.put("failures", getFailures());
+        map.put("failureRate", getFailureRate());
+        map.put("averageNanos", getAverageNanos());
+        return map;
+    }
+}
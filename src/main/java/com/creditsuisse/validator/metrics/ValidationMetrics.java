@@ -0,0 +1,119 @@
+package com.creditsuisse.validator.metrics;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of trades validation: per rule invocations and failures, failures per message,
+ *      distribution of batch size and latency of batch validation, hits and misses of result cache.
+ * All counters are lock-free. Time of rules is measured only on sample of trades ("validation.metrics.ruleTimingSampleRate"),
+ *      because System.nanoTime() is not much cheaper than rule itself.
+ */
+@Component
+public class ValidationMetrics {
+
+    private static final double NANOS_IN_MICROSECOND = 1000.0;
+
+    @Value("${validation.metrics.ruleTimingSampleRate:16}")
+    private int ruleTimingSampleRate;
+
+    private final ConcurrentMap<String, RuleMetrics> rules = new ConcurrentHashMap<>();
+    private final LongAdder[] failures = new LongAdder[MessageTextEnum.values().length];
+    private final LongAdder trades = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder expiredBatches = new LongAdder();
+    private final Histogram batchSizes = new Histogram();
+    private final Histogram batchLatency = new Histogram();
+
+    public ValidationMetrics() {
+        for(int i = 0; i < failures.length; i++) {
+            failures[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Counters of rule. Should be resolved once, when rule is created, and not per trade.
+     * @param name name of rule
+     * @return counters of rule
+     */
+    public RuleMetrics rule(String name) {
+        return rules.computeIfAbsent(name, RuleMetrics::new);
+    }
+
+    /**
+     * @return true, if time of rules should be measured for current trade
+     */
+    public boolean sampleRuleTiming() {
+        return ruleTimingSampleRate > 0 && ThreadLocalRandom.current().nextInt(ruleTimingSampleRate) == 0;
+    }
+
+    public void recordFailure(MessageTextEnum message) {
+        failures[message.ordinal()].increment();
+    }
+
+    /**
+     * @param size number of trades in batch
+     * @param nanos time of batch validation
+     */
+    public void recordBatch(long size, long nanos) {
+        trades.add(size);
+        batchSizes.record(size);
+        batchLatency.record(nanos);
+    }
+
+    /**
+     * @param hit true, if result of trade was found in result cache
+     */
+    public void recordCache(boolean hit) {
+        if(hit) {
+            cacheHits.increment();
+        } else {
+            cacheMisses.increment();
+        }
+    }
+
+    /**
+     * Batch was not validated completely, because its deadline expired
+     */
+    public void recordExpiredBatch() {
+        expiredBatches.increment();
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("trades", trades.sum());
+        map.put("batchSize", batchSizes.toMap(1));
+        map.put("batchLatencyMicros", batchLatency.toMap(NANOS_IN_MICROSECOND));
+        map.put("expiredBatches", expiredBatches.sum());
+
+        Map<String, Object> ruleMap = new LinkedHashMap<>();
+        rules.values().stream()
+                .sorted((first, second) -> first.getName().compareTo(second.getName()))
+                .forEach(rule -> ruleMap.put(rule.getName(), rule.toMap()));
+        map.put("rules", ruleMap);
+
+        Map<String, Object> failureMap = new LinkedHashMap<>();
+        for(MessageTextEnum message : MessageTextEnum.values()) {
+            failureMap.put(message.name(), failures[message.ordinal()].sum());
+        }
+        map.put("failures", failureMap);
+
+        Map<String, Object> cacheMap = new LinkedHashMap<>();
+        long hits = cacheHits.sum();
+        long total = hits + cacheMisses.sum();
+        cacheMap.put("hits", hits);
+        cacheMap.put("misses", total - hits);
+        cacheMap.put("hitRate", total == 0 ? 0 : (double) hits / total);
+        map.put("resultCache", cacheMap);
+        return map;
+    }
+}
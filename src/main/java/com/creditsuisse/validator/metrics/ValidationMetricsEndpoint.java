@@ -0,0 +1,26 @@
+package com.creditsuisse.validator.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint "/validation" with metrics of trades validation
+ */
+@Component
+public class ValidationMetricsEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+    @Autowired
+    private ValidationMetrics validationMetrics;
+
+    public ValidationMetricsEndpoint() {
+        super("validation", false);
+    }
+
+    @Override
+    public Map<String, Object> invoke() {
+        return validationMetrics.toMap();
+    }
+}
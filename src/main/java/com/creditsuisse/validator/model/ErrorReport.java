@@ -1,34 +1,58 @@
-package com.creditsuisse.validator.model;
-
-import com.creditsuisse.validator.enums.MessageTextEnum;
-
-import java.util.List;
-
-/**
- * Report, which contains error messages with information why is Input Trade is not valid
- */
-public class ErrorReport {
-    private Trade trade;
-    private List<MessageTextEnum> messages;
-
-    public ErrorReport(Trade trade, List<MessageTextEnum> messages) {
-        this.trade = trade;
-        this.messages = messages;
-    }
-
-    public Trade getTrade() {
-        return trade;
-    }
-
-    public void setTrade(Trade trade) {
-        this.trade = trade;
-    }
-
-    public List<MessageTextEnum> getMessages() {
-        return messages;
-    }
-
-    public void setMessages(List<MessageTextEnum> messages) {
-        this.messages = messages;
-    }
-}
+package com.creditsuisse.validator.model;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
+/**
+ * Report, which contains error messages with information why is Input Trade is not valid
+ */
+public class ErrorReport {
+    private long index = -1;
+    private Trade trade;
+    private List<MessageTextEnum> messages;
+
+    public ErrorReport(Trade trade, List<MessageTextEnum> messages) {
+        this.trade = trade;
+        this.messages = messages;
+    }
+
+    /**
+     * @param index index of not valid trade in batch
+     * @param trade not valid trade
+     * @param mask bitmask of messages (see MessageTextEnum.mask())
+     */
+    public ErrorReport(long index, Trade trade, long mask) {
+        this(trade, new MessageList(mask));
+        this.index = index;
+    }
+
+    /**
+     * @return index of trade in batch, or -1 if it's not known. It's reported only in compact response.
+     */
+    @JsonIgnore
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public Trade getTrade() {
+        return trade;
+    }
+
+    public void setTrade(Trade trade) {
+        this.trade = trade;
+    }
+
+    public List<MessageTextEnum> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<MessageTextEnum> messages) {
+        this.messages = messages;
+    }
+}
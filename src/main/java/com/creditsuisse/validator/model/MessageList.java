@@ -0,0 +1,42 @@
+package com.creditsuisse.validator.model;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+
+import java.util.AbstractList;
+
+/**
+ * Immutable list of messages, which is a view of bitmask of MessageTextEnum ordinals (see MessageTextEnum.mask()).
+ * Messages are in order of MessageTextEnum.
+ */
+public class MessageList extends AbstractList<MessageTextEnum> {
+
+    private static final MessageTextEnum[] MESSAGES = MessageTextEnum.values();
+
+    private final long mask;
+
+    public MessageList(long mask) {
+        this.mask = mask;
+    }
+
+    public long getMask() {
+        return mask;
+    }
+
+    @Override
+    public MessageTextEnum get(int index) {
+        if(index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        long remaining = mask;
+        for(int i = 0; i < index; i++) {
+            remaining &= remaining - 1;
+        }
+        return MESSAGES[Long.numberOfTrailingZeros(remaining)];
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(mask);
+    }
+}
@@ -1,199 +1,214 @@
-package com.creditsuisse.validator.model;
-
-import java.math.BigDecimal;
-import java.time.LocalDate;
-
-/**
- * Input Trade, which should be validated
- */
-public class Trade {
-    private String customer;
-    private String ccyPair;
-    private String type;
-    private String style;
-    private String direction;
-    private String strategy;
-    private LocalDate tradeDate;
-    private BigDecimal amount1;
-    private BigDecimal amount2;
-    private Double rate;
-    private LocalDate deliveryDate;
-    private LocalDate expiryDate;
-    private LocalDate excerciseStartDate;
-    private String payCcy;
-    private Double premium;
-    private String premiumCcy;
-    private String premiumType;
-    private LocalDate premiumDate;
-    private LocalDate valueDate;
-    private String legalEntity;
-    private String trader;
-
-    public String getCustomer() {
-        return customer;
-    }
-
-    public void setCustomer(String customer) {
-        this.customer = customer;
-    }
-
-    public String getCcyPair() {
-        return ccyPair;
-    }
-
-    public void setCcyPair(String ccyPair) {
-        this.ccyPair = ccyPair;
-    }
-
-    public String getType() {
-        return type;
-    }
-
-    public void setType(String type) {
-        this.type = type;
-    }
-
-    public String getStyle() {
-        return style;
-    }
-
-    public void setStyle(String style) {
-        this.style = style;
-    }
-
-    public String getDirection() {
-        return direction;
-    }
-
-    public void setDirection(String direction) {
-        this.direction = direction;
-    }
-
-    public String getStrategy() {
-        return strategy;
-    }
-
-    public void setStrategy(String strategy) {
-        this.strategy = strategy;
-    }
-
-    public LocalDate getTradeDate() {
-        return tradeDate;
-    }
-
-    public void setTradeDate(LocalDate tradeDate) {
-        this.tradeDate = tradeDate;
-    }
-
-    public BigDecimal getAmount1() {
-        return amount1;
-    }
-
-    public void setAmount1(BigDecimal amount1) {
-        this.amount1 = amount1;
-    }
-
-    public BigDecimal getAmount2() {
-        return amount2;
-    }
-
-    public void setAmount2(BigDecimal amount2) {
-        this.amount2 = amount2;
-    }
-
-    public Double getRate() {
-        return rate;
-    }
-
-    public void setRate(Double rate) {
-        this.rate = rate;
-    }
-
-    public LocalDate getDeliveryDate() {
-        return deliveryDate;
-    }
-
-    public void setDeliveryDate(LocalDate deliveryDate) {
-        this.deliveryDate = deliveryDate;
-    }
-
-    public LocalDate getExpiryDate() {
-        return expiryDate;
-    }
-
-    public void setExpiryDate(LocalDate expiryDate) {
-        this.expiryDate = expiryDate;
-    }
-
-    public LocalDate getExcerciseStartDate() {
-        return excerciseStartDate;
-    }
-
-    public void setExcerciseStartDate(LocalDate excerciseStartDate) {
-        this.excerciseStartDate = excerciseStartDate;
-    }
-
-    public String getPayCcy() {
-        return payCcy;
-    }
-
-    public void setPayCcy(String payCcy) {
-        this.payCcy = payCcy;
-    }
-
-    public Double getPremium() {
-        return premium;
-    }
-
-    public void setPremium(Double premium) {
-        this.premium = premium;
-    }
-
-    public String getPremiumCcy() {
-        return premiumCcy;
-    }
-
-    public void setPremiumCcy(String premiumCcy) {
-        this.premiumCcy = premiumCcy;
-    }
-
-    public String getPremiumType() {
-        return premiumType;
-    }
-
-    public void setPremiumType(String premiumType) {
-        this.premiumType = premiumType;
-    }
-
-    public LocalDate getPremiumDate() {
-        return premiumDate;
-    }
-
-    public void setPremiumDate(LocalDate premiumDate) {
-        this.premiumDate = premiumDate;
-    }
-
-    public LocalDate getValueDate() {
-        return valueDate;
-    }
-
-    public void setValueDate(LocalDate valueDate) {
-        this.valueDate = valueDate;
-    }
-
-    public String getLegalEntity() {
-        return legalEntity;
-    }
-
-    public void setLegalEntity(String legalEntity) {
-        this.legalEntity = legalEntity;
-    }
-
-    public String getTrader() {
-        return trader;
-    }
-
-    public void setTrader(String trader) {
-        this.trader = trader;
-    }
-}
+package com.creditsuisse.validator.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Input Trade, which should be validated
+ */
+public class Trade {
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String tradeId;
+    private String customer;
+    private String ccyPair;
+    private String type;
+    private String style;
+    private String direction;
+    private String strategy;
+    private LocalDate tradeDate;
+    private BigDecimal amount1;
+    private BigDecimal amount2;
+    private Double rate;
+    private LocalDate deliveryDate;
+    private LocalDate expiryDate;
+    private LocalDate excerciseStartDate;
+    private String payCcy;
+    private Double premium;
+    private String premiumCcy;
+    private String premiumType;
+    private LocalDate premiumDate;
+    private LocalDate valueDate;
+    private String legalEntity;
+    private String trader;
+
+    /**
+     * @return optional trade ID of client, which is reported in compact response
+     */
+    public String getTradeId() {
+        return tradeId;
+    }
+
+    public void setTradeId(String tradeId) {
+        this.tradeId = tradeId;
+    }
+
+    public String getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(String customer) {
+        this.customer = customer;
+    }
+
+    public String getCcyPair() {
+        return ccyPair;
+    }
+
+    public void setCcyPair(String ccyPair) {
+        this.ccyPair = ccyPair;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getStyle() {
+        return style;
+    }
+
+    public void setStyle(String style) {
+        this.style = style;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public LocalDate getTradeDate() {
+        return tradeDate;
+    }
+
+    public void setTradeDate(LocalDate tradeDate) {
+        this.tradeDate = tradeDate;
+    }
+
+    public BigDecimal getAmount1() {
+        return amount1;
+    }
+
+    public void setAmount1(BigDecimal amount1) {
+        this.amount1 = amount1;
+    }
+
+    public BigDecimal getAmount2() {
+        return amount2;
+    }
+
+    public void setAmount2(BigDecimal amount2) {
+        this.amount2 = amount2;
+    }
+
+    public Double getRate() {
+        return rate;
+    }
+
+    public void setRate(Double rate) {
+        this.rate = rate;
+    }
+
+    public LocalDate getDeliveryDate() {
+        return deliveryDate;
+    }
+
+    public void setDeliveryDate(LocalDate deliveryDate) {
+        this.deliveryDate = deliveryDate;
+    }
+
+    public LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    public void setExpiryDate(LocalDate expiryDate) {
+        this.expiryDate = expiryDate;
+    }
+
+    public LocalDate getExcerciseStartDate() {
+        return excerciseStartDate;
+    }
+
+    public void setExcerciseStartDate(LocalDate excerciseStartDate) {
+        this.excerciseStartDate = excerciseStartDate;
+    }
+
+    public String getPayCcy() {
+        return payCcy;
+    }
+
+    public void setPayCcy(String payCcy) {
+        this.payCcy = payCcy;
+    }
+
+    public Double getPremium() {
+        return premium;
+    }
+
+    public void setPremium(Double premium) {
+        this.premium = premium;
+    }
+
+    public String getPremiumCcy() {
+        return premiumCcy;
+    }
+
+    public void setPremiumCcy(String premiumCcy) {
+        this.premiumCcy = premiumCcy;
+    }
+
+    public String getPremiumType() {
+        return premiumType;
+    }
+
+    public void setPremiumType(String premiumType) {
+        this.premiumType = premiumType;
+    }
+
+    public LocalDate getPremiumDate() {
+        return premiumDate;
+    }
+
+    public void setPremiumDate(LocalDate premiumDate) {
+        this.premiumDate = premiumDate;
+    }
+
+    public LocalDate getValueDate() {
+        return valueDate;
+    }
+
+    public void setValueDate(LocalDate valueDate) {
+        this.valueDate = valueDate;
+    }
+
+    public String getLegalEntity() {
+        return legalEntity;
+    }
+
+    public void setLegalEntity(String legalEntity) {
+        this.legalEntity = legalEntity;
+    }
+
+    public String getTrader() {
+        return trader;
+    }
+
+    public void setTrader(String trader) {
+        this.trader = trader;
+    }
+}
@@ -0,0 +1,78 @@
+package com.creditsuisse.validator.reference;
+
+import com.creditsuisse.validator.util.CurrencyCodes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable set of ISO 4217 currencies. Currencies are encoded by CurrencyCodes to bits of bitset,
+ *      so check of currency is one array lookup, and currencies of ccyPair are checked directly from its chars.
+ */
+public class CurrencySet {
+
+    private final long[] bits = new long[(CurrencyCodes.SIZE + 63) >>> 6];
+    private final int size;
+
+    /**
+     * @param currencies currency codes, e.g. ["EUR", "USD"]
+     */
+    public CurrencySet(Collection<String> currencies) {
+        int count = 0;
+        for(String currency : currencies) {
+            int code = CurrencyCodes.encode(currency);
+            if(code == CurrencyCodes.NOT_VALID) {
+                throw new IllegalArgumentException("Currency should be 3 upper case letters, but was: " + currency);
+            }
+            if(!contains(code)) {
+                bits[code >>> 6] |= 1L << code;
+                count++;
+            }
+        }
+        this.size = count;
+    }
+
+    /**
+     * @param currency currency code, e.g. "USD"
+     * @return true, if currency is in set
+     */
+    public boolean contains(CharSequence currency) {
+        return contains(CurrencyCodes.encode(currency));
+    }
+
+    /**
+     * @param ccyPair currency pair, e.g. "EURUSD"
+     * @return true, if currency pair consists of two currencies of set
+     */
+    public boolean containsPair(CharSequence ccyPair) {
+        return null != ccyPair && ccyPair.length() == 6
+                && contains(CurrencyCodes.encode(ccyPair, 0))
+                && contains(CurrencyCodes.encode(ccyPair, 3));
+    }
+
+    /**
+     * @param code currency encoded by CurrencyCodes
+     * @return true, if currency is in set
+     */
+    public boolean contains(int code) {
+        return code != CurrencyCodes.NOT_VALID && (bits[code >>> 6] & (1L << code)) != 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return currency codes of set in alphabetical order
+     */
+    public List<String> toList() {
+        List<String> currencies = new ArrayList<>(size);
+        for(int code = 0; code < CurrencyCodes.SIZE; code++) {
+            if(contains(code)) {
+                currencies.add(CurrencyCodes.decode(code));
+            }
+        }
+        return currencies;
+    }
+}
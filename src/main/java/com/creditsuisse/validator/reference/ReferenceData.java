@@ -0,0 +1,104 @@
+package com.creditsuisse.validator.reference;
+
+import com.creditsuisse.validator.calendar.HolidayCalendars;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of reference data of validation, which is shared by all rules:
+ *      valid currencies as CurrencySet, supported customers and legal entities as hashed sets, and holiday calendars.
+ * Snapshot is taken once per batch (see ReferenceDataProvider), so all trades of batch are validated with the same data.
+ */
+public class ReferenceData {
+
+    private final long version;
+    private final String source;
+    private final Instant loadedAt = Instant.now();
+    private final CurrencySet currencies;
+    private final Set<String> customers;
+    private final Set<String> legalEntities;
+    private final HolidayCalendars holidayCalendars;
+
+    /**
+     * @param version version of snapshot, increased with every reload
+     * @param source location, from which snapshot is loaded
+     * @param currencies valid currencies
+     * @param customers supported customers
+     * @param legalEntities valid legal entities
+     * @param holidayCalendars holiday calendars by currency
+     */
+    public ReferenceData(long version, String source, Collection<String> currencies, Collection<String> customers,
+                         Collection<String> legalEntities, HolidayCalendars holidayCalendars) {
+        this.version = version;
+        this.source = source;
+        this.currencies = new CurrencySet(currencies);
+        this.customers = Collections.unmodifiableSet(new HashSet<>(customers));
+        this.legalEntities = Collections.unmodifiableSet(new HashSet<>(legalEntities));
+        this.holidayCalendars = holidayCalendars;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public CurrencySet getCurrencies() {
+        return currencies;
+    }
+
+    public Set<String> getCustomers() {
+        return customers;
+    }
+
+    public Set<String> getLegalEntities() {
+        return legalEntities;
+    }
+
+    public HolidayCalendars getHolidayCalendars() {
+        return holidayCalendars;
+    }
+
+    public boolean isValidCurrency(String currency) {
+        return currencies.contains(currency);
+    }
+
+    public boolean isValidCcyPair(String ccyPair) {
+        return currencies.containsPair(ccyPair);
+    }
+
+    public boolean isSupportedCustomer(String customer) {
+        return customers.contains(customer);
+    }
+
+    public boolean isValidLegalEntity(String legalEntity) {
+        return legalEntities.contains(legalEntity);
+    }
+
+    /**
+     * @return description of snapshot for actuator endpoint
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("version", version);
+        map.put("source", source);
+        map.put("loadedAt", loadedAt.toString());
+        map.put("currencies", currencies.size());
+        map.put("customers", customers.size());
+        map.put("legalEntities", legalEntities.size());
+        map.put("holidayCalendars", holidayCalendars.getCurrencies());
+        return map;
+    }
+}
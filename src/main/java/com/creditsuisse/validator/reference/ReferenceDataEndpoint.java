@@ -0,0 +1,26 @@
+package com.creditsuisse.validator.reference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint "/referenceData" with version and content summary of active reference data snapshot
+ */
+@Component
+public class ReferenceDataEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+    @Autowired
+    private ReferenceDataProvider referenceDataProvider;
+
+    public ReferenceDataEndpoint() {
+        super("referenceData", false);
+    }
+
+    @Override
+    public Map<String, Object> invoke() {
+        return referenceDataProvider.get().toMap();
+    }
+}
@@ -0,0 +1,145 @@
+package com.creditsuisse.validator.reference;
+
+import com.creditsuisse.validator.calendar.HolidayCalendars;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loader of reference data from properties with the same keys as in application.properties:
+ *      valid.currencies, valid.customers, valid.legalEntities, holidays.calendars, holidays.default, holidays.<currency>,
+ *      holidays.spotNextDay
+ * Location is one properties file, or directory with *.properties files, which are merged in order of their names.
+ * Keys, which are not in location, are taken from base snapshot (application.properties). Holiday keys are resolved
+ *      one by one too, e.g. location with only "holidays.EUR" replaces EUR calendar and keeps other calendars.
+ */
+public final class ReferenceDataLoader {
+
+    private ReferenceDataLoader() {
+    }
+
+    /**
+     * Load and validate reference data. Snapshot is created only if all data are valid.
+     * @param version version of new snapshot
+     * @param location properties file or directory with properties files
+     * @param base snapshot, which provides keys missing in location
+     * @return new snapshot
+     * @throws IOException if location can't be read
+     * @throws IllegalArgumentException if data are not valid
+     */
+    public static ReferenceData load(long version, Path location, ReferenceData base) throws IOException {
+        Properties properties = read(location);
+
+        List<String> currencies = list(properties, "valid.currencies");
+        List<String> customers = list(properties, "valid.customers");
+        List<String> legalEntities = list(properties, "valid.legalEntities");
+        HolidayCalendars holidayCalendars = properties.stringPropertyNames().stream().anyMatch(key -> key.startsWith("holidays."))
+                ? calendars(key -> properties.getProperty(key, property(base.getHolidayCalendars(), key)))
+                : base.getHolidayCalendars();
+
+        return new ReferenceData(version, location.toString(),
+                null != currencies ? currencies : base.getCurrencies().toList(),
+                null != customers ? customers : base.getCustomers(),
+                null != legalEntities ? legalEntities : base.getLegalEntities(),
+                holidayCalendars);
+    }
+
+    /**
+     * Parse holiday calendars. Calendars are listed in "holidays.calendars",
+     *      and public holidays of every calendar are in "holidays.<currency>".
+     *      Optional "holidays.spotNextDay" lists currency pairs, which settle spot T+1
+     * @param properties function, which returns value of property or null
+     * @return calendars
+     */
+    public static HolidayCalendars calendars(Function<String, String> properties) {
+        Map<String, List<LocalDate>> holidays = new HashMap<>();
+        for(String currency : split(required(properties, "holidays.calendars"))) {
+            holidays.put(currency, split(required(properties, "holidays." + currency)).stream()
+                    .map(LocalDate::parse)
+                    .collect(Collectors.toList()));
+        }
+
+        String spotNextDay = properties.apply("holidays.spotNextDay");
+        return new HolidayCalendars(holidays, required(properties, "holidays.default").trim(),
+                null != spotNextDay ? split(spotNextDay) : Collections.emptyList());
+    }
+
+    /**
+     * Holiday property, from which calendars were created, so missing key of location falls back to base snapshot
+     * @param calendars calendars of base snapshot
+     * @param key key of holiday property, e.g. "holidays.USD"
+     * @return value of property, or null if calendars don't have it
+     */
+    static String property(HolidayCalendars calendars, String key) {
+        switch(key) {
+            case "holidays.calendars":
+                return String.join(",", calendars.getCurrencies());
+            case "holidays.default":
+                return calendars.getDefaultCurrency();
+            case "holidays.spotNextDay":
+                return String.join(",", calendars.getSettlementCalendar().getNextDayPairs());
+            default:
+                List<LocalDate> holidays = calendars.getHolidays(key.substring("holidays.".length()));
+                return null != holidays
+                        ? holidays.stream().map(LocalDate::toString).collect(Collectors.joining(","))
+                        : null;
+        }
+    }
+
+    private static Properties read(Path location) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if(Files.isDirectory(location)) {
+            try (Stream<Path> paths = Files.list(location)) {
+                paths.filter(ReferenceDataLoader::isPropertiesFile).sorted().forEach(files::add);
+            }
+        } else {
+            files.add(location);
+        }
+
+        Properties properties = new Properties();
+        for(Path file : files) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        }
+        return properties;
+    }
+
+    static boolean isPropertiesFile(Path path) {
+        return path.getFileName().toString().endsWith(".properties");
+    }
+
+    private static List<String> list(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        return null != value ? split(value) : null;
+    }
+
+    private static String required(Function<String, String> properties, String key) {
+        String value = properties.apply(key);
+        if(null == value) {
+            throw new IllegalArgumentException("Reference data property is missing: " + key);
+        }
+        return value;
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
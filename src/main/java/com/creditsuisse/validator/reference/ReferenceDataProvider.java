@@ -0,0 +1,170 @@
+package com.creditsuisse.validator.reference;
+
+import com.creditsuisse.validator.calendar.HolidayCalendars;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Provider of current reference data snapshot.
+ * First snapshot is created from application.properties. If "reference.data.location" is set, then reference data
+ *      are loaded from this file or directory, which is watched for changes. Changed data are parsed and validated
+ *      in watcher thread, and only valid data are published as new snapshot. Not valid data are logged and ignored.
+ * Snapshot is published by atomic reference, so readers never lock, and validation, which is in progress,
+ *      keeps snapshot, which it has taken at start. Components, which derive state from reference data
+ *      (e.g. caches), are notified by listeners after new snapshot is published.
+ */
+@Component
+public class ReferenceDataProvider {
+
+    private static final Logger LOGGER = LogManager.getLogger(ReferenceDataProvider.class);
+
+    @Value("#{'${valid.currencies}'.split(',')}")
+    private List<String> validCurrencies;
+
+    @Value("#{'${valid.customers}'.split(',')}")
+    private List<String> validCustomers;
+
+    @Value("#{'${valid.legalEntities}'.split(',')}")
+    private List<String> legalEntites;
+
+    @Value("${reference.data.location:}")
+    private String location;
+
+    @Value("${reference.data.watch:true}")
+    private boolean watch;
+
+    @Value("${reference.data.watch.delay:200}")
+    private long watchDelay;
+
+    @Autowired
+    private HolidayCalendars holidayCalendars;
+
+    private final AtomicReference<ReferenceData> current = new AtomicReference<>();
+    private final List<Consumer<ReferenceData>> listeners = new CopyOnWriteArrayList<>();
+    private ReferenceData base;
+    private WatchService watchService;
+
+    @PostConstruct
+    public void init() throws IOException {
+        base = new ReferenceData(1, "application.properties", validCurrencies, validCustomers, legalEntites, holidayCalendars);
+        current.set(base);
+
+        if(!location.isEmpty()) {
+            Path path = Paths.get(location);
+            current.set(ReferenceDataLoader.load(base.getVersion() + 1, path, base));
+            if(watch) {
+                watch(path);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void destroy() throws IOException {
+        if(null != watchService) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * @return current snapshot of reference data
+     */
+    public ReferenceData get() {
+        return current.get();
+    }
+
+    /**
+     * @param listener listener, which is called with new snapshot after it's published by reload
+     */
+    public void addListener(Consumer<ReferenceData> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Load reference data from "reference.data.location" and publish them as new snapshot
+     * @return true, if new snapshot is published, false if location is not set or data are not valid
+     */
+    public synchronized boolean reload() {
+        if(location.isEmpty()) {
+            return false;
+        }
+
+        ReferenceData referenceData;
+        try {
+            referenceData = ReferenceDataLoader.load(current.get().getVersion() + 1, Paths.get(location), base);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Reference data from " + location + " are not valid, version "
+                    + current.get().getVersion() + " is still used", e);
+            return false;
+        }
+
+        current.set(referenceData);
+        LOGGER.info("Reference data version " + referenceData.getVersion() + " is loaded from " + location);
+        listeners.forEach(listener -> listener.accept(referenceData));
+        return true;
+    }
+
+    private void watch(Path path) throws IOException {
+        Path directory = Files.isDirectory(path) ? path : path.toAbsolutePath().getParent();
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+
+        Thread watcher = new Thread(() -> {
+            try {
+                while(true) {
+                    if(isChanged(path, watchService.take())) {
+                        // file is usually written by several events, so wait for the last one
+                        Thread.sleep(watchDelay);
+                        for(WatchKey key = watchService.poll(); null != key; key = watchService.poll()) {
+                            key.pollEvents();
+                            key.reset();
+                        }
+                        reload();
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                LOGGER.debug("Watching of reference data is stopped");
+            }
+        }, "reference-data-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static boolean isChanged(Path path, WatchKey key) {
+        boolean changed = false;
+        for(WatchEvent<?> event : key.pollEvents()) {
+            if(event.kind() == OVERFLOW) {
+                changed = true;
+            } else {
+                Path file = (Path) event.context();
+                changed |= Files.isDirectory(path)
+                        ? ReferenceDataLoader.isPropertiesFile(file)
+                        : file.equals(path.getFileName());
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
@@ -0,0 +1,107 @@
+package com.creditsuisse.validator.resource;
+
+import com.creditsuisse.validator.job.JobStatus;
+import com.creditsuisse.validator.job.ValidationJob;
+import com.creditsuisse.validator.job.ValidationJobService;
+import com.creditsuisse.validator.responses.JobResultsResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static com.creditsuisse.validator.resource.ValidationResource.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.MULTIPART_FORM_DATA_VALUE;
+
+/**
+ * Resource of asynchronous validation jobs, for batches, which are too big for synchronous validation.
+ * User submits trades (JSON array or NDJSON, in body or as uploaded file), and receives ID of job immediately.
+ * Then he polls status of job, and reads error reports by pages.
+ */
+@RestController
+@RequestMapping("/jobs")
+public class JobResource {
+
+    @Value("${validation.jobs.maxPageSize:1000}")
+    private int maxPageSize;
+
+    @Autowired
+    private ValidationJobService validationJobService;
+
+    /**
+     * Submit trades in request body
+     * @param request request with JSON array or NDJSON of trades
+     * @return submitted job, with its URL in header "Location"
+     */
+    @RequestMapping(method = RequestMethod.POST, consumes = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ValidationJob> submit(HttpServletRequest request) throws IOException {
+        return accepted(request.getInputStream());
+    }
+
+    /**
+     * Submit trades in uploaded file
+     * @param file file with JSON array or NDJSON of trades
+     * @return submitted job, with its URL in header "Location"
+     */
+    @RequestMapping(method = RequestMethod.POST, consumes = MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ValidationJob> submitFile(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return accepted(input);
+        }
+    }
+
+    /**
+     * @param id ID of job
+     * @return status and progress of job
+     */
+    @RequestMapping(value = "/{id}", method = RequestMethod.GET)
+    public ValidationJob get(@PathVariable String id) {
+        return validationJobService.get(id);
+    }
+
+    /**
+     * @param id ID of job
+     * @param offset number of first error report
+     * @param limit max number of error reports, at most "validation.jobs.maxPageSize"
+     * @return page of error reports, which are available now
+     */
+    @RequestMapping(value = "/{id}/results", method = RequestMethod.GET)
+    public JobResultsResponse getResults(@PathVariable String id,
+                                         @RequestParam(defaultValue = "0") long offset,
+                                         @RequestParam(defaultValue = "100") int limit) throws IOException {
+        ValidationJob job = validationJobService.get(id);
+        JobStatus status = job.getStatus();
+        List<JsonNode> results = validationJobService.getResults(id, offset, Math.min(limit, maxPageSize));
+        return new JobResultsResponse(id, status, offset, job.getErrors(), results);
+    }
+
+    /**
+     * Cancel job, if it's running, and remove it with its results
+     * @param id ID of job
+     */
+    @RequestMapping(value = "/{id}", method = RequestMethod.DELETE)
+    public ResponseEntity<Void> remove(@PathVariable String id) {
+        validationJobService.get(id);
+        validationJobService.remove(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<ValidationJob> accepted(InputStream input) throws IOException {
+        ValidationJob job = validationJobService.submit(input);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(job.getId()).toUri())
+                .body(job);
+    }
+}
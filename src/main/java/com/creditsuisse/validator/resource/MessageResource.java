@@ -0,0 +1,38 @@
+package com.creditsuisse.validator.resource;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Resource with catalogue of validation messages, so clients of compact response can find text of message by its code.
+ */
+@RestController
+public class MessageResource {
+
+    private static final Map<String, String> MESSAGES;
+
+    static {
+        Map<String, String> messages = new LinkedHashMap<>();
+        for(MessageTextEnum message : MessageTextEnum.values()) {
+            messages.put(message.getCode(), message.getText());
+        }
+        MESSAGES = Collections.unmodifiableMap(messages);
+    }
+
+    /**
+     * Catalogue of validation messages
+     * @return texts of messages by codes
+     */
+    @RequestMapping(value = "/messages", method = RequestMethod.GET, produces = APPLICATION_JSON_VALUE)
+    public Map<String, String> messages() {
+        return MESSAGES;
+    }
+}
@@ -0,0 +1,68 @@
+package com.creditsuisse.validator.resource;
+
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.responses.ValidationResponse;
+import com.creditsuisse.validator.service.IncrementalValidationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Resource of incremental validation. User registers trades with their tradeId,
+ *      and then sends only changed fields of amended trade, which is validated only by rules, which read these fields.
+ */
+@RestController
+@RequestMapping("/trades")
+public class TradeResource {
+
+    @Autowired
+    private IncrementalValidationService incrementalValidationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Validate trades and keep their state for amendments
+     * @param trades trades with tradeId, which user want to be validated
+     * @return response, with details of validation
+     */
+    @RequestMapping(method = RequestMethod.PUT, produces = APPLICATION_JSON_VALUE)
+    public ValidationResponse register(@RequestBody List<Trade> trades) {
+        return incrementalValidationService.register(trades);
+    }
+
+    /**
+     * Validate amendment of trade
+     * @param tradeId ID of trade
+     * @param amendment JSON object with changed fields of trade only, e.g. {"premiumDate": "2016-08-12"}
+     * @return response, with details of validation of amended trade
+     */
+    @RequestMapping(value = "/{tradeId}", method = RequestMethod.PATCH, produces = APPLICATION_JSON_VALUE)
+    public ValidationResponse amend(@PathVariable String tradeId, @RequestBody ObjectNode amendment) throws IOException {
+        List<String> properties = new ArrayList<>();
+        amendment.fieldNames().forEachRemaining(properties::add);
+        return incrementalValidationService.amend(tradeId, objectMapper.treeToValue(amendment, Trade.class), properties);
+    }
+
+    /**
+     * Forget state of trade
+     * @param tradeId ID of trade
+     */
+    @RequestMapping(value = "/{tradeId}", method = RequestMethod.DELETE)
+    public ResponseEntity<Void> remove(@PathVariable String tradeId) {
+        incrementalValidationService.remove(tradeId);
+        return ResponseEntity.noContent().build();
+    }
+}
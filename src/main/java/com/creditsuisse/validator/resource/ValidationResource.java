@@ -1,35 +1,325 @@
-package com.creditsuisse.validator.resource;
-
-import com.creditsuisse.validator.model.Trade;
-import com.creditsuisse.validator.responses.ValidationResponse;
-import com.creditsuisse.validator.service.ValidationService;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestMethod;
-import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
-
-import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
-
-/**
- * Resource, where user can validate his data. User will send List<Trade> which he want, that it will be validated.
- * As Output he receives trade
- */
-@RestController
-public class ValidationResource {
-
-    @Autowired
-    private ValidationService validationService;
-
-    /**
-     * Validate Trade data
-     * @param trades data, which user want to be validated
-     * @return response, with details of validation
-     */
-    @RequestMapping(value = "/", method = RequestMethod.POST, produces = APPLICATION_JSON_VALUE)
-    public ValidationResponse validate(@RequestBody List<Trade> trades) {
-        return validationService.validate(trades);
-    }
-}
+package com.creditsuisse.validator.resource;
+
+import com.creditsuisse.validator.io.BinaryTradeFormat;
+import com.creditsuisse.validator.io.BinaryTradeReader;
+import com.creditsuisse.validator.io.TradeStreamReader;
+import com.creditsuisse.validator.model.ErrorReport;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.responses.CompactValidationResponse;
+import com.creditsuisse.validator.responses.ValidationResponse;
+import com.creditsuisse.validator.service.UnsupportedOptionException;
+import com.creditsuisse.validator.service.ValidationListener;
+import com.creditsuisse.validator.service.ValidationOptions;
+import com.creditsuisse.validator.service.ValidationService;
+import com.creditsuisse.validator.util.StringCanonicalizer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Resource, where user can validate his data. User will send List<Trade> which he want, that it will be validated.
+ * As Output he receives trade
+ */
+@RestController
+public class ValidationResource {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String APPLICATION_COMPACT_JSON_VALUE = "application/vnd.validator.compact+json";
+    public static final String TIMEOUT_HEADER = "X-Validation-Timeout";
+
+    private static final Logger LOGGER = LogManager.getLogger(ValidationResource.class);
+
+    @Autowired
+    private ValidationService validationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private StringCanonicalizer tradeCanonicalizer = new StringCanonicalizer(Collections.emptyList());
+
+    /**
+     * Options of validation are bound from request parameters. Timeout (ms) can be passed also in header
+     *      "X-Validation-Timeout", e.g. by gateway with fixed latency budget. Parameter "timeout" has priority.
+     * @param timeout timeout of header
+     * @return options, which are bound by parameters
+     */
+    @ModelAttribute
+    public ValidationOptions validationOptions(@RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeout) {
+        ValidationOptions options = new ValidationOptions();
+        if(null != timeout) {
+            options.setTimeout(timeout);
+        }
+        return options;
+    }
+
+    /**
+     * Validate Trade data
+     * Validation can be finished early with request parameters (see ValidationOptions):
+     *      "failFast=true" - only first message for every trade
+     *      "maxErrors=N" - stop after N not valid trades
+     *      "validOnly=true" - only answer, if all trades are valid, without details
+     * With "timeout=N" (ms) response contains reports computed until timeout and indexes of not validated trades.
+     * @param trades data, which user want to be validated
+     * @param options options of validation
+     * @return response, with details of validation
+     */
+    @RequestMapping(value = "/", method = RequestMethod.POST, params = "stream!=true", produces = APPLICATION_JSON_VALUE)
+    public ValidationResponse validate(@RequestBody List<Trade> trades, ValidationOptions options) {
+        return validationService.validate(trades, options);
+    }
+
+    /**
+     * Validate Trade data in compact binary format (see BinaryTradeFormat), selected by
+     *      "Content-Type: application/vnd.validator.trades". Response is the same as for JSON.
+     * Body is copied into one byte array, from which trades are decoded to objects without text parsing.
+     * @param request request with binary stream of trades, which user want to be validated
+     * @param options options of validation
+     * @return response, with details of validation
+     */
+    @RequestMapping(value = "/", method = RequestMethod.POST, params = "stream!=true",
+            consumes = BinaryTradeFormat.CONTENT_TYPE, produces = APPLICATION_JSON_VALUE)
+    public ValidationResponse validateBinary(HttpServletRequest request, ValidationOptions options) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(StreamUtils.copyToByteArray(request.getInputStream()));
+        BinaryTradeReader reader = new BinaryTradeReader(buffer, tradeCanonicalizer);
+        List<Trade> trades = new ArrayList<>();
+        reader.forEachRemaining(trades::add);
+        return validationService.validate(trades, options);
+    }
+
+    /**
+     * Validate Trade data with streamed response, which is selected by parameter "stream=true".
+     * Response has the same format as full response, but error reports are written and flushed, as soon as their chunk
+     *      is validated, and summary ("valid", "truncated", "timedOut", "notValidated") is written at the end.
+     *      Trades are read from request incrementally (see validateStream).
+     * If validation fails (e.g. trade is malformed), before anything is flushed, error is responded with its status.
+     *      Later the status is already sent, so response is finished with "valid":false and "error" message.
+     * Note: duplicates are not detected in this mode, so "duplicates=true" is rejected.
+     *      Streamed response has only full JSON format and JSON request, so "stream=true" wins over other handlers
+     *      of "/" and its combination with compact format ("format" or Accept) or binary request is rejected.
+     * @param request request with JSON array of trades, which user want to be validated
+     * @param response response, where error reports are written
+     * @param options options of validation
+     */
+    @RequestMapping(value = "/", method = RequestMethod.POST, params = "stream=true")
+    public void validateStreamedResponse(HttpServletRequest request, HttpServletResponse response, ValidationOptions options)
+            throws IOException {
+        requireStreamable(options);
+        requireFullJson(request);
+        response.setContentType(APPLICATION_JSON_VALUE);
+        ObjectWriter reportWriter = objectMapper.writerFor(ErrorReport.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (TradeStreamReader trades = new TradeStreamReader(objectMapper, request.getInputStream())) {
+            // generator isn't closed on error, which is responded by status, so nothing is written to response
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+            ValidationResponse summary;
+            try {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("validationDetails");
+                summary = validationService.validate(trades, new GeneratorListener(generator) {
+                    @Override
+                    public void accept(ErrorReport report) {
+                        if(options.isValidOnly()) {
+                            return;
+                        }
+                        try {
+                            reportWriter.writeValue(generator, report);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                }, options);
+            } catch (RuntimeException e) {
+                if(!response.isCommitted()) {
+                    throw e;
+                }
+                LOGGER.warn("Streamed validation failed after response is started", e);
+                generator.writeEndArray();
+                generator.writeBooleanField("valid", false);
+                generator.writeStringField("error", e.getMessage());
+                generator.writeEndObject();
+                generator.close();
+                return;
+            }
+
+            generator.writeEndArray();
+            writeSummary(generator, summary);
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+
+    /**
+     * Validate Trade data with compact response. It's selected by "Accept: application/vnd.validator.compact+json"
+     *      or by parameter "format=compact". Response contains indexes of not valid trades and codes of messages,
+     *      which are described in "/messages".
+     * @param trades data, which user want to be validated
+     * @param options options of validation
+     * @return compact response, with details of validation
+     */
+    @RequestMapping(value = "/", method = RequestMethod.POST, params = "stream!=true", produces = APPLICATION_COMPACT_JSON_VALUE)
+    public CompactValidationResponse validateCompact(@RequestBody List<Trade> trades, ValidationOptions options) {
+        return validationService.validateCompact(trades, options);
+    }
+
+    @RequestMapping(value = "/", method = RequestMethod.POST, params = {"format=compact", "stream!=true"},
+            produces = APPLICATION_JSON_VALUE)
+    public CompactValidationResponse validateCompactByParameter(@RequestBody List<Trade> trades, ValidationOptions options) {
+        return validateCompact(trades, options);
+    }
+
+    /**
+     * Validate Trade data in streaming mode, for very big batches.
+     * Input is NDJSON or top-level JSON array of trades, which is read incrementally.
+     * Output is NDJSON of error reports, which are flushed to client, as soon as their chunk is validated.
+     * Empty output means all trades are valid. If validation is truncated (see maxErrors) or timed out (see timeout),
+     *      output ends with summary record {"valid":false, "truncated":true, "timedOut":true, "notValidated":[...]},
+     *      so client can distinguish it from complete output. Duplicates are not detected, so "duplicates=true" is rejected.
+     * If validation fails (e.g. trade is malformed), before anything is flushed, error is responded with its status.
+     *      Later the status is already sent, so output ends with record {"valid":false, "error":"..."}.
+     * @param request request with trades, which user want to be validated
+     * @param response response, where error reports are written
+     * @param options options of validation
+     */
+    @RequestMapping(value = "/stream", method = RequestMethod.POST,
+            consumes = {APPLICATION_NDJSON_VALUE, APPLICATION_JSON_VALUE}, produces = APPLICATION_NDJSON_VALUE)
+    public void validateStream(HttpServletRequest request, HttpServletResponse response, ValidationOptions options) throws IOException {
+        requireStreamable(options);
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        ObjectWriter reportWriter = objectMapper.writerFor(ErrorReport.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (TradeStreamReader trades = new TradeStreamReader(objectMapper, request.getInputStream())) {
+            // generator isn't closed on error, which is responded by status, so nothing is written to response
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+            generator.setRootValueSeparator(null);
+            ValidationResponse summary;
+            try {
+                summary = validationService.validate(trades, new GeneratorListener(generator) {
+                    @Override
+                    public void accept(ErrorReport report) {
+                        try {
+                            reportWriter.writeValue(generator, report);
+                            generator.writeRaw('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                }, options);
+            } catch (RuntimeException e) {
+                if(!response.isCommitted()) {
+                    throw e;
+                }
+                LOGGER.warn("Streamed validation failed after response is started", e);
+                generator.writeStartObject();
+                generator.writeBooleanField("valid", false);
+                generator.writeStringField("error", e.getMessage());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                generator.close();
+                return;
+            }
+
+            if(summary.isTruncated() || summary.isTimedOut()) {
+                generator.writeStartObject();
+                writeSummary(generator, summary);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+            generator.close();
+        }
+    }
+
+    /**
+     * Write fields of streamed validation summary, which are not default
+     */
+    private static void writeSummary(JsonGenerator generator, ValidationResponse summary) throws IOException {
+        generator.writeBooleanField("valid", summary.isValid());
+        if(summary.isTruncated()) {
+            generator.writeBooleanField("truncated", true);
+        }
+        if(summary.isTimedOut()) {
+            generator.writeBooleanField("timedOut", true);
+        }
+        if(!summary.getNotValidated().isEmpty()) {
+            generator.writeArrayFieldStart("notValidated");
+            for(Long index : summary.getNotValidated()) {
+                generator.writeNumber(index);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Options are checked before response is started, because error can't be responded after it.
+     */
+    private static void requireStreamable(ValidationOptions options) {
+        if(options.isDuplicates()) {
+            throw new UnsupportedOptionException("Duplicates are not detected in streaming validation");
+        }
+    }
+
+    /**
+     * Streamed response is written as full JSON from JSON request, so other formats are rejected instead of ignored
+     */
+    private static void requireFullJson(HttpServletRequest request) {
+        if(null != request.getParameter("format")) {
+            throw new UnsupportedOptionException("Streamed response has only full format");
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if(null != accept && MediaType.parseMediaTypes(accept).stream()
+                .noneMatch(mediaType -> mediaType.isCompatibleWith(MediaType.APPLICATION_JSON))) {
+            throw new UnsupportedOptionException("Streamed response is written only as " + APPLICATION_JSON_VALUE);
+        }
+        String contentType = request.getContentType();
+        if(null != contentType && contentType.startsWith(BinaryTradeFormat.CONTENT_TYPE)) {
+            throw new UnsupportedOptionException("Streamed response is supported only for JSON request");
+        }
+    }
+
+    /**
+     * Listener, which writes reports to generator and flushes them to client after every chunk,
+     *      so time to first byte doesn't depend on size of batch.
+     */
+    private abstract static class GeneratorListener implements ValidationListener {
+        private final JsonGenerator generator;
+
+        private GeneratorListener(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void chunkValidated() {
+            try {
+                generator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.creditsuisse.validator.responses;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.ErrorReport;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact report of not valid trade: index of trade in batch, trade ID of client (if it was sent) and codes of messages.
+ * Texts of messages can be found by codes in catalogue "/messages".
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactErrorReport {
+    private long index;
+    private String tradeId;
+    private List<String> codes;
+
+    public CompactErrorReport(long index, String tradeId, List<String> codes) {
+        this.index = index;
+        this.tradeId = tradeId;
+        this.codes = codes;
+    }
+
+    public static CompactErrorReport of(ErrorReport report) {
+        List<MessageTextEnum> messages = report.getMessages();
+        List<String> codes = new ArrayList<>(messages.size());
+        for(MessageTextEnum message : messages) {
+            codes.add(message.getCode());
+        }
+        return new CompactErrorReport(report.getIndex(), report.getTrade().getTradeId(), codes);
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public String getTradeId() {
+        return tradeId;
+    }
+
+    public void setTradeId(String tradeId) {
+        this.tradeId = tradeId;
+    }
+
+    public List<String> getCodes() {
+        return codes;
+    }
+
+    public void setCodes(List<String> codes) {
+        this.codes = codes;
+    }
+}
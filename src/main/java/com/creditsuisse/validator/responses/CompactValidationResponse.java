@@ -0,0 +1,68 @@
+package com.creditsuisse.validator.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact response of Trades Validation Result. Input trades are not echoed, only their indexes and codes of messages.
+ */
+public class CompactValidationResponse {
+    private boolean valid;
+    private List<CompactErrorReport> errors;
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean truncated;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<Long> notValidated = new ArrayList<>();
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean timedOut;
+
+    public CompactValidationResponse(boolean valid, List<CompactErrorReport> errors) {
+        this.valid = valid;
+        this.errors = errors;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public void setValid(boolean valid) {
+        this.valid = valid;
+    }
+
+    public List<CompactErrorReport> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<CompactErrorReport> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    /**
+     * @return indexes of trades, which are not validated, because deadline of validation expired (see ValidationOptions)
+     */
+    public List<Long> getNotValidated() {
+        return notValidated;
+    }
+
+    public void setNotValidated(List<Long> notValidated) {
+        this.notValidated = notValidated;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public void setTimedOut(boolean timedOut) {
+        this.timedOut = timedOut;
+    }
+}
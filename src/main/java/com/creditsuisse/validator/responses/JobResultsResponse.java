@@ -0,0 +1,51 @@
+package com.creditsuisse.validator.responses;
+
+import com.creditsuisse.validator.job.JobStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * Page of error reports of validation job
+ */
+public class JobResultsResponse {
+    private String jobId;
+    private JobStatus status;
+    private long offset;
+    private long total;
+    private List<JsonNode> results;
+
+    public JobResultsResponse(String jobId, JobStatus status, long offset, long total, List<JsonNode> results) {
+        this.jobId = jobId;
+        this.status = status;
+        this.offset = offset;
+        this.total = total;
+        this.results = results;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    /**
+     * @return status of job. If job is not completed, then more results can be available later
+     */
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return number of error reports, which are available now
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public List<JsonNode> getResults() {
+        return results;
+    }
+}
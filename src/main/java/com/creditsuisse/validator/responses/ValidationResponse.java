@@ -1,39 +1,80 @@
-package com.creditsuisse.validator.responses;
-
-import com.creditsuisse.validator.model.ErrorReport;
-
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * Response of Trades Validation Result
- */
-public class ValidationResponse {
-    private boolean valid;
-    private List<ErrorReport> validationDetails = new ArrayList<>();
-
-    public ValidationResponse(boolean valid) {
-        this.valid = valid;
-    }
-
-    public ValidationResponse(boolean valid, List<ErrorReport> validationDetails) {
-        this.valid = valid;
-        this.validationDetails = validationDetails;
-    }
-
-    public boolean isValid() {
-        return valid;
-    }
-
-    public void setValid(boolean valid) {
-        this.valid = valid;
-    }
-
-    public List<ErrorReport> getValidationDetails() {
-        return validationDetails;
-    }
-
-    public void setValidationDetails(List<ErrorReport> validationDetails) {
-        this.validationDetails = validationDetails;
-    }
-}
+package com.creditsuisse.validator.responses;
+
+import com.creditsuisse.validator.model.ErrorReport;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response of Trades Validation Result
+ */
+public class ValidationResponse {
+    private boolean valid;
+    private List<ErrorReport> validationDetails = new ArrayList<>();
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean truncated;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<Long> notValidated = new ArrayList<>();
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean timedOut;
+
+    public ValidationResponse(boolean valid) {
+        this.valid = valid;
+    }
+
+    public ValidationResponse(boolean valid, List<ErrorReport> validationDetails) {
+        this.valid = valid;
+        this.validationDetails = validationDetails;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public void setValid(boolean valid) {
+        this.valid = valid;
+    }
+
+    public List<ErrorReport> getValidationDetails() {
+        return validationDetails;
+    }
+
+    public void setValidationDetails(List<ErrorReport> validationDetails) {
+        this.validationDetails = validationDetails;
+    }
+
+    /**
+     * @return true, if validation is stopped by "maxErrors" and not all trades are validated
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    /**
+     * @return indexes of trades, which are not validated, because deadline of validation expired (see ValidationOptions)
+     */
+    public List<Long> getNotValidated() {
+        return notValidated;
+    }
+
+    public void setNotValidated(List<Long> notValidated) {
+        this.notValidated = notValidated;
+    }
+
+    /**
+     * @return true, if deadline of validation expired before all trades are validated. Not validated trades are listed
+     *      in notValidated, except trades of stream, which are not read at all, so such response is never valid.
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public void setTimedOut(boolean timedOut) {
+        this.timedOut = timedOut;
+    }
+}
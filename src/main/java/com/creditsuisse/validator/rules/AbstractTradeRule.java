@@ -0,0 +1,39 @@
+package com.creditsuisse.validator.rules;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Base class of rules with fixed name, product types and fields
+ */
+public abstract class AbstractTradeRule implements TradeRule {
+
+    protected static final Set<ProductType> ALL_PRODUCT_TYPES = Collections.unmodifiableSet(EnumSet.allOf(ProductType.class));
+
+    private final String name;
+    private final Set<ProductType> productTypes;
+    private final Set<TradeField> fields;
+
+    protected AbstractTradeRule(String name, Set<ProductType> productTypes, TradeField... fields) {
+        this.name = name;
+        this.productTypes = Collections.unmodifiableSet(EnumSet.copyOf(productTypes));
+        this.fields = Collections.unmodifiableSet(EnumSet.copyOf(Arrays.asList(fields)));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Set<ProductType> getProductTypes() {
+        return productTypes;
+    }
+
+    @Override
+    public Set<TradeField> getFields() {
+        return fields;
+    }
+}
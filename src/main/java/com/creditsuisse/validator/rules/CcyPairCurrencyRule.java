@@ -0,0 +1,44 @@
+package com.creditsuisse.validator.rules;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.CurrencySet;
+import com.creditsuisse.validator.reference.ReferenceData;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.CCYPAIR_IS_NOT_VALID;
+
+/**
+ * Validate, that ccyPair consists of two valid currencies
+ */
+@Component
+@Order(40)
+public class CcyPairCurrencyRule extends AbstractTradeRule {
+
+    public CcyPairCurrencyRule() {
+        super("ccyPairCurrency", ALL_PRODUCT_TYPES, TradeField.CCY_PAIR);
+    }
+
+    @Override
+    public MessageTextEnum validate(Trade trade, ReferenceData referenceData) {
+        if(null != trade.getCcyPair() && !referenceData.isValidCcyPair(trade.getCcyPair())) {
+            return CCYPAIR_IS_NOT_VALID;
+        }
+
+        return null;
+    }
+
+    @Override
+    public void validate(TradeColumns trades, ReferenceData referenceData, long[] masks) {
+        int[] first = trades.getCcyPairFirst();
+        int[] second = trades.getCcyPairSecond();
+        CurrencySet currencies = referenceData.getCurrencies();
+        long mask = CCYPAIR_IS_NOT_VALID.mask();
+        for(int i = 0; i < trades.size(); i++) {
+            if(first[i] != TradeColumns.NULL_CODE && !(currencies.contains(first[i]) && currencies.contains(second[i]))) {
+                masks[i] |= mask;
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.creditsuisse.validator.rules;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.CUSTOMER_IS_NOT_SUPPORTED;
+
+/**
+ * Validate, that customer is supported
+ */
+@Component
+@Order(30)
+public class CustomerIsSupportedRule extends AbstractTradeRule {
+
+    public CustomerIsSupportedRule() {
+        super("customerIsSupported", ALL_PRODUCT_TYPES, TradeField.CUSTOMER);
+    }
+
+    @Override
+    public MessageTextEnum validate(Trade trade, ReferenceData referenceData) {
+        if(null != trade.getCustomer() && !referenceData.isSupportedCustomer(trade.getCustomer())) {
+            return CUSTOMER_IS_NOT_SUPPORTED;
+        }
+
+        return null;
+    }
+
+    @Override
+    public void validate(TradeColumns trades, ReferenceData referenceData, long[] masks) {
+        int[] codes = trades.getCustomers().getCodes();
+        boolean[] supported = trades.getCustomers().map(referenceData::isSupportedCustomer);
+        long mask = CUSTOMER_IS_NOT_SUPPORTED.mask();
+        for(int i = 0; i < trades.size(); i++) {
+            if(codes[i] != TradeColumns.NULL_CODE && !supported[codes[i]]) {
+                masks[i] |= mask;
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.creditsuisse.validator.rules;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.EXPIRY_DATE_IS_AFTER_DELIVERY_DATE;
+import static com.creditsuisse.validator.enums.MessageTextEnum.PREMIUM_DATE_IS_AFTER_DELIVERY_DATE;
+
+/**
+ * Validate, that expiry date and premium date are before delivery date, in case of type is "OPTION"
+ */
+@Component
+@Order(100)
+public class ExpiryPremiumDeliveryDateRule extends AbstractTradeRule {
+
+    public ExpiryPremiumDeliveryDateRule() {
+        super("expiryPremiumDeliveryDate", EnumSet.of(ProductType.OPTION),
+                TradeField.DELIVERY_DATE, TradeField.EXPIRY_DATE, TradeField.PREMIUM_DATE);
+    }
+
+    @Override
+    public MessageTextEnum validate(Trade trade, ReferenceData referenceData) {
+        if(null != trade.getDeliveryDate()) {
+            if(null != trade.getExpiryDate() && trade.getExpiryDate().isAfter(trade.getDeliveryDate())) {
+                return EXPIRY_DATE_IS_AFTER_DELIVERY_DATE;
+            }
+
+            if(null != trade.getPremiumDate() && trade.getPremiumDate().isAfter(trade.getDeliveryDate())) {
+                return PREMIUM_DATE_IS_AFTER_DELIVERY_DATE;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public void validate(TradeColumns trades, ReferenceData referenceData, long[] masks) {
+        byte[] productTypes = trades.getProductTypes();
+        int[] deliveryDates = trades.getDeliveryDates();
+        int[] expiryDates = trades.getExpiryDates();
+        int[] premiumDates = trades.getPremiumDates();
+        byte option = (byte) ProductType.OPTION.ordinal();
+        for(int i = 0; i < trades.size(); i++) {
+            if(productTypes[i] != option || deliveryDates[i] == TradeColumns.NULL_DATE) {
+                continue;
+            }
+            if(expiryDates[i] != TradeColumns.NULL_DATE && expiryDates[i] > deliveryDates[i]) {
+                masks[i] |= EXPIRY_DATE_IS_AFTER_DELIVERY_DATE.mask();
+            } else if(premiumDates[i] != TradeColumns.NULL_DATE && premiumDates[i] > deliveryDates[i]) {
+                masks[i] |= PREMIUM_DATE_IS_AFTER_DELIVERY_DATE.mask();
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.creditsuisse.validator.rules;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.LEGAL_ENTITY_IS_NOT_VALID;
+
+/**
+ * Validate, that legal entity is not empty and valid
+ */
+@Component
+@Order(70)
+public class LegalEntityRule extends AbstractTradeRule {
+
+    public LegalEntityRule() {
+        super("legalEntity", ALL_PRODUCT_TYPES, TradeField.LEGAL_ENTITY);
+    }
+
+    @Override
+    public MessageTextEnum validate(Trade trade, ReferenceData referenceData) {
+        if(null == trade.getLegalEntity() || !referenceData.isValidLegalEntity(trade.getLegalEntity())) {
+            return LEGAL_ENTITY_IS_NOT_VALID;
+        }
+
+        return null;
+    }
+
+    @Override
+    public void validate(TradeColumns trades, ReferenceData referenceData, long[] masks) {
+        int[] codes = trades.getLegalEntities().getCodes();
+        boolean[] valid = trades.getLegalEntities().map(referenceData::isValidLegalEntity);
+        long mask = LEGAL_ENTITY_IS_NOT_VALID.mask();
+        for(int i = 0; i < trades.size(); i++) {
+            if(codes[i] == TradeColumns.NULL_CODE || !valid[codes[i]]) {
+                masks[i] |= mask;
+            }
+        }
+    }
+}
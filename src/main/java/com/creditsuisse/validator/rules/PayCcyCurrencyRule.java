@@ -0,0 +1,43 @@
+package com.creditsuisse.validator.rules;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.CurrencySet;
+import com.creditsuisse.validator.reference.ReferenceData;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.PAYCCY_IS_NOT_VALID;
+
+/**
+ * Validate, that payCcy is valid currency
+ */
+@Component
+@Order(50)
+public class PayCcyCurrencyRule extends AbstractTradeRule {
+
+    public PayCcyCurrencyRule() {
+        super("payCcyCurrency", ALL_PRODUCT_TYPES, TradeField.PAY_CCY);
+    }
+
+    @Override
+    public MessageTextEnum validate(Trade trade, ReferenceData referenceData) {
+        if(null != trade.getPayCcy() && !referenceData.isValidCurrency(trade.getPayCcy())) {
+            return PAYCCY_IS_NOT_VALID;
+        }
+
+        return null;
+    }
+
+    @Override
+    public void validate(TradeColumns trades, ReferenceData referenceData, long[] masks) {
+        int[] payCcys = trades.getPayCcys();
+        CurrencySet currencies = referenceData.getCurrencies();
+        long mask = PAYCCY_IS_NOT_VALID.mask();
+        for(int i = 0; i < trades.size(); i++) {
+            if(payCcys[i] != TradeColumns.NULL_CODE && !currencies.contains(payCcys[i])) {
+                masks[i] |= mask;
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.creditsuisse.validator.rules;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.CurrencySet;
+import com.creditsuisse.validator.reference.ReferenceData;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.PREMIUMCCY_IS_NOT_VALID;
+
+/**
+ * Validate, that premiumCcy is valid currency
+ */
+@Component
+@Order(60)
+public class PremiumCcyCurrencyRule extends AbstractTradeRule {
+
+    public PremiumCcyCurrencyRule() {
+        super("premiumCcyCurrency", ALL_PRODUCT_TYPES, TradeField.PREMIUM_CCY);
+    }
+
+    @Override
+    public MessageTextEnum validate(Trade trade, ReferenceData referenceData) {
+        if(null != trade.getPremiumCcy() && !referenceData.isValidCurrency(trade.getPremiumCcy())) {
+            return PREMIUMCCY_IS_NOT_VALID;
+        }
+
+        return null;
+    }
+
+    @Override
+    public void validate(TradeColumns trades, ReferenceData referenceData, long[] masks) {
+        int[] premiumCcys = trades.getPremiumCcys();
+        CurrencySet currencies = referenceData.getCurrencies();
+        long mask = PREMIUMCCY_IS_NOT_VALID.mask();
+        for(int i = 0; i < trades.size(); i++) {
+            if(premiumCcys[i] != TradeColumns.NULL_CODE && !currencies.contains(premiumCcys[i])) {
+                masks[i] |= mask;
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.creditsuisse.validator.rules;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Product type of trade, which defines rules to be applied.
+ * Trade type is free text ("Spot", "VanillaOption"...), so it's resolved once per distinct value and cached.
+ */
+public enum ProductType {
+    SPOT,
+    FORWARD,
+    OPTION,
+    OTHER;
+
+    private static final int MAX_CACHED_TYPES = 1024;
+    private static final String OPTION_TYPE = "OPTION";
+    private static final ConcurrentMap<String, ProductType> TYPES = new ConcurrentHashMap<>();
+
+    /**
+     * @param type type of trade, e.g. "Spot" or "VanillaOption"
+     * @return product type. SPOT and FORWARD are case insensitive, and every type, which contains "OPTION" is OPTION.
+     */
+    public static ProductType of(String type) {
+        if(null == type) {
+            return OTHER;
+        }
+
+        ProductType productType = TYPES.get(type);
+        if(null == productType) {
+            productType = resolve(type);
+            if(TYPES.size() < MAX_CACHED_TYPES) {
+                TYPES.putIfAbsent(type, productType);
+            }
+        }
+        return productType;
+    }
+
+    private static ProductType resolve(String type) {
+        if(type.equalsIgnoreCase(SPOT.name())) {
+            return SPOT;
+        }
+        if(type.equalsIgnoreCase(FORWARD.name())) {
+            return FORWARD;
+        }
+        for(int i = 0; i + OPTION_TYPE.length() <= type.length(); i++) {
+            if(type.regionMatches(true, i, OPTION_TYPE, 0, OPTION_TYPE.length())) {
+                return OPTION;
+            }
+        }
+        return OTHER;
+    }
+}
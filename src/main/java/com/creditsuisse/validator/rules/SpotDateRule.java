@@ -0,0 +1,97 @@
+package com.creditsuisse.validator.rules;
+
+import com.creditsuisse.validator.calendar.HolidayCalendars;
+import com.creditsuisse.validator.calendar.SettlementCalendar;
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.CurrencySet;
+import com.creditsuisse.validator.reference.ReferenceData;
+import com.creditsuisse.validator.util.CurrencyCodes;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.VALUE_DATE_IS_BEFORE_SPOT_DATE;
+import static com.creditsuisse.validator.enums.MessageTextEnum.VALUE_DATE_IS_NOT_SPOT_DATE;
+
+/**
+ * Validate value date against spot date of currency pair (see SettlementCalendar):
+ *      "SPOT" should settle on spot date, "FORWARD" after spot date.
+ * Trades with empty dates, value date before trade date or on holiday, or not valid ccyPair (also with currency,
+ *      which isn't in reference data, e.g. "QQQUSD") are reported by other rules.
+ * Note: spot date is computed on calendars of reference data, also if remote holiday API is enabled.
+ */
+@Component
+@Order(85)
+public class SpotDateRule extends AbstractTradeRule {
+
+    private static final ProductType[] PRODUCT_TYPES = ProductType.values();
+
+    public SpotDateRule() {
+        super("spotDate", EnumSet.of(ProductType.SPOT, ProductType.FORWARD),
+                TradeField.VALUE_DATE, TradeField.TRADE_DATE, TradeField.CCY_PAIR);
+    }
+
+    @Override
+    public MessageTextEnum validate(Trade trade, ReferenceData referenceData) {
+        if(null == trade.getValueDate() || null == trade.getTradeDate() || trade.getValueDate().isBefore(trade.getTradeDate())) {
+            return null;
+        }
+        String ccyPair = trade.getCcyPair();
+        if(null == ccyPair || ccyPair.length() != 6) {
+            return null;
+        }
+        int first = CurrencyCodes.encode(ccyPair, 0);
+        int second = CurrencyCodes.encode(ccyPair, 3);
+        CurrencySet currencies = referenceData.getCurrencies();
+        if(!currencies.contains(first) || !currencies.contains(second)) {
+            return null;
+        }
+
+        HolidayCalendars calendars = referenceData.getHolidayCalendars();
+        long valueDay = trade.getValueDate().toEpochDay();
+        if(!calendars.isWorkingDay(valueDay, first, second)) {
+            return null;
+        }
+        long spotDay = calendars.getSettlementCalendar().spotDay(trade.getTradeDate().toEpochDay(), first, second);
+        return check(ProductType.of(trade.getType()), valueDay, spotDay);
+    }
+
+    @Override
+    public void validate(TradeColumns trades, ReferenceData referenceData, long[] masks) {
+        HolidayCalendars calendars = referenceData.getHolidayCalendars();
+        SettlementCalendar settlementCalendar = calendars.getSettlementCalendar();
+        CurrencySet currencies = referenceData.getCurrencies();
+        byte[] types = trades.getProductTypes();
+        int[] tradeDates = trades.getTradeDates();
+        int[] valueDates = trades.getValueDates();
+        int[] firstCurrencies = trades.getCcyPairFirst();
+        int[] secondCurrencies = trades.getCcyPairSecond();
+        for(int i = 0; i < trades.size(); i++) {
+            ProductType productType = PRODUCT_TYPES[types[i]];
+            if(productType != ProductType.SPOT && productType != ProductType.FORWARD
+                    || tradeDates[i] == TradeColumns.NULL_DATE || valueDates[i] == TradeColumns.NULL_DATE
+                    || valueDates[i] < tradeDates[i] || firstCurrencies[i] < 0 || secondCurrencies[i] < 0
+                    || !currencies.contains(firstCurrencies[i]) || !currencies.contains(secondCurrencies[i])
+                    || !calendars.isWorkingDay(valueDates[i], firstCurrencies[i], secondCurrencies[i])) {
+                continue;
+            }
+            long spotDay = settlementCalendar.spotDay(tradeDates[i], firstCurrencies[i], secondCurrencies[i]);
+            MessageTextEnum message = check(productType, valueDates[i], spotDay);
+            if(null != message) {
+                masks[i] |= message.mask();
+            }
+        }
+    }
+
+    private static MessageTextEnum check(ProductType productType, long valueDay, long spotDay) {
+        if(productType == ProductType.SPOT && valueDay != spotDay) {
+            return VALUE_DATE_IS_NOT_SPOT_DATE;
+        }
+        if(productType == ProductType.FORWARD && valueDay <= spotDay) {
+            return VALUE_DATE_IS_BEFORE_SPOT_DATE;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.creditsuisse.validator.rules;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.EXCERCISE_START_DATE_IS_AFTER_EXPIRY_DATE;
+import static com.creditsuisse.validator.enums.MessageTextEnum.EXCERCISE_START_DATE_IS_BEFORE_TRADE_DATE;
+import static com.creditsuisse.validator.enums.MessageTextEnum.EXCERCISE_START_DATE_IS_EMPTY;
+import static com.creditsuisse.validator.enums.MessageTextEnum.STYLE_IS_NOT_VALID_FOR_OPTION;
+
+/**
+ * Validate Style in case of type is "OPTION".
+ *      If value = "AMERICAN" or "EUROPEAN", then valid.
+ * Validate ExcerciseStartDate, in case of value = "AMERICAN"
+ *      It should not be empty, and should be after tradeDate, but before ExpiryDate
+ */
+@Component
+@Order(90)
+public class StyleAndExcerciseStartDateRule extends AbstractTradeRule {
+
+    private static final String STYLE_AMERICAN = "AMERICAN";
+    private static final String STYLE_EUROPEAN = "EUROPEAN";
+
+    public StyleAndExcerciseStartDateRule() {
+        super("styleAndExcerciseStartDate", EnumSet.of(ProductType.OPTION),
+                TradeField.STYLE, TradeField.EXCERCISE_START_DATE, TradeField.TRADE_DATE, TradeField.EXPIRY_DATE);
+    }
+
+    @Override
+    public MessageTextEnum validate(Trade trade, ReferenceData referenceData) {
+        if(null == trade.getStyle() || (!trade.getStyle().equalsIgnoreCase(STYLE_AMERICAN)
+                && !trade.getStyle().equalsIgnoreCase(STYLE_EUROPEAN))) {
+            return STYLE_IS_NOT_VALID_FOR_OPTION;
+        }
+
+        if(trade.getStyle().equalsIgnoreCase(STYLE_AMERICAN)) {
+            if(null == trade.getExcerciseStartDate()) {
+                return EXCERCISE_START_DATE_IS_EMPTY;
+            }
+
+            if(null != trade.getTradeDate() && null != trade.getExpiryDate()
+                    && trade.getExcerciseStartDate().isBefore(trade.getTradeDate())) {
+                return EXCERCISE_START_DATE_IS_BEFORE_TRADE_DATE;
+            }
+
+            if(null != trade.getTradeDate() && null != trade.getExpiryDate()
+                    && trade.getExcerciseStartDate().isAfter(trade.getExpiryDate())) {
+                return EXCERCISE_START_DATE_IS_AFTER_EXPIRY_DATE;
+            }
+        }
+
+        return null;
+    }
+}
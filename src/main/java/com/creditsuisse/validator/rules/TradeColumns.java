@@ -0,0 +1,213 @@
+package com.creditsuisse.validator.rules;
+
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.util.CurrencyCodes;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Columnar (struct of arrays) representation of range of trades, for validation of batch rule by rule (see TradeRule).
+ *      dates - epoch days in int[] (NULL_DATE if date is null)
+ *      currencies - codes of CurrencyCodes in int[] (NULL_CODE if currency is null, CurrencyCodes.NOT_VALID if not valid)
+ *      customers, legal entities - dictionary codes in int[], so reference data are checked once per distinct value
+ * Rules read columns in tight loops over primitive arrays, instead of chasing references of every Trade.
+ * Arrays are not copied, so rules shouldn't modify them.
+ */
+public class TradeColumns {
+
+    public static final int NULL_DATE = Integer.MIN_VALUE;
+    public static final int NULL_CODE = -2;
+
+    private final List<Trade> trades;
+    private final int from;
+    private final int size;
+    private final byte[] productTypes;
+    private final int[] tradeDates;
+    private final int[] valueDates;
+    private final int[] deliveryDates;
+    private final int[] expiryDates;
+    private final int[] premiumDates;
+    private final int[] ccyPairFirst;
+    private final int[] ccyPairSecond;
+    private final int[] payCcys;
+    private final int[] premiumCcys;
+    private final Dictionary customers;
+    private final Dictionary legalEntities;
+
+    /**
+     * @param trades batch of trades
+     * @param from index of first trade of range
+     * @param to index after last trade of range
+     */
+    public TradeColumns(List<Trade> trades, int from, int to) {
+        this.trades = trades;
+        this.from = from;
+        this.size = to - from;
+        this.productTypes = new byte[size];
+        this.tradeDates = new int[size];
+        this.valueDates = new int[size];
+        this.deliveryDates = new int[size];
+        this.expiryDates = new int[size];
+        this.premiumDates = new int[size];
+        this.ccyPairFirst = new int[size];
+        this.ccyPairSecond = new int[size];
+        this.payCcys = new int[size];
+        this.premiumCcys = new int[size];
+        this.customers = new Dictionary(size);
+        this.legalEntities = new Dictionary(size);
+
+        for(int i = 0; i < size; i++) {
+            Trade trade = trades.get(from + i);
+            productTypes[i] = (byte) ProductType.of(trade.getType()).ordinal();
+            tradeDates[i] = epochDay(trade.getTradeDate());
+            valueDates[i] = epochDay(trade.getValueDate());
+            deliveryDates[i] = epochDay(trade.getDeliveryDate());
+            expiryDates[i] = epochDay(trade.getExpiryDate());
+            premiumDates[i] = epochDay(trade.getPremiumDate());
+            ccyPairFirst[i] = ccyPairCurrency(trade.getCcyPair(), 0);
+            ccyPairSecond[i] = ccyPairCurrency(trade.getCcyPair(), 3);
+            payCcys[i] = currency(trade.getPayCcy());
+            premiumCcys[i] = currency(trade.getPremiumCcy());
+            customers.add(i, trade.getCustomer());
+            legalEntities.add(i, trade.getLegalEntity());
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i index of trade in range
+     * @return trade
+     */
+    public Trade get(int i) {
+        return trades.get(from + i);
+    }
+
+    /**
+     * @return ordinals of ProductType
+     */
+    public byte[] getProductTypes() {
+        return productTypes;
+    }
+
+    public int[] getTradeDates() {
+        return tradeDates;
+    }
+
+    public int[] getValueDates() {
+        return valueDates;
+    }
+
+    public int[] getDeliveryDates() {
+        return deliveryDates;
+    }
+
+    public int[] getExpiryDates() {
+        return expiryDates;
+    }
+
+    public int[] getPremiumDates() {
+        return premiumDates;
+    }
+
+    /**
+     * @return codes of first currency of ccyPair, CurrencyCodes.NOT_VALID if ccyPair hasn't 6 chars
+     */
+    public int[] getCcyPairFirst() {
+        return ccyPairFirst;
+    }
+
+    /**
+     * @return codes of second currency of ccyPair, CurrencyCodes.NOT_VALID if ccyPair hasn't 6 chars
+     */
+    public int[] getCcyPairSecond() {
+        return ccyPairSecond;
+    }
+
+    public int[] getPayCcys() {
+        return payCcys;
+    }
+
+    public int[] getPremiumCcys() {
+        return premiumCcys;
+    }
+
+    public Dictionary getCustomers() {
+        return customers;
+    }
+
+    public Dictionary getLegalEntities() {
+        return legalEntities;
+    }
+
+    private static int epochDay(LocalDate date) {
+        return null == date ? NULL_DATE : (int) date.toEpochDay();
+    }
+
+    private static int currency(String currency) {
+        return null == currency ? NULL_CODE : CurrencyCodes.encode(currency);
+    }
+
+    private static int ccyPairCurrency(String ccyPair, int offset) {
+        if(null == ccyPair) {
+            return NULL_CODE;
+        }
+        return ccyPair.length() == 6 ? CurrencyCodes.encode(ccyPair, offset) : CurrencyCodes.NOT_VALID;
+    }
+
+    /**
+     * Dictionary encoded column of strings: code of every trade (NULL_CODE if value is null) and distinct values
+     */
+    public static class Dictionary {
+        private final int[] codes;
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> index = new HashMap<>();
+
+        private Dictionary(int size) {
+            this.codes = new int[size];
+        }
+
+        private void add(int i, String value) {
+            if(null == value) {
+                codes[i] = NULL_CODE;
+                return;
+            }
+            Integer code = index.get(value);
+            if(null == code) {
+                code = values.size();
+                index.put(value, code);
+                values.add(value);
+            }
+            codes[i] = code;
+        }
+
+        public int[] getCodes() {
+            return codes;
+        }
+
+        public List<String> getValues() {
+            return Collections.unmodifiableList(values);
+        }
+
+        /**
+         * Evaluate predicate once for every distinct value
+         * @param predicate predicate of value
+         * @return result of predicate by code
+         */
+        public boolean[] map(Predicate<String> predicate) {
+            boolean[] result = new boolean[values.size()];
+            for(int code = 0; code < result.length; code++) {
+                result[code] = predicate.test(values.get(code));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.creditsuisse.validator.rules;
+
+import com.creditsuisse.validator.model.Trade;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Fields of Trade, which can be read by rules. Name of JSON property is camel case of field name, e.g. "ccyPair"
+ */
+public enum TradeField {
+    TRADE_ID(Trade::getTradeId, (trade, value) -> trade.setTradeId((String) value)),
+    CUSTOMER(Trade::getCustomer, (trade, value) -> trade.setCustomer((String) value)),
+    CCY_PAIR(Trade::getCcyPair, (trade, value) -> trade.setCcyPair((String) value)),
+    TYPE(Trade::getType, (trade, value) -> trade.setType((String) value)),
+    STYLE(Trade::getStyle, (trade, value) -> trade.setStyle((String) value)),
+    DIRECTION(Trade::getDirection, (trade, value) -> trade.setDirection((String) value)),
+    STRATEGY(Trade::getStrategy, (trade, value) -> trade.setStrategy((String) value)),
+    TRADE_DATE(Trade::getTradeDate, (trade, value) -> trade.setTradeDate((LocalDate) value)),
+    AMOUNT1(Trade::getAmount1, (trade, value) -> trade.setAmount1((BigDecimal) value)),
+    AMOUNT2(Trade::getAmount2, (trade, value) -> trade.setAmount2((BigDecimal) value)),
+    RATE(Trade::getRate, (trade, value) -> trade.setRate((Double) value)),
+    DELIVERY_DATE(Trade::getDeliveryDate, (trade, value) -> trade.setDeliveryDate((LocalDate) value)),
+    EXPIRY_DATE(Trade::getExpiryDate, (trade, value) -> trade.setExpiryDate((LocalDate) value)),
+    EXCERCISE_START_DATE(Trade::getExcerciseStartDate, (trade, value) -> trade.setExcerciseStartDate((LocalDate) value)),
+    PAY_CCY(Trade::getPayCcy, (trade, value) -> trade.setPayCcy((String) value)),
+    PREMIUM(Trade::getPremium, (trade, value) -> trade.setPremium((Double) value)),
+    PREMIUM_CCY(Trade::getPremiumCcy, (trade, value) -> trade.setPremiumCcy((String) value)),
+    PREMIUM_TYPE(Trade::getPremiumType, (trade, value) -> trade.setPremiumType((String) value)),
+    PREMIUM_DATE(Trade::getPremiumDate, (trade, value) -> trade.setPremiumDate((LocalDate) value)),
+    VALUE_DATE(Trade::getValueDate, (trade, value) -> trade.setValueDate((LocalDate) value)),
+    LEGAL_ENTITY(Trade::getLegalEntity, (trade, value) -> trade.setLegalEntity((String) value)),
+    TRADER(Trade::getTrader, (trade, value) -> trade.setTrader((String) value));
+
+    private static final Map<String, TradeField> BY_PROPERTY = new HashMap<>();
+
+    static {
+        for(TradeField field : values()) {
+            BY_PROPERTY.put(field.property, field);
+        }
+    }
+
+    private final Function<Trade, Object> getter;
+    private final BiConsumer<Trade, Object> setter;
+    private final String property;
+
+    TradeField(Function<Trade, Object> getter, BiConsumer<Trade, Object> setter) {
+        this.getter = getter;
+        this.setter = setter;
+        this.property = toCamelCase(name());
+    }
+
+    /**
+     * @param property name of JSON property, e.g. "ccyPair"
+     * @return field of property, or null if there is no such field
+     */
+    public static TradeField ofProperty(String property) {
+        return BY_PROPERTY.get(property);
+    }
+
+    /**
+     * @return name of JSON property, e.g. "ccyPair"
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * @param trade trade
+     * @return value of field in trade
+     */
+    public Object get(Trade trade) {
+        return getter.apply(trade);
+    }
+
+    /**
+     * @param trade trade
+     * @param value new value of field, which should be of type of field
+     */
+    public void set(Trade trade, Object value) {
+        setter.accept(trade, value);
+    }
+
+    /**
+     * @param trade trade
+     * @return new trade with values of all fields of trade
+     */
+    public static Trade copy(Trade trade) {
+        Trade copy = new Trade();
+        for(TradeField field : values()) {
+            field.set(copy, field.get(trade));
+        }
+        return copy;
+    }
+
+    /**
+     * Compare values of field in two trades. Amounts are compared by value, so 1000.00 and 1000 are the same.
+     * @return true, if value of field is the same in both trades
+     */
+    public boolean isSame(Trade first, Trade second) {
+        Object firstValue = get(first);
+        Object secondValue = get(second);
+        if(firstValue instanceof BigDecimal && secondValue instanceof BigDecimal) {
+            return ((BigDecimal) firstValue).compareTo((BigDecimal) secondValue) == 0;
+        }
+        return Objects.equals(firstValue, secondValue);
+    }
+
+    private static String toCamelCase(String name) {
+        StringBuilder builder = new StringBuilder(name.length());
+        boolean upper = false;
+        for(char c : name.toCharArray()) {
+            if(c == '_') {
+                upper = true;
+            } else {
+                builder.append(upper ? c : Character.toLowerCase(c));
+                upper = false;
+            }
+        }
+        return builder.toString();
+    }
+}
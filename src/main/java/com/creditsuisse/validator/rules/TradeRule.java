@@ -0,0 +1,63 @@
+package com.creditsuisse.validator.rules;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+
+import java.util.Set;
+
+/**
+ * Validation rule of single trade.
+ * Every rule declares product types, to which it's applied, and fields of trade, which it reads.
+ * Rules are Spring beans, which are compiled at startup to execution plan per product type (see ExecutionPlan),
+ *      in order of @Order annotation. Order can be changed at runtime by observed cost of rules (see RuleOrdering),
+ *      so rules should be independent of each other.
+ * Batch can be validated also in columnar mode (see TradeColumns), where every rule is applied to range of trades at once.
+ */
+public interface TradeRule {
+
+    /**
+     * @return unique name of rule, e.g. "legalEntity"
+     */
+    String getName();
+
+    /**
+     * @return product types, to which rule is applied
+     */
+    Set<ProductType> getProductTypes();
+
+    /**
+     * @return fields of trade, which rule reads
+     */
+    Set<TradeField> getFields();
+
+    /**
+     * Validate trade
+     * @param trade data, which should be validated
+     * @param referenceData snapshot of reference data, which is the same for all trades of batch
+     * @return message, if trade is not valid, otherwise null
+     */
+    MessageTextEnum validate(Trade trade, ReferenceData referenceData);
+
+    /**
+     * Validate range of trades in columnar mode. Message of rule is added to mask of every not valid trade,
+     *      result should be the same as of validate(Trade, ReferenceData) of every trade.
+     * Default implementation validates trades of product types of rule one by one.
+     * @param trades range of trades
+     * @param referenceData snapshot of reference data, which is the same for all trades of batch
+     * @param masks bitmasks of messages (see MessageTextEnum.mask()) by index of trade in range
+     */
+    default void validate(TradeColumns trades, ReferenceData referenceData, long[] masks) {
+        byte[] productTypes = trades.getProductTypes();
+        Set<ProductType> applied = getProductTypes();
+        ProductType[] values = ProductType.values();
+        for(int i = 0; i < trades.size(); i++) {
+            if(applied.contains(values[productTypes[i]])) {
+                MessageTextEnum message = validate(trades.get(i), referenceData);
+                if(null != message) {
+                    masks[i] |= message.mask();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.creditsuisse.validator.rules;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.VALUE_DATE_BEFORE_TRADE_DATE;
+
+/**
+ * Validate, that value date is not before trade date
+ */
+@Component
+@Order(10)
+public class ValueDateAfterTradeDateRule extends AbstractTradeRule {
+
+    public ValueDateAfterTradeDateRule() {
+        super("valueDateAfterTradeDate", ALL_PRODUCT_TYPES, TradeField.VALUE_DATE, TradeField.TRADE_DATE);
+    }
+
+    @Override
+    public MessageTextEnum validate(Trade trade, ReferenceData referenceData) {
+        if(null != trade.getValueDate() && null != trade.getTradeDate()
+                && trade.getValueDate().isBefore(trade.getTradeDate())) {
+            return VALUE_DATE_BEFORE_TRADE_DATE;
+        }
+
+        return null;
+    }
+
+    @Override
+    public void validate(TradeColumns trades, ReferenceData referenceData, long[] masks) {
+        int[] valueDates = trades.getValueDates();
+        int[] tradeDates = trades.getTradeDates();
+        long mask = VALUE_DATE_BEFORE_TRADE_DATE.mask();
+        for(int i = 0; i < trades.size(); i++) {
+            if(valueDates[i] != TradeColumns.NULL_DATE && tradeDates[i] != TradeColumns.NULL_DATE
+                    && valueDates[i] < tradeDates[i]) {
+                masks[i] |= mask;
+            }
+        }
+    }
+}
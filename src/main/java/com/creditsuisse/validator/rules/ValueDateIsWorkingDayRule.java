@@ -0,0 +1,35 @@
+package com.creditsuisse.validator.rules;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.integration.FixerFacade;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.VALUE_DATE_IS_NOT_WORKING_DAY;
+
+/**
+ * Validate, that value date is working day for both currencies of ccyPair
+ */
+@Component
+@Order(20)
+public class ValueDateIsWorkingDayRule extends AbstractTradeRule {
+
+    @Autowired
+    private FixerFacade fixerFacade;
+
+    public ValueDateIsWorkingDayRule() {
+        super("valueDateIsWorkingDay", ALL_PRODUCT_TYPES, TradeField.VALUE_DATE, TradeField.CCY_PAIR);
+    }
+
+    @Override
+    public MessageTextEnum validate(Trade trade, ReferenceData referenceData) {
+        if(null != trade.getValueDate() && !fixerFacade.isWorkingDay(trade.getValueDate(), trade.getCcyPair(), referenceData)) {
+            return VALUE_DATE_IS_NOT_WORKING_DAY;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.creditsuisse.validator.rules;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.VALUE_DATE_IS_EMPTY;
+
+/**
+ * Validate if valueDate is not empty.... in case of type is "SPOT" or "FORWARD"
+ */
+@Component
+@Order(80)
+public class ValueDateRule extends AbstractTradeRule {
+
+    public ValueDateRule() {
+        super("valueDate", EnumSet.of(ProductType.SPOT, ProductType.FORWARD), TradeField.VALUE_DATE);
+    }
+
+    @Override
+    public MessageTextEnum validate(Trade trade, ReferenceData referenceData) {
+        if(null == trade.getValueDate()) {
+            return VALUE_DATE_IS_EMPTY;
+        }
+
+        return null;
+    }
+
+    @Override
+    public void validate(TradeColumns trades, ReferenceData referenceData, long[] masks) {
+        byte[] productTypes = trades.getProductTypes();
+        int[] valueDates = trades.getValueDates();
+        byte spot = (byte) ProductType.SPOT.ordinal();
+        byte forward = (byte) ProductType.FORWARD.ordinal();
+        long mask = VALUE_DATE_IS_EMPTY.mask();
+        for(int i = 0; i < trades.size(); i++) {
+            if((productTypes[i] == spot || productTypes[i] == forward) && valueDates[i] == TradeColumns.NULL_DATE) {
+                masks[i] |= mask;
+            }
+        }
+    }
+}
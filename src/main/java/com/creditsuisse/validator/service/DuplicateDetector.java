@@ -0,0 +1,123 @@
+package com.creditsuisse.validator.service;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.rules.TradeField;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Cross-trade stage of validation, which finds trades sent more than once in one batch.
+ * Batch is indexed in one pass by hash of key fields ("validation.duplicates.key"), so detection is linear in batch size.
+ * Trade, which has the same key as some trade before it in batch, is reported:
+ *      DUPLICATE_TRADE - all fields except tradeId are the same
+ *      CONFLICTING_TRADE - some other field is different (e.g. rate or value date)
+ * First occurrence of trade is not reported. Amounts are compared by value, so 1000.00 and 1000 are the same.
+ * Detector only reads trades, so it can run in parallel with validation of single trades.
+ */
+@Component
+public class DuplicateDetector {
+
+    @Value("${validation.duplicates.enabled:false}")
+    private boolean enabled;
+
+    @Value("${validation.duplicates.key:CUSTOMER,CCY_PAIR,TRADE_DATE,AMOUNT1,AMOUNT2,DIRECTION,TRADER}")
+    private TradeField[] key;
+
+    private TradeField[] otherFields;
+
+    @PostConstruct
+    public void init() {
+        if(key.length == 0) {
+            throw new IllegalStateException("Key of duplicate detection should contain at least one field");
+        }
+        Set<TradeField> fields = EnumSet.allOf(TradeField.class);
+        fields.remove(TradeField.TRADE_ID);
+        for(TradeField field : key) {
+            fields.remove(field);
+        }
+        otherFields = fields.toArray(new TradeField[fields.size()]);
+    }
+
+    /**
+     * @return true, if duplicates should be detected in every batch, and not only if requested
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param trades batch of trades
+     * @return messages of duplicate or conflicting trades by their index in batch
+     */
+    public Map<Integer, MessageTextEnum> detect(List<Trade> trades) {
+        Map<Key, Integer> index = new HashMap<>(trades.size() * 4 / 3 + 1);
+        Map<Integer, MessageTextEnum> messages = new HashMap<>();
+
+        for(int i = 0; i < trades.size(); i++) {
+            Trade trade = trades.get(i);
+            Integer first = index.putIfAbsent(new Key(trade), i);
+            if(null != first) {
+                messages.put(i, same(trades.get(first), trade, otherFields)
+                        ? MessageTextEnum.DUPLICATE_TRADE
+                        : MessageTextEnum.CONFLICTING_TRADE);
+            }
+        }
+        return messages;
+    }
+
+    private static boolean same(Trade first, Trade second, TradeField[] fields) {
+        for(TradeField field : fields) {
+            if(!field.isSame(first, second)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hash code of BigDecimal depends on its scale, so hash of its double value is used, which is the same for equal values
+     */
+    private static int hash(Object value) {
+        if(value instanceof BigDecimal) {
+            return Double.hashCode(((BigDecimal) value).doubleValue());
+        }
+        return Objects.hashCode(value);
+    }
+
+    /**
+     * Key of trade in index, which compares key fields of trade without copying them
+     */
+    private class Key {
+        private final Trade trade;
+        private final int hash;
+
+        private Key(Trade trade) {
+            this.trade = trade;
+            int result = 1;
+            for(TradeField field : key) {
+                result = 31 * result + hash(field.get(trade));
+            }
+            this.hash = result;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && hash == ((Key) other).hash && same(trade, ((Key) other).trade, key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
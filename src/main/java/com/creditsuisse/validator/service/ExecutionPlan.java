@@ -0,0 +1,245 @@
+package com.creditsuisse.validator.service;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.metrics.RuleMetrics;
+import com.creditsuisse.validator.metrics.ValidationMetrics;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import com.creditsuisse.validator.rules.ProductType;
+import com.creditsuisse.validator.rules.TradeColumns;
+import com.creditsuisse.validator.rules.TradeRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Immutable plan of validation, compiled once from all rules.
+ * For every product type it contains array of rules, which are applied to it, in order of rules,
+ *      so validation of trade is one lookup of product type and one walk over array.
+ */
+public class ExecutionPlan {
+
+    private static final MessageTextEnum[] MESSAGES = MessageTextEnum.values();
+
+    private final Map<ProductType, Step[]> steps = new EnumMap<>(ProductType.class);
+    private final List<TradeRule> rules;
+    private final RuleMetrics[] ruleMetrics;
+
+    /**
+     * @param rules rules in order of execution
+     * @param validationMetrics metrics, where every rule records its executions
+     */
+    public ExecutionPlan(List<? extends TradeRule> rules, ValidationMetrics validationMetrics) {
+        Set<String> names = new HashSet<>();
+        for(TradeRule rule : rules) {
+            if(!names.add(rule.getName())) {
+                throw new IllegalStateException("Rule name should be unique, but was duplicated: " + rule.getName());
+            }
+        }
+        this.rules = new ArrayList<>(rules);
+        this.ruleMetrics = new RuleMetrics[rules.size()];
+        for(int i = 0; i < rules.size(); i++) {
+            ruleMetrics[i] = validationMetrics.rule(rules.get(i).getName());
+        }
+
+        for(ProductType productType : ProductType.values()) {
+            List<Step> productSteps = new ArrayList<>();
+            for(TradeRule rule : rules) {
+                if(rule.getProductTypes().contains(productType)) {
+                    productSteps.add(new Step(rule, validationMetrics.rule(rule.getName())));
+                }
+            }
+            steps.put(productType, productSteps.toArray(new Step[productSteps.size()]));
+        }
+    }
+
+    /**
+     * Validation of single trade.
+     * @param trade data, which should be validated.
+     * @param referenceData snapshot of reference data
+     * @param timed true, if execution time of rules should be recorded
+     * @param firstErrorOnly true, if validation should stop at first failing rule
+     * @param validationMetrics metrics, where failures are recorded
+     * @return bitmask of messages (see MessageTextEnum.mask()), with explanation why this trade are not valid or 0 if it's valid
+     */
+    public long validate(Trade trade, ReferenceData referenceData, boolean timed, boolean firstErrorOnly,
+                         ValidationMetrics validationMetrics) {
+        long mask = 0;
+        for(Step step : steps.get(ProductType.of(trade.getType()))) {
+            MessageTextEnum message = step.apply(trade, referenceData, timed);
+            if(null != message) {
+                validationMetrics.recordFailure(message);
+                mask |= message.mask();
+                if(firstErrorOnly) {
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Full validation of single trade, which result is kept by rule (see ResultCache).
+     * @param trade data, which should be validated.
+     * @param referenceData snapshot of reference data
+     * @param timed true, if execution time of rules should be recorded
+     * @param validationMetrics metrics, where failures are recorded
+     * @return messages of failed rules by name of rule
+     */
+    public Map<String, MessageTextEnum> validate(Trade trade, ReferenceData referenceData, boolean timed,
+                                                 ValidationMetrics validationMetrics) {
+        Map<String, MessageTextEnum> failures = new HashMap<>();
+        for(Step step : steps.get(ProductType.of(trade.getType()))) {
+            MessageTextEnum message = step.apply(trade, referenceData, timed);
+            if(null != message) {
+                validationMetrics.recordFailure(message);
+                failures.put(step.rule.getName(), message);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Replay of known result of trade (see ResultCache) in order of this plan, so with firstErrorOnly the message
+     *      of the first failing rule is the same as of validation. Rules are recorded as invoked without time.
+     * @param trade data, which was validated
+     * @param failures messages of failed rules by name of rule
+     * @param firstErrorOnly true, if replay should stop at first failing rule
+     * @param validationMetrics metrics, where failures are recorded
+     * @return bitmask of messages (see MessageTextEnum.mask()), with explanation why this trade are not valid or 0 if it's valid
+     */
+    public long replay(Trade trade, Map<String, MessageTextEnum> failures, boolean firstErrorOnly,
+                       ValidationMetrics validationMetrics) {
+        long mask = 0;
+        for(Step step : steps.get(ProductType.of(trade.getType()))) {
+            MessageTextEnum message = failures.get(step.rule.getName());
+            step.metrics.record(null != message);
+            if(null != message) {
+                validationMetrics.recordFailure(message);
+                mask |= message.mask();
+                if(firstErrorOnly) {
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Validation of range of trades in columnar mode: every rule is applied to all trades of range at once.
+     * All rules are applied, so it can't be used, if validation should stop at first failing rule.
+     * Rule writes to its own cleared masks, so its failures are counted, and time of rule is recorded for whole range.
+     * @param trades range of trades
+     * @param referenceData snapshot of reference data
+     * @param validationMetrics metrics, where failures are recorded
+     * @return bitmasks of messages (see MessageTextEnum.mask()) by index of trade in range
+     */
+    public long[] validate(TradeColumns trades, ReferenceData referenceData, ValidationMetrics validationMetrics) {
+        int[] productTypeCounts = new int[ProductType.values().length];
+        for(byte productType : trades.getProductTypes()) {
+            productTypeCounts[productType]++;
+        }
+
+        long[] masks = new long[trades.size()];
+        long[] ruleMasks = new long[trades.size()];
+        for(int r = 0; r < rules.size(); r++) {
+            TradeRule rule = rules.get(r);
+            long count = 0;
+            for(ProductType productType : rule.getProductTypes()) {
+                count += productTypeCounts[productType.ordinal()];
+            }
+            if(count == 0) {
+                continue;
+            }
+
+            Arrays.fill(ruleMasks, 0);
+            long start = System.nanoTime();
+            rule.validate(trades, referenceData, ruleMasks);
+            long nanos = System.nanoTime() - start;
+
+            long failed = 0;
+            for(int i = 0; i < masks.length; i++) {
+                if(ruleMasks[i] != 0) {
+                    masks[i] |= ruleMasks[i];
+                    failed++;
+                }
+            }
+            ruleMetrics[r].record(count, failed, nanos);
+        }
+        for(long mask : masks) {
+            for(long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+                validationMetrics.recordFailure(MESSAGES[Long.numberOfTrailingZeros(remaining)]);
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * Validation of single trade by selected rules only (see IncrementalValidationService). Time of rules is not recorded.
+     * @param trade data, which should be validated.
+     * @param referenceData snapshot of reference data
+     * @param selected rules, which should be applied
+     * @param validationMetrics metrics, where failures are recorded
+     * @return messages of failed rules by name of rule
+     */
+    public Map<String, MessageTextEnum> validate(Trade trade, ReferenceData referenceData, Predicate<TradeRule> selected,
+                                                 ValidationMetrics validationMetrics) {
+        Map<String, MessageTextEnum> failures = new HashMap<>();
+        for(Step step : steps.get(ProductType.of(trade.getType()))) {
+            if(!selected.test(step.rule)) {
+                continue;
+            }
+            MessageTextEnum message = step.apply(trade, referenceData, false);
+            if(null != message) {
+                validationMetrics.recordFailure(message);
+                failures.put(step.rule.getName(), message);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * @param productType product type
+     * @return rules, which are applied to product type, in order of execution
+     */
+    public List<TradeRule> getRules(ProductType productType) {
+        List<TradeRule> rules = new ArrayList<>();
+        for(Step step : steps.get(productType)) {
+            rules.add(step.rule);
+        }
+        return rules;
+    }
+
+    /**
+     * Validation rule with its metrics
+     */
+    private static class Step {
+        private final TradeRule rule;
+        private final RuleMetrics metrics;
+
+        private Step(TradeRule rule, RuleMetrics metrics) {
+            this.rule = rule;
+            this.metrics = metrics;
+        }
+
+        private MessageTextEnum apply(Trade trade, ReferenceData referenceData, boolean timed) {
+            if(!timed) {
+                MessageTextEnum message = rule.validate(trade, referenceData);
+                metrics.record(null != message);
+                return message;
+            }
+
+            long start = System.nanoTime();
+            MessageTextEnum message = rule.validate(trade, referenceData);
+            metrics.record(null != message, System.nanoTime() - start);
+            return message;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.creditsuisse.validator.service;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.metrics.ValidationMetrics;
+import com.creditsuisse.validator.model.ErrorReport;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import com.creditsuisse.validator.reference.ReferenceDataProvider;
+import com.creditsuisse.validator.responses.ValidationResponse;
+import com.creditsuisse.validator.rules.ProductType;
+import com.creditsuisse.validator.rules.TradeField;
+import com.creditsuisse.validator.rules.TradeRule;
+import com.creditsuisse.validator.util.ExpiringCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service, which validates amendments of trades incrementally.
+ * Trades are registered with their tradeId, and last validated state of trade (trade and failures of every rule) is kept.
+ * Amendment contains only changed fields, and only rules, which read some changed field (see TradeRule.getFields()),
+ *      are applied again. Their results are merged with results of other rules from last validation.
+ * All rules are applied, if reference data are reloaded since last validation or if type of trade is changed.
+ * States are kept for "validation.amendments.retention", so holidays of remote API are refreshed at least so often.
+ */
+@Service
+public class IncrementalValidationService {
+
+    private static final int LOCKS = 64;
+
+    @Value("${validation.amendments.maxSize:100000}")
+    private int maxSize;
+
+    @Value("${validation.amendments.retention:86400000}")
+    private long retention;
+
+    @Autowired
+    private RuleOrdering ruleOrdering;
+
+    @Autowired
+    private ReferenceDataProvider referenceDataProvider;
+
+    @Autowired
+    private ValidationMetrics validationMetrics;
+
+    private final Object[] locks = new Object[LOCKS];
+    private ExpiringCache<String, ValidatedTrade> states;
+
+    @PostConstruct
+    public void init() {
+        for(int i = 0; i < LOCKS; i++) {
+            locks[i] = new Object();
+        }
+        states = new ExpiringCache<>(retention, maxSize);
+    }
+
+    /**
+     * Validate trades with all rules and keep their state for amendments.
+     * Trades without tradeId are validated, but their state is not kept.
+     * @param trades trades, which should be validated
+     * @return response, with details of validation
+     */
+    public ValidationResponse register(List<Trade> trades) {
+        ReferenceData referenceData = referenceDataProvider.get();
+        List<ErrorReport> validationDetails = new ArrayList<>();
+
+        for(int i = 0; i < trades.size(); i++) {
+            Trade trade = trades.get(i);
+            Map<String, MessageTextEnum> failures = ruleOrdering.getExecutionPlan()
+                    .validate(trade, referenceData, rule -> true, validationMetrics);
+            if(null != trade.getTradeId()) {
+                synchronized (lock(trade.getTradeId())) {
+                    states.put(trade.getTradeId(),
+                            new ValidatedTrade(TradeField.copy(trade), referenceData.getVersion(), failures));
+                }
+            }
+            if(!failures.isEmpty()) {
+                validationDetails.add(new ErrorReport(i, trade, mask(failures)));
+            }
+        }
+        return new ValidationResponse(validationDetails.isEmpty(), validationDetails);
+    }
+
+    /**
+     * Apply amendment to last validated state of trade and validate it again by rules, which read changed fields.
+     * @param tradeId ID of trade
+     * @param amendment new values of fields
+     * @param properties JSON properties, which are present in amendment (field can be changed to null)
+     * @return response, with details of validation of amended trade
+     * @throws TradeNotFoundException if state of trade is not known
+     */
+    public ValidationResponse amend(String tradeId, Trade amendment, Collection<String> properties) {
+        synchronized (lock(tradeId)) {
+            ValidatedTrade previous = states.get(tradeId);
+            if(null == previous) {
+                throw new TradeNotFoundException(tradeId);
+            }
+
+            Trade trade = TradeField.copy(previous.trade);
+            Set<TradeField> changed = EnumSet.noneOf(TradeField.class);
+            for(String property : properties) {
+                TradeField field = TradeField.ofProperty(property);
+                if(null != field && field != TradeField.TRADE_ID && !field.isSame(trade, amendment)) {
+                    field.set(trade, field.get(amendment));
+                    changed.add(field);
+                }
+            }
+
+            ReferenceData referenceData = referenceDataProvider.get();
+            ExecutionPlan executionPlan = ruleOrdering.getExecutionPlan();
+            Map<String, MessageTextEnum> failures;
+            if(previous.version != referenceData.getVersion() || changed.contains(TradeField.TYPE)) {
+                failures = executionPlan.validate(trade, referenceData, rule -> true, validationMetrics);
+            } else {
+                failures = new HashMap<>(previous.failures);
+                for(TradeRule rule : executionPlan.getRules(ProductType.of(trade.getType()))) {
+                    if(!Collections.disjoint(rule.getFields(), changed)) {
+                        failures.remove(rule.getName());
+                    }
+                }
+                failures.putAll(executionPlan.validate(trade, referenceData,
+                        rule -> !Collections.disjoint(rule.getFields(), changed), validationMetrics));
+            }
+
+            states.put(tradeId, new ValidatedTrade(trade, referenceData.getVersion(), failures));
+            return failures.isEmpty()
+                    ? new ValidationResponse(true, new ArrayList<>())
+                    : new ValidationResponse(false, Collections.singletonList(new ErrorReport(0, trade, mask(failures))));
+        }
+    }
+
+    /**
+     * Forget state of trade
+     * @param tradeId ID of trade
+     * @throws TradeNotFoundException if state of trade is not known
+     */
+    public void remove(String tradeId) {
+        synchronized (lock(tradeId)) {
+            if(null == states.getStale(tradeId)) {
+                throw new TradeNotFoundException(tradeId);
+            }
+            states.remove(tradeId);
+        }
+    }
+
+    private Object lock(String tradeId) {
+        return locks[(tradeId.hashCode() & Integer.MAX_VALUE) % LOCKS];
+    }
+
+    private static long mask(Map<String, MessageTextEnum> failures) {
+        long mask = 0;
+        for(MessageTextEnum message : failures.values()) {
+            mask |= message.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * Last validated state of trade: copy of trade, version of reference data and messages of failed rules by name of rule
+     */
+    private static class ValidatedTrade {
+        private final Trade trade;
+        private final long version;
+        private final Map<String, MessageTextEnum> failures;
+
+        private ValidatedTrade(Trade trade, long version, Map<String, MessageTextEnum> failures) {
+            this.trade = trade;
+            this.version = version;
+            this.failures = failures;
+        }
+    }
+}
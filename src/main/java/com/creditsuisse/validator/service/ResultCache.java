@@ -0,0 +1,131 @@
+package com.creditsuisse.validator.service;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.metrics.ValidationMetrics;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import com.creditsuisse.validator.rules.TradeField;
+import com.creditsuisse.validator.util.ExpiringCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Cache of validation results (messages by name of failed rule) of trades, which are sent again
+ *      (retries of upstream systems).
+ * Key is content of trade (all fields except tradeId, which doesn't affect validation) and version of reference data,
+ *      so when reference data are reloaded, all results are invalidated and cache is cleared.
+ * Results are kept for "validation.cache.ttl", so holidays of remote API (which are not versioned) are also refreshed.
+ * Only results of full validation are cached. Cached result is replayed by current execution plan (see ExecutionPlan.replay),
+ *      so with failFast the message of the first failing rule in current order is used, and metrics of rules are recorded.
+ */
+@Component
+public class ResultCache {
+
+    private static final TradeField[] FIELDS = Arrays.stream(TradeField.values())
+            .filter(field -> field != TradeField.TRADE_ID)
+            .toArray(TradeField[]::new);
+
+    @Value("${validation.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${validation.cache.maxSize:100000}")
+    private int maxSize;
+
+    @Value("${validation.cache.ttl:600000}")
+    private long ttl;
+
+    @Autowired
+    private ValidationMetrics validationMetrics;
+
+    private ExpiringCache<Key, Map<String, MessageTextEnum>> cache;
+    private volatile long version = -1;
+
+    @PostConstruct
+    public void init() {
+        cache = new ExpiringCache<>(ttl, maxSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param trade trade
+     * @param referenceData snapshot of reference data, which trade is validated with
+     * @return key of trade in cache
+     */
+    public Key key(Trade trade, ReferenceData referenceData) {
+        if(referenceData.getVersion() != version) {
+            synchronized (this) {
+                if(referenceData.getVersion() > version) {
+                    cache.clear();
+                    version = referenceData.getVersion();
+                }
+            }
+        }
+        return new Key(trade, referenceData.getVersion());
+    }
+
+    /**
+     * @param key key of trade
+     * @return cached messages of failed rules of trade by name of rule, or null if trade is not in cache
+     */
+    public Map<String, MessageTextEnum> get(Key key) {
+        Map<String, MessageTextEnum> failures = cache.get(key);
+        validationMetrics.recordCache(null != failures);
+        return failures;
+    }
+
+    public void put(Key key, Map<String, MessageTextEnum> failures) {
+        cache.put(key, failures.isEmpty() ? Collections.emptyMap() : failures);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Content of trade with version of reference data. Hash is computed once from all fields.
+     * Amounts are compared by value, so 1000.00 and 1000 are the same.
+     */
+    public static class Key {
+        private final Object[] values = new Object[FIELDS.length];
+        private final long version;
+        private final int hash;
+
+        private Key(Trade trade, long version) {
+            this.version = version;
+            int result = Long.hashCode(version);
+            for(int i = 0; i < FIELDS.length; i++) {
+                Object value = FIELDS[i].get(trade);
+                if(value instanceof BigDecimal) {
+                    value = ((BigDecimal) value).stripTrailingZeros();
+                }
+                values[i] = value;
+                result = 31 * result + (null == value ? 0 : value.hashCode());
+            }
+            this.hash = result;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if(!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return hash == key.hash && version == key.version && Arrays.equals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.creditsuisse.validator.service;
+
+import com.creditsuisse.validator.expression.ExpressionRules;
+import com.creditsuisse.validator.metrics.RuleMetrics;
+import com.creditsuisse.validator.metrics.ValidationMetrics;
+import com.creditsuisse.validator.rules.ProductType;
+import com.creditsuisse.validator.rules.TradeRule;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Order of validation rules, which holds current execution plan.
+ * Order matters only for validation, which stops at first failing rule (failFast, validOnly):
+ *      rules are independent, so they can be run in any order, and expected cost of trade is minimal,
+ *      if rules are sorted by average time / failure rate (cheap rules, which often fail, go first).
+ * If "validation.ordering.adaptive" is enabled, then plan is periodically rebuilt from observed metrics of rules.
+ *      Metrics of each interval are added to exponentially decayed estimate ("validation.ordering.decay" is weight
+ *      of previous estimate), so plan follows current traffic mix and not the whole history.
+ * Static order is order of rules (@Order) followed by rules of configuration (see ExpressionRules),
+ *      or order pinned by "validation.ordering.static" (not listed rules follow it).
+ * Note: failure rate of rule is observed only on trades, which passed rules before it, so it's an approximation.
+ */
+@Component
+public class RuleOrdering {
+
+    private static final Logger LOGGER = LogManager.getLogger(RuleOrdering.class);
+
+    @Value("${validation.ordering.adaptive:true}")
+    private boolean adaptive;
+
+    @Value("${validation.ordering.interval:60000}")
+    private long interval;
+
+    @Value("${validation.ordering.minInvocations:1000}")
+    private long minInvocations;
+
+    @Value("${validation.ordering.decay:0.5}")
+    private double decay;
+
+    @Value("${validation.ordering.static:}")
+    private String staticOrder;
+
+    @Autowired
+    private List<TradeRule> rules;
+
+    @Autowired
+    private ExpressionRules expressionRules;
+
+    @Autowired
+    private ValidationMetrics validationMetrics;
+
+    private final Map<String, RuleEstimate> estimates = new HashMap<>();
+    private volatile Map<String, Double> scores = Collections.emptyMap();
+    private List<TradeRule> initialOrder;
+    private volatile List<TradeRule> order;
+    private volatile ExecutionPlan executionPlan;
+    private volatile Instant reordered;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        List<TradeRule> allRules = new ArrayList<>(rules);
+        allRules.addAll(expressionRules.getRules());
+        initialOrder = pin(allRules, staticOrder);
+        apply(initialOrder);
+
+        if(adaptive && staticOrder.trim().isEmpty()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "rule-ordering");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::reorder, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if(null != scheduler) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public ExecutionPlan getExecutionPlan() {
+        return executionPlan;
+    }
+
+    public boolean isAdaptive() {
+        return null != scheduler;
+    }
+
+    /**
+     * Sort rules by recent cost and failure rate and rebuild execution plan, if order is changed.
+     * Rules without enough invocations keep their relative position of static order after sorted rules.
+     * @return true, if order is changed
+     */
+    public synchronized boolean reorder() {
+        try {
+            Map<String, Double> newScores = new HashMap<>();
+            List<TradeRule> observed = new ArrayList<>();
+            List<TradeRule> notObserved = new ArrayList<>();
+            for(TradeRule rule : initialOrder) {
+                RuleMetrics metrics = validationMetrics.rule(rule.getName());
+                RuleEstimate estimate = estimates.computeIfAbsent(rule.getName(), name -> new RuleEstimate());
+                estimate.update(metrics, decay);
+                if(metrics.getInvocations() >= minInvocations) {
+                    newScores.put(rule.getName(), estimate.score());
+                    observed.add(rule);
+                } else {
+                    notObserved.add(rule);
+                }
+            }
+            scores = newScores;
+
+            // sort is stable, so rules with equal score keep static order
+            observed.sort(Comparator.<TradeRule>comparingDouble(rule -> newScores.get(rule.getName()))
+                    .thenComparingDouble(rule -> estimates.get(rule.getName()).averageNanos()));
+            observed.addAll(notObserved);
+
+            if(observed.equals(order)) {
+                return false;
+            }
+            apply(observed);
+            LOGGER.info("Validation rules are reordered: {}", names(observed));
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Reordering of validation rules failed", e);
+            return false;
+        }
+    }
+
+    /**
+     * Expected cost of rule per its failure. Rule, which never fails, can't stop validation,
+     *      so its score is infinite and it goes after all failing rules, the cheapest first.
+     */
+    static double score(double averageNanos, double failureRate) {
+        return failureRate == 0 ? Double.POSITIVE_INFINITY : averageNanos / failureRate;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("adaptive", isAdaptive());
+        map.put("reordered", reordered.toString());
+
+        List<Map<String, Object>> ruleList = new ArrayList<>();
+        for(TradeRule rule : order) {
+            RuleMetrics metrics = validationMetrics.rule(rule.getName());
+            Map<String, Object> ruleMap = new LinkedHashMap<>();
+            ruleMap.put("name", rule.getName());
+            ruleMap.putAll(metrics.toMap());
+            Double score = scores.get(rule.getName());
+            ruleMap.put("score", null != score && !score.isInfinite() ? score : null);
+            ruleList.add(ruleMap);
+        }
+        map.put("rules", ruleList);
+
+        Map<String, Object> productTypeMap = new LinkedHashMap<>();
+        for(ProductType productType : ProductType.values()) {
+            productTypeMap.put(productType.name(), names(executionPlan.getRules(productType)));
+        }
+        map.put("productTypes", productTypeMap);
+        return map;
+    }
+
+    private void apply(List<TradeRule> newOrder) {
+        executionPlan = new ExecutionPlan(newOrder, validationMetrics);
+        order = newOrder;
+        reordered = Instant.now();
+    }
+
+    /**
+     * @param rules rules in order of @Order
+     * @param pinned comma separated names of rules, which should go first in this order
+     * @return rules in static order
+     */
+    static List<TradeRule> pin(List<TradeRule> rules, String pinned) {
+        Map<String, TradeRule> byName = new LinkedHashMap<>();
+        for(TradeRule rule : rules) {
+            if(null != byName.put(rule.getName(), rule)) {
+                throw new IllegalStateException("Name of rule is not unique: " + rule.getName());
+            }
+        }
+
+        List<TradeRule> ordered = new ArrayList<>();
+        for(String name : pinned.split(",")) {
+            if(name.trim().isEmpty()) {
+                continue;
+            }
+            TradeRule rule = byName.remove(name.trim());
+            if(null == rule) {
+                throw new IllegalStateException("Rule of static order is not known or duplicated: " + name.trim());
+            }
+            ordered.add(rule);
+        }
+        ordered.addAll(byName.values());
+        return ordered;
+    }
+
+    private static List<String> names(List<TradeRule> rules) {
+        return rules.stream().map(TradeRule::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * Exponentially decayed counters of one rule. Counters of rule are cumulative, so only their increase
+     *      since previous update is added. Interval without invocations of rule keeps estimate unchanged.
+     */
+    private static class RuleEstimate {
+        private long lastInvocations;
+        private long lastFailures;
+        private long lastTimedInvocations;
+        private long lastTimedNanos;
+        private double invocations;
+        private double failures;
+        private double timedInvocations;
+        private double timedNanos;
+
+        private void update(RuleMetrics metrics, double decay) {
+            long currentInvocations = metrics.getInvocations();
+            long currentFailures = metrics.getFailures();
+            long currentTimedInvocations = metrics.getTimedInvocations();
+            long currentTimedNanos = metrics.getTimedNanos();
+
+            if(currentInvocations > lastInvocations) {
+                invocations = invocations * decay + (currentInvocations - lastInvocations);
+                failures = failures * decay + (currentFailures - lastFailures);
+            }
+            if(currentTimedInvocations > lastTimedInvocations) {
+                timedInvocations = timedInvocations * decay + (currentTimedInvocations - lastTimedInvocations);
+                timedNanos = timedNanos * decay + (currentTimedNanos - lastTimedNanos);
+            }
+
+            lastInvocations = currentInvocations;
+            lastFailures = currentFailures;
+            lastTimedInvocations = currentTimedInvocations;
+            lastTimedNanos = currentTimedNanos;
+        }
+
+        private double averageNanos() {
+            return timedInvocations == 0 ? 0 : timedNanos / timedInvocations;
+        }
+
+        private double score() {
+            return RuleOrdering.score(averageNanos(), invocations == 0 ? 0 : failures / invocations);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.creditsuisse.validator.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint "/ruleOrdering" with current order of validation rules and statistics, which it's based on
+ */
+@Component
+public class RuleOrderingEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+    @Autowired
+    private RuleOrdering ruleOrdering;
+
+    public RuleOrderingEndpoint() {
+        super("ruleOrdering", false);
+    }
+
+    @Override
+    public Map<String, Object> invoke() {
+        return ruleOrdering.toMap();
+    }
+}
@@ -0,0 +1,15 @@
+package com.creditsuisse.validator.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Trade was never validated with its tradeId, or its state is already removed after retention time
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class TradeNotFoundException extends RuntimeException {
+
+    public TradeNotFoundException(String tradeId) {
+        super("Validated trade is not found: " + tradeId);
+    }
+}
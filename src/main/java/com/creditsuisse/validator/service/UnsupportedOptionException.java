@@ -0,0 +1,15 @@
+package com.creditsuisse.validator.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Option of validation is not supported by requested mode of validation, e.g. duplicates in streaming mode
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnsupportedOptionException extends RuntimeException {
+
+    public UnsupportedOptionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.creditsuisse.validator.service;
+
+import com.creditsuisse.validator.model.ErrorReport;
+
+import java.util.function.Consumer;
+
+/**
+ * Receiver of error reports of streaming validation (see ValidationService).
+ * Reports are passed chunk by chunk, in the same order as input trades.
+ */
+@FunctionalInterface
+public interface ValidationListener extends Consumer<ErrorReport> {
+
+    /**
+     * Called after error reports of every validated chunk are passed, e.g. to flush them to client
+     */
+    default void chunkValidated() {
+    }
+}
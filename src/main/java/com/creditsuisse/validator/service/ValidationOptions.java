@@ -0,0 +1,83 @@
+package com.creditsuisse.validator.service;
+
+/**
+ * Options of validation request, which allow to finish validation early, if full report is not needed:
+ *      failFast - validation of trade stops at first failing rule, so every report contains only one message
+ *      maxErrors - validation of batch stops after this number of not valid trades (0 - not limited)
+ *      validOnly - only answer "is batch valid?" is needed: validation stops at first not valid trade,
+ *          and response doesn't contain details
+ *      duplicates - trades sent more than once in batch are reported (see DuplicateDetector),
+ *          it's always done, if "validation.duplicates.enabled" is true
+ *      timeout - latency budget of validation in milliseconds (0 - not limited). When it expires, validation stops
+ *          and response contains reports computed so far and indexes of trades, which are not validated
+ * Note: big batches are validated in parallel, so with maxErrors reported trades are not necessarily the first ones.
+ */
+public class ValidationOptions {
+
+    private boolean failFast;
+    private int maxErrors;
+    private boolean validOnly;
+    private boolean duplicates;
+    private long timeout;
+
+    /**
+     * @return options of full validation
+     */
+    public static ValidationOptions full() {
+        return new ValidationOptions();
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    public void setMaxErrors(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public boolean isValidOnly() {
+        return validOnly;
+    }
+
+    public void setValidOnly(boolean validOnly) {
+        this.validOnly = validOnly;
+    }
+
+    public boolean isDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(boolean duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return true, if validation of trade should stop at first failing rule
+     */
+    boolean isFirstErrorOnly() {
+        return failFast || validOnly;
+    }
+
+    /**
+     * @return number of not valid trades, after which validation of batch stops, or 0 if it's not limited
+     */
+    int getErrorLimit() {
+        return validOnly ? 1 : Math.max(maxErrors, 0);
+    }
+}
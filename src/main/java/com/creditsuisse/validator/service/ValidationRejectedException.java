@@ -0,0 +1,20 @@
+package com.creditsuisse.validator.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Validation can't be started now, because validation executor is overloaded (or directory of jobs is full).
+ * Client should retry later.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ValidationRejectedException extends RuntimeException {
+
+    public ValidationRejectedException(String message) {
+        super(message);
+    }
+
+    public ValidationRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
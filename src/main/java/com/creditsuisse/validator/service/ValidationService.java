@@ -1,21 +1,63 @@
-package com.creditsuisse.validator.service;
-
-import com.creditsuisse.validator.model.Trade;
-import com.creditsuisse.validator.responses.ValidationResponse;
-
-import java.util.List;
-
-/**
- * Service, which contains main logic of Trades Validation
- */
-public interface ValidationService {
-
-    /**
-     * Validation of trades.
-     * Note: every trade validated in parallelStream. It will work faster, because
-     * on each validation it's calling 3rd-party application fixerFacade.
-     * @param trades input data trades, which should be validated
-     * @return response, with details of validation
-     */
-    ValidationResponse validate(List<Trade> trades);
-}
+package com.creditsuisse.validator.service;
+
+import com.creditsuisse.validator.model.ErrorReport;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.responses.CompactValidationResponse;
+import com.creditsuisse.validator.responses.ValidationResponse;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Service, which contains main logic of Trades Validation
+ */
+public interface ValidationService {
+
+    /**
+     * Validation of trades.
+     * Note: big batches are validated in parallel by own executor of service. It will work faster, because
+     * on each validation it's calling 3rd-party application fixerFacade.
+     * @param trades input data trades, which should be validated
+     * @return response, with details of validation
+     */
+    ValidationResponse validate(List<Trade> trades);
+
+    /**
+     * Validation of trades with options, which allow to finish validation early
+     * @param trades input data trades, which should be validated
+     * @param options options of validation
+     * @return response, with details of validation
+     */
+    ValidationResponse validate(List<Trade> trades, ValidationOptions options);
+
+    /**
+     * Validation of trades with compact response: indexes of not valid trades and codes of messages, without trades
+     * @param trades input data trades, which should be validated
+     * @param options options of validation
+     * @return compact response, with details of validation
+     */
+    CompactValidationResponse validateCompact(List<Trade> trades, ValidationOptions options);
+
+    /**
+     * Streaming validation of trades.
+     * Trades are pulled from iterator and validated in bounded chunks, so memory usage doesn't depend on batch size.
+     * Error reports are passed to consumer as soon as chunk is validated, in the same order as input trades.
+     * @param trades input data trades, which should be validated
+     * @param consumer receiver of error reports of not valid trades
+     * @return true, if all trades are valid
+     */
+    boolean validate(Iterator<Trade> trades, Consumer<ErrorReport> consumer);
+
+    /**
+     * Streaming validation of trades with options, which allow to finish validation early.
+     * If validation of batch is stopped (see ValidationOptions.maxErrors) or its deadline expires (see ValidationOptions.timeout),
+     *      remaining trades are not pulled from iterator.
+     * Listener is notified after reports of every chunk are passed, so they can be flushed to client.
+     * @param trades input data trades, which should be validated
+     * @param listener receiver of error reports of not valid trades
+     * @param options options of validation
+     * @return summary of validation (valid, truncated, timedOut, notValidated) without details, which are passed to listener
+     */
+    ValidationResponse validate(Iterator<Trade> trades, ValidationListener listener, ValidationOptions options);
+}
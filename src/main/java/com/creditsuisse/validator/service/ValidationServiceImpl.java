@@ -2,217 +2,662 @@ package com.creditsuisse.validator.service;
 
 import com.creditsuisse.validator.enums.MessageTextEnum;
 import com.creditsuisse.validator.integration.FixerFacade;
+import com.creditsuisse.validator.metrics.ValidationMetrics;
 import com.creditsuisse.validator.model.ErrorReport;
 import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import com.creditsuisse.validator.reference.ReferenceDataProvider;
+import com.creditsuisse.validator.responses.CompactErrorReport;
+import com.creditsuisse.validator.responses.CompactValidationResponse;
 import com.creditsuisse.validator.responses.ValidationResponse;
+import com.creditsuisse.validator.rules.TradeColumns;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
-import static com.creditsuisse.validator.enums.MessageTextEnum.*;
-
 /**
  * Service, which contains main logic of Trades Validation
  */
 @Service
 public class ValidationServiceImpl implements ValidationService {
 
-    /**
-     * Better to put this to enums. But I need more information about fields.
-     */
-    private static final String PRODUCT_TYPE_SPOT = "SPOT";
-    private static final String PRODUCT_TYPE_FORWARD = "FORWARD";
-    private static final String PRODUCT_TYPE_OPTION = "OPTION";
-    private static final String STYLE_AMERICAN = "AMERICAN";
-    private static final String STYLE_EUROPEAN = "EUROPEAN";
+    @Value("${validation.stream.chunkSize:1000}")
+    private int streamChunkSize;
+
+    @Value("${validation.executor.poolSize:0}")
+    private int poolSize;
 
+    @Value("${validation.executor.queueCapacity:1000}")
+    private int queueCapacity;
 
-    @Value("#{'${valid.customers}'.split(',')}")
-    private List<String> validCustomers;
+    @Value("${validation.executor.rejectionPolicy:CALLER_RUNS}")
+    private RejectionPolicy rejectionPolicy;
 
-    @Value("#{'${valid.currencies}'.split(',')}")
-    private List<String> validCurrencies;
+    @Value("${validation.executor.chunkSize:256}")
+    private int chunkSize;
 
-    @Value("#{'${valid.legalEntities}'.split(',')}")
-    private List<String> legalEntites;
+    @Value("${validation.executor.parallelThreshold:64}")
+    private int parallelThreshold;
+
+    @Value("${validation.columnar.enabled:false}")
+    private boolean columnar;
 
     @Autowired
     private FixerFacade fixerFacade;
 
+    @Autowired
+    private ValidationMetrics validationMetrics;
+
+    @Autowired
+    private ReferenceDataProvider referenceDataProvider;
+
+    @Autowired
+    private RuleOrdering ruleOrdering;
+
+    @Autowired
+    private DuplicateDetector duplicateDetector;
+
+    @Autowired
+    private ResultCache resultCache;
+
+    private ThreadPoolExecutor executor;
+
+    // source of deadline of batches, tests replace it to expire deadline deterministically
+    private LongSupplier clock = System::nanoTime;
+
+    /**
+     * What to do with chunk of trades, if all threads of validation executor are busy and queue is full
+     *      CALLER_RUNS - chunk is validated in request thread
+     *      ABORT - request is rejected (ValidationRejectedException)
+     */
+    public enum RejectionPolicy {
+        CALLER_RUNS,
+        ABORT
+    }
+
+    @PostConstruct
+    public void init() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "validation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory, rejectionPolicy == RejectionPolicy.ABORT
+                        ? new ThreadPoolExecutor.AbortPolicy()
+                        : new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
     /**
      * Validation of trades.
-     * Note: every trade validated in parallelStream. It will work faster, because
-     * on each validation it's calling 3rd-party application fixerFacade.
+     * Note: small batches (less than "validation.executor.parallelThreshold") are validated in request thread.
+     * Bigger batches are split to chunks of "validation.executor.chunkSize", which are validated in parallel
+     *      by own bounded executor of service, so requests don't compete for common ForkJoinPool.
      * @param trades input data trades, which should be validated
      * @return response, with details of validation
      */
     @Override
     public ValidationResponse validate(List<Trade> trades) {
-        List<ErrorReport> validationDetails = trades.stream()
-            .parallel()
-            .map(this::validate)
-            .filter(report -> null != report && report.getMessages().size() != 0)
-            .collect(Collectors.toList());
+        return validate(trades, ValidationOptions.full());
+    }
 
-        if(validationDetails.size() == 0) {
+    /**
+     * Validation of trades with options. If validation of batch is stopped by maxErrors,
+     *      remaining chunks are cancelled and response is marked as truncated.
+     * If timeout of options expires, chunks, which are not finished, are cancelled and their trades are reported
+     *      as not validated, together with reports computed so far. Such response is not valid, because validity
+     *      of all trades is not known.
+     * Duplicates (if requested) are detected in one pass over batch by executor, while chunks are validated.
+     * @param trades input data trades, which should be validated
+     * @param options options of validation
+     * @return response, with details of validation
+     */
+    @Override
+    public ValidationResponse validate(List<Trade> trades, ValidationOptions options) {
+        Batch batch = new Batch(referenceDataProvider.get(), options, clock);
+        List<ErrorReport> validationDetails = validate(trades, batch);
+        List<Long> notValidated = batch.getNotValidated();
+
+        ValidationResponse response;
+        if(validationDetails.size() == 0 && !batch.isTimedOut()) {
             return new ValidationResponse(true, new ArrayList<>());
+        } else if(options.isValidOnly()) {
+            response = new ValidationResponse(false);
         } else {
-            return new ValidationResponse(false, validationDetails);
+            response = new ValidationResponse(false, validationDetails);
+            response.setTruncated(batch.isTruncated());
         }
+        response.setNotValidated(notValidated);
+        response.setTimedOut(batch.isTimedOut());
+        return response;
     }
 
     /**
-     * Validation of single trade.
-     * @param trade data, which should be validated.
-     * @return report, with explanation why this trade are not valid or empty report if it's valid
+     * Validation of trades with compact response, which is built directly from error reports of batch.
+     * @param trades input data trades, which should be validated
+     * @param options options of validation
+     * @return compact response, with details of validation
      */
-    private ErrorReport validate(Trade trade) {
-        List<MessageTextEnum> messages = new ArrayList<>();
-        messages.add(validateValueDateAfterTradeDate(trade));
-        messages.add(validateValueDateIsWorkingDay(trade));
-        messages.add(validateCustomerIsSupported(trade));
-        messages.add(validateCcyPairCurrency(trade));
-        messages.add(validatePayCcyCurrency(trade));
-        messages.add(validatePremiumCcyCurrency(trade));
-        messages.add(validateLegalEntity(trade));
-
-
-        if(null != trade.getType()) {
-            if(trade.getType().equalsIgnoreCase(PRODUCT_TYPE_SPOT) || trade.getType().equalsIgnoreCase(PRODUCT_TYPE_FORWARD)) {
-                messages.add(validateValueDate(trade));
-            } else if (trade.getType().toUpperCase().contains(PRODUCT_TYPE_OPTION)) {
-                messages.add(validateStyleAndExcerciseStartDate(trade));
-                messages.add(validateExpiryPremiumDeliveryDate(trade));
+    @Override
+    public CompactValidationResponse validateCompact(List<Trade> trades, ValidationOptions options) {
+        Batch batch = new Batch(referenceDataProvider.get(), options, clock);
+        List<ErrorReport> validationDetails = validate(trades, batch);
+        List<Long> notValidated = batch.getNotValidated();
+
+        List<CompactErrorReport> errors = new ArrayList<>(options.isValidOnly() ? 0 : validationDetails.size());
+        if(!options.isValidOnly()) {
+            for(ErrorReport report : validationDetails) {
+                errors.add(CompactErrorReport.of(report));
             }
         }
+        CompactValidationResponse response = new CompactValidationResponse(validationDetails.isEmpty() && !batch.isTimedOut(),
+                errors);
+        response.setTruncated(!options.isValidOnly() && batch.isTruncated());
+        response.setNotValidated(notValidated);
+        response.setTimedOut(batch.isTimedOut());
+        return response;
+    }
 
-        messages = messages.stream()
-                .filter(message -> null != message)
-                .collect(Collectors.toList());
+    private List<ErrorReport> validate(List<Trade> trades, Batch batch) {
+        long start = System.nanoTime();
+        Future<Map<Integer, MessageTextEnum>> duplicates = detectDuplicates(trades, batch.options);
+        List<ErrorReport> validationDetails = validateChunk(trades, 0, batch);
+        Map<Integer, MessageTextEnum> duplicateMessages = null != duplicates ? get(duplicates, batch) : null;
+        if(null != duplicateMessages) {
+            validationDetails = batch.limit(merge(validationDetails, trades, duplicateMessages, batch));
+        }
+        validationMetrics.recordBatch(trades.size(), System.nanoTime() - start);
+        if(batch.isTimedOut()) {
+            validationMetrics.recordExpiredBatch();
+        }
+        return validationDetails;
+    }
 
-        return new ErrorReport(trade, messages);
+    /**
+     * Streaming validation of trades.
+     * Trades are pulled from iterator by chunks of "validation.stream.chunkSize",
+     *      every chunk validated in parallel and only one chunk is kept in memory.
+     * @param trades input data trades, which should be validated
+     * @param consumer receiver of error reports of not valid trades
+     * @return true, if all trades are valid
+     */
+    @Override
+    public boolean validate(Iterator<Trade> trades, Consumer<ErrorReport> consumer) {
+        return validate(trades, consumer::accept, ValidationOptions.full()).isValid();
     }
 
-    private MessageTextEnum validateValueDateAfterTradeDate(Trade trade) {
-        if(null != trade.getValueDate() && null != trade.getTradeDate()
-                && trade.getValueDate().isBefore(trade.getTradeDate())) {
-            return VALUE_DATE_BEFORE_TRADE_DATE;
+    /**
+     * Streaming validation of trades with options.
+     * Note: if timeout of options expires, trades, which are not read yet, are not validated and they are not listed
+     *      in notValidated (only trades of chunk in progress are), but response is timed out and not valid.
+     * @throws UnsupportedOptionException if duplicates are requested, because only one chunk is kept in memory
+     */
+    @Override
+    public ValidationResponse validate(Iterator<Trade> trades, ValidationListener listener, ValidationOptions options) {
+        if(options.isDuplicates()) {
+            throw new UnsupportedOptionException("Duplicates are not detected in streaming validation");
+        }
+        long start = System.nanoTime();
+        long count = 0;
+        boolean valid = true;
+        Batch batch = new Batch(referenceDataProvider.get(), options, clock);
+        List<Trade> chunk = new ArrayList<>(streamChunkSize);
+
+        while(!batch.isCancelled() && trades.hasNext()) {
+            while(trades.hasNext() && chunk.size() < streamChunkSize) {
+                chunk.add(trades.next());
+            }
+            count += chunk.size();
+
+            List<ErrorReport> validationDetails = validateChunk(chunk, count - chunk.size(), batch);
+            if(validationDetails.size() != 0) {
+                valid = false;
+                validationDetails.forEach(listener);
+            }
+            listener.chunkValidated();
+            chunk.clear();
+        }
+        if(batch.isStopped() && trades.hasNext()) {
+            batch.skipped();
+        } else if(batch.isExpired() && trades.hasNext()) {
+            batch.timedOut();
         }
 
-        return null;
+        validationMetrics.recordBatch(count, System.nanoTime() - start);
+        if(batch.isTimedOut()) {
+            validationMetrics.recordExpiredBatch();
+        }
+        ValidationResponse response = new ValidationResponse(valid && !batch.isTimedOut());
+        response.setTruncated(!options.isValidOnly() && batch.isTruncated());
+        response.setTimedOut(batch.isTimedOut());
+        response.setNotValidated(batch.getNotValidated());
+        return response;
     }
 
-    private MessageTextEnum validateValueDateIsWorkingDay(Trade trade) {
-        if(null != trade.getValueDate() && !fixerFacade.isWorkingDay(trade.getValueDate())) {
-            return VALUE_DATE_IS_NOT_WORKING_DAY;
+    /**
+     * @param offset index of first trade of chunk in whole batch
+     * @param batch state of whole batch
+     */
+    private List<ErrorReport> validateChunk(List<Trade> trades, long offset, Batch batch) {
+        fixerFacade.prefetch(trades.stream()
+            .map(Trade::getValueDate)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet()));
+
+        if(trades.size() < parallelThreshold) {
+            return batch.truncate(validateRange(trades, 0, trades.size(), offset, batch));
         }
 
-        return null;
-    }
+        List<Future<List<ErrorReport>>> futures = new ArrayList<>();
+        try {
+            for(int from = 0; from < trades.size(); from += chunkSize) {
+                int start = from;
+                int end = Math.min(from + chunkSize, trades.size());
+                futures.add(executor.submit(() -> validateRange(trades, start, end, offset, batch)));
+            }
 
-    private MessageTextEnum validateCustomerIsSupported(Trade trade) {
-        if(null != trade.getCustomer() && !validCustomers.contains(trade.getCustomer())) {
-            return CUSTOMER_IS_NOT_SUPPORTED;
+            List<ErrorReport> validationDetails = new ArrayList<>();
+            for(int i = 0; i < futures.size(); i++) {
+                Future<List<ErrorReport>> future = futures.get(i);
+                if(batch.isStopped() && !future.isDone()) {
+                    // validation is stopped by maxErrors, so chunks, which are not finished, are not needed
+                    for(Future<List<ErrorReport>> remaining : futures.subList(i, futures.size())) {
+                        remaining.cancel(true);
+                    }
+                    batch.skipped();
+                    break;
+                }
+                if(batch.hasDeadline() && !future.isDone()) {
+                    try {
+                        validationDetails.addAll(future.get(batch.remainingNanos(), TimeUnit.NANOSECONDS));
+                    } catch (TimeoutException e) {
+                        if(future.cancel(true)) {
+                            long from = offset + (long) i * chunkSize;
+                            batch.notValidated(from, Math.min(from + chunkSize, offset + trades.size()));
+                        } else {
+                            validationDetails.addAll(future.get());
+                        }
+                    }
+                    continue;
+                }
+                validationDetails.addAll(future.get());
+            }
+            return batch.truncate(validationDetails);
+        } catch (RejectedExecutionException e) {
+            throw new ValidationRejectedException("Validation executor is overloaded", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validation is interrupted", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
         }
+    }
 
-        return null;
+    private Future<Map<Integer, MessageTextEnum>> detectDuplicates(List<Trade> trades, ValidationOptions options) {
+        if(!duplicateDetector.isEnabled() && !options.isDuplicates()) {
+            return null;
+        }
+        if(trades.size() < parallelThreshold) {
+            return CompletableFuture.completedFuture(duplicateDetector.detect(trades));
+        }
+        try {
+            return executor.submit(() -> duplicateDetector.detect(trades));
+        } catch (RejectedExecutionException e) {
+            throw new ValidationRejectedException("Validation executor is overloaded", e);
+        }
     }
 
-    private MessageTextEnum validateCcyPairCurrency(Trade trade) {
-        if(null != trade.getCcyPair() && !(trade.getCcyPair().length() == 6
-                && validCurrencies.contains(trade.getCcyPair().substring(0, 3))
-                && validCurrencies.contains(trade.getCcyPair().substring(3, 6)))) {
-            return CCYPAIR_IS_NOT_VALID;
+    /**
+     * Merge messages of duplicates to error reports of single trades.
+     * If validation is stopped by maxErrors, trades without error report are not necessarily validated by rules,
+     *      so their duplicates are not reported and response is truncated.
+     * Duplicates of trades, which are not validated because deadline expired, are not reported either.
+     * @param validationDetails error reports of single trades, in order of index
+     * @param trades batch of trades
+     * @param duplicates messages of duplicates by index of trade
+     * @param batch state of batch
+     * @return error reports in order of index
+     */
+    private List<ErrorReport> merge(List<ErrorReport> validationDetails, List<Trade> trades,
+                                    Map<Integer, MessageTextEnum> duplicates, Batch batch) {
+        if(duplicates.isEmpty()) {
+            return validationDetails;
+        }
+        duplicates.values().forEach(validationMetrics::recordFailure);
+
+        Map<Integer, MessageTextEnum> remaining = new HashMap<>(duplicates);
+        List<ErrorReport> merged = new ArrayList<>(validationDetails.size() + duplicates.size());
+        for(ErrorReport report : validationDetails) {
+            MessageTextEnum duplicate = remaining.remove((int) report.getIndex());
+            if(null == duplicate) {
+                merged.add(report);
+                continue;
+            }
+            long mask = duplicate.mask();
+            for(MessageTextEnum message : report.getMessages()) {
+                mask |= message.mask();
+            }
+            merged.add(new ErrorReport(report.getIndex(), report.getTrade(), mask));
         }
+        if(batch.isStopped()) {
+            if(!remaining.isEmpty()) {
+                batch.skipped();
+            }
+            return merged;
+        }
+        if(batch.hasNotValidated()) {
+            Set<Long> notValidated = new HashSet<>(batch.getNotValidated());
+            remaining.keySet().removeIf(index -> notValidated.contains((long) index));
+        }
+        remaining.forEach((index, duplicate) -> merged.add(new ErrorReport(index, trades.get(index), duplicate.mask())));
+        merged.sort(Comparator.comparingLong(ErrorReport::getIndex));
+        return merged;
+    }
 
-        return null;
+    /**
+     * Wait for result of future, but not after deadline of batch
+     * @return result or null, if deadline expired (then batch is timed out)
+     */
+    private static <T> T get(Future<T> future, Batch batch) {
+        try {
+            if(batch.hasDeadline()) {
+                return future.get(Math.max(batch.remainingNanos(), 0), TimeUnit.NANOSECONDS);
+            }
+            return future.get();
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            batch.timedOut();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validation is interrupted", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
     }
 
-    private MessageTextEnum validatePayCcyCurrency(Trade trade) {
-        if(null != trade.getPayCcy() && !validCurrencies.contains(trade.getPayCcy())) {
-            return PAYCCY_IS_NOT_VALID;
+    /**
+     * Validation of trades in range. Error report is created only for not valid trades,
+     *      valid trades are validated without any allocation.
+     * Validation of range stops, if validation of batch is stopped (in this or other range),
+     *      or if deadline of batch expires. Then remaining trades of range are marked as not validated.
+     */
+    private List<ErrorReport> validateRange(List<Trade> trades, int from, int to, long offset, Batch batch) {
+        if(columnar && !batch.options.isFirstErrorOnly() && !resultCache.isEnabled()) {
+            if(batch.isExpired()) {
+                batch.notValidated(offset + from, offset + to);
+                return new ArrayList<>();
+            }
+            return validateColumns(trades, from, to, offset, batch);
         }
 
-        return null;
+        List<ErrorReport> validationDetails = new ArrayList<>();
+        int i = from;
+        for(; i < to && !batch.isStopped(); i++) {
+            if(batch.isExpired()) {
+                batch.notValidated(offset + i, offset + to);
+                return validationDetails;
+            }
+            Trade trade = trades.get(i);
+            long mask = validate(trade, batch);
+            if(mask != 0) {
+                validationDetails.add(new ErrorReport(offset + i, trade, mask));
+                batch.failed();
+            }
+        }
+        if(i < to) {
+            batch.skipped();
+        }
+        return validationDetails;
     }
 
-    private MessageTextEnum validatePremiumCcyCurrency(Trade trade) {
-        if(null != trade.getPremiumCcy() && !validCurrencies.contains(trade.getPremiumCcy())) {
-            return PREMIUMCCY_IS_NOT_VALID;
+    /**
+     * Validation of trades in range in columnar mode (see TradeColumns): range is converted to columns,
+     *      and every rule is applied to whole range at once.
+     */
+    private List<ErrorReport> validateColumns(List<Trade> trades, int from, int to, long offset, Batch batch) {
+        long[] masks = ruleOrdering.getExecutionPlan().validate(new TradeColumns(trades, from, to), batch.referenceData,
+                validationMetrics);
+
+        List<ErrorReport> validationDetails = new ArrayList<>();
+        int i = 0;
+        for(; i < masks.length && !batch.isStopped(); i++) {
+            if(masks[i] != 0) {
+                validationDetails.add(new ErrorReport(offset + from + i, trades.get(from + i), masks[i]));
+                batch.failed();
+            }
         }
-
-        return null;
+        for(; i < masks.length; i++) {
+            if(masks[i] != 0) {
+                batch.skipped();
+                break;
+            }
+        }
+        return validationDetails;
     }
 
     /**
-     * Validate if valueDate is not empty.... in case of type is "SPOT" or "FORWARD"
+     * Validation of single trade by current execution plan (see RuleOrdering).
+     * If result cache is enabled, trade, which was already validated with the same reference data, isn't validated again.
      * @param trade data, which should be validated.
-     * @return message, if trade is not valid
+     * @param batch state of batch
+     * @return bitmask of messages (see MessageTextEnum.mask()), with explanation why this trade are not valid or 0 if it's valid
      */
-    private MessageTextEnum validateValueDate(Trade trade) {
-        if(null == trade.getValueDate()) {
-            return VALUE_DATE_IS_EMPTY;
+    private long validate(Trade trade, Batch batch) {
+        boolean firstErrorOnly = batch.options.isFirstErrorOnly();
+        ExecutionPlan executionPlan = ruleOrdering.getExecutionPlan();
+        if(!resultCache.isEnabled()) {
+            return executionPlan.validate(trade, batch.referenceData, validationMetrics.sampleRuleTiming(),
+                    firstErrorOnly, validationMetrics);
         }
 
-        return null;
+        ResultCache.Key key = resultCache.key(trade, batch.referenceData);
+        Map<String, MessageTextEnum> failures = resultCache.get(key);
+        if(null != failures) {
+            return executionPlan.replay(trade, failures, firstErrorOnly, validationMetrics);
+        }
+        if(firstErrorOnly) {
+            return executionPlan.validate(trade, batch.referenceData, validationMetrics.sampleRuleTiming(),
+                    true, validationMetrics);
+        }
+
+        failures = executionPlan.validate(trade, batch.referenceData, validationMetrics.sampleRuleTiming(), validationMetrics);
+        resultCache.put(key, failures);
+        long mask = 0;
+        for(MessageTextEnum message : failures.values()) {
+            mask |= message.mask();
+        }
+        return mask;
     }
 
     /**
-     * Validate Style in case of type is "OPTION".
-     *      If value = "AMERICAN" or "EUROPEAN", then valid.
-     * Validate ExcerciseStartDate, in case of value = "AMERICAN"
-     *      It should not be empty, and should be after tradeDate, but before ExpiryDate
-     * @param trade data, which should be validated.
-     * @return message, if trade is not valid
+     * State of validation of one batch: snapshot of reference data, which is taken once for whole batch,
+     *      options, number of not valid trades and deadline, which are shared by all chunks of batch.
      */
-    private MessageTextEnum validateStyleAndExcerciseStartDate(Trade trade) {
-        if(null == trade.getStyle() || (!trade.getStyle().equalsIgnoreCase(STYLE_AMERICAN)
-                && !trade.getStyle().equalsIgnoreCase(STYLE_EUROPEAN))) {
-            return STYLE_IS_NOT_VALID_FOR_OPTION;
+    private static class Batch {
+        private final ReferenceData referenceData;
+        private final ValidationOptions options;
+        private final int errorLimit;
+        private final AtomicLong failed = new AtomicLong();
+        private final LongSupplier clock;
+        private final long deadline;
+        private final List<long[]> notValidated = new ArrayList<>();
+        private volatile boolean stopped;
+        private volatile boolean truncated;
+        private volatile boolean expired;
+        private volatile boolean timedOut;
+        private long reported;
+
+        private Batch(ReferenceData referenceData, ValidationOptions options, LongSupplier clock) {
+            this.referenceData = referenceData;
+            this.options = options;
+            this.errorLimit = options.getErrorLimit();
+            this.clock = clock;
+            this.deadline = clock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(options.getTimeout());
         }
 
-        if(trade.getStyle().equalsIgnoreCase(STYLE_AMERICAN)) {
-            if(null == trade.getExcerciseStartDate()) {
-                return EXCERCISE_START_DATE_IS_EMPTY;
-            }
+        private boolean hasDeadline() {
+            return options.getTimeout() > 0;
+        }
 
-            if(null != trade.getTradeDate() && null != trade.getExpiryDate()
-                    && trade.getExcerciseStartDate().isBefore(trade.getTradeDate())) {
-                return EXCERCISE_START_DATE_IS_BEFORE_TRADE_DATE;
+        private long remainingNanos() {
+            return deadline - clock.getAsLong();
+        }
+
+        private boolean isExpired() {
+            if(!expired && hasDeadline() && remainingNanos() <= 0) {
+                expired = true;
             }
+            return expired;
+        }
+
+        /**
+         * @return true, if validation should stop, because it's stopped by maxErrors or deadline expired
+         */
+        private boolean isCancelled() {
+            return stopped || isExpired();
+        }
 
-            if(null != trade.getTradeDate() && null != trade.getExpiryDate()
-                    && trade.getExcerciseStartDate().isAfter(trade.getExpiryDate())) {
-                return EXCERCISE_START_DATE_IS_AFTER_EXPIRY_DATE;
+        /**
+         * Trades of range are not validated, because deadline expired
+         * @param from index of first trade in batch
+         * @param to index after last trade
+         */
+        private void notValidated(long from, long to) {
+            synchronized (notValidated) {
+                notValidated.add(new long[]{from, to});
             }
+            timedOut = true;
         }
 
-        return null;
-    }
+        /**
+         * Validation of batch isn't complete (e.g. trades are not validated or duplicates are not detected),
+         *      because deadline expired
+         */
+        private void timedOut() {
+            timedOut = true;
+        }
+
+        private boolean isTimedOut() {
+            return timedOut;
+        }
 
-    private MessageTextEnum validateExpiryPremiumDeliveryDate(Trade trade) {
-        if(null != trade.getDeliveryDate()) {
-            if(null != trade.getExpiryDate() && trade.getExpiryDate().isAfter(trade.getDeliveryDate())) {
-                return EXPIRY_DATE_IS_AFTER_DELIVERY_DATE;
+        private boolean hasNotValidated() {
+            synchronized (notValidated) {
+                return !notValidated.isEmpty();
             }
+        }
 
-            if(null != trade.getPremiumDate() && trade.getPremiumDate().isAfter(trade.getDeliveryDate())) {
-                return PREMIUM_DATE_IS_AFTER_DELIVERY_DATE;
+        /**
+         * Ranges can overlap, because range can be marked by chunk, which is just cancelled, and by thread,
+         *      which cancelled it.
+         * @return sorted indexes of trades, which are not validated
+         */
+        private List<Long> getNotValidated() {
+            List<long[]> ranges;
+            synchronized (notValidated) {
+                ranges = new ArrayList<>(notValidated);
             }
+            ranges.sort(Comparator.comparingLong(range -> range[0]));
+
+            List<Long> indexes = new ArrayList<>();
+            long next = Long.MIN_VALUE;
+            for(long[] range : ranges) {
+                for(long index = Math.max(range[0], next); index < range[1]; index++) {
+                    indexes.add(index);
+                }
+                next = Math.max(next, range[1]);
+            }
+            return indexes;
         }
 
-        return null;
-    }
+        private void failed() {
+            if(errorLimit > 0 && failed.incrementAndGet() >= errorLimit) {
+                stopped = true;
+            }
+        }
+
+        private boolean isStopped() {
+            return stopped;
+        }
 
-    private MessageTextEnum validateLegalEntity(Trade trade) {
-        if(null == trade.getLegalEntity() || !legalEntites.contains(trade.getLegalEntity())) {
-            return LEGAL_ENTITY_IS_NOT_VALID;
+        /**
+         * Trades are skipped or not valid trades are not reported, because validation is stopped by maxErrors
+         */
+        private void skipped() {
+            truncated = true;
         }
 
-        return null;
+        private boolean isTruncated() {
+            return truncated;
+        }
+
+        /**
+         * Limit of error reports, which are merged after validation (e.g. with duplicates)
+         */
+        private List<ErrorReport> limit(List<ErrorReport> validationDetails) {
+            if(errorLimit > 0 && validationDetails.size() > errorLimit) {
+                stopped = true;
+                truncated = true;
+                return new ArrayList<>(validationDetails.subList(0, errorLimit));
+            }
+            return validationDetails;
+        }
+
+        /**
+         * Parallel chunks can find more not valid trades, than limit, before they are stopped.
+         * Note: it's called in order of chunks by thread, which merges results.
+         */
+        private List<ErrorReport> truncate(List<ErrorReport> validationDetails) {
+            if(errorLimit > 0 && reported + validationDetails.size() > errorLimit) {
+                validationDetails = new ArrayList<>(validationDetails.subList(0, (int) Math.max(errorLimit - reported, 0)));
+                truncated = true;
+            }
+            reported += validationDetails.size();
+            return validationDetails;
+        }
     }
 }
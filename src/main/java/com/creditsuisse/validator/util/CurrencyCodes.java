@@ -0,0 +1,60 @@
+package com.creditsuisse.validator.util;
+
+/**
+ * Encoding of ISO 4217 currency codes (3 upper case latin letters) to int in range [0, SIZE).
+ * Encoding works directly on chars, so currencies can be read from ccyPair without substring.
+ */
+public final class CurrencyCodes {
+
+    public static final int NOT_VALID = -1;
+    public static final int SIZE = 26 * 26 * 26;
+
+    private CurrencyCodes() {
+    }
+
+    /**
+     * Encode currency code
+     * @param currency currency code, e.g. "USD"
+     * @return encoded currency or NOT_VALID, if input is not 3 upper case latin letters
+     */
+    public static int encode(CharSequence currency) {
+        if(null == currency || currency.length() != 3) {
+            return NOT_VALID;
+        }
+        return encode(currency, 0);
+    }
+
+    /**
+     * Encode currency code, which is part of some text. E.g. second currency of "EURUSD" is encode("EURUSD", 3)
+     * @param text text, which contains currency code
+     * @param offset position of currency code in text
+     * @return encoded currency or NOT_VALID, if there are no 3 upper case latin letters at offset
+     */
+    public static int encode(CharSequence text, int offset) {
+        if(null == text || offset < 0 || text.length() < offset + 3) {
+            return NOT_VALID;
+        }
+
+        int code = 0;
+        for(int i = offset; i < offset + 3; i++) {
+            char c = text.charAt(i);
+            if(c < 'A' || c > 'Z') {
+                return NOT_VALID;
+            }
+            code = code * 26 + (c - 'A');
+        }
+        return code;
+    }
+
+    /**
+     * Decode currency code
+     * @param code encoded currency
+     * @return currency code, e.g. "USD"
+     */
+    public static String decode(int code) {
+        if(code < 0 || code >= SIZE) {
+            throw new IllegalArgumentException("Not valid currency code: " + code);
+        }
+        return new String(new char[] {(char) ('A' + code / 676), (char) ('A' + code / 26 % 26), (char) ('A' + code % 26)});
+    }
+}
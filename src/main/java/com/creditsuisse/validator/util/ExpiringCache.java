@@ -0,0 +1,87 @@
+package com.creditsuisse.validator.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread safe cache with time to live and (approximate) max size.
+ * Expired values are still kept until they are evicted, so they can be used as last known value (see getStale).
+ * When cache grows over max size, expired values are evicted first, and then arbitrary values, until it's 90% full.
+ */
+public class ExpiringCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxSize;
+
+    /**
+     * @param ttlMillis time to live of value in milliseconds
+     * @param maxSize max number of values in cache
+     */
+    public ExpiringCache(long ttlMillis, int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param key key
+     * @return value, if it's in cache and not expired, otherwise null
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if(null == entry || entry.expiresAt < System.currentTimeMillis()) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * @param key key
+     * @return value, if it's in cache even if it's expired, otherwise null
+     */
+    public V getStale(K key) {
+        Entry<V> entry = entries.get(key);
+        return null == entry ? null : entry.value;
+    }
+
+    public void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+        if(entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt < now);
+
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while(entries.size() > maxSize * 9 / 10 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
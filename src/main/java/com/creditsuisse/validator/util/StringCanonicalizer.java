@@ -0,0 +1,102 @@
+package com.creditsuisse.validator.util;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Set of canonical strings (e.g. currencies, customers, legal entities), which are looked up directly
+ *      from characters of parser buffer. So known value is returned as shared instance without allocation
+ *      of new String, and only unknown value is allocated.
+ * Strings are stored in immutable open addressing table with hash of String.hashCode(). Set can be replaced
+ *      (e.g. when reference data are reloaded), then new table is published atomically and readers never lock.
+ */
+public class StringCanonicalizer {
+
+    private volatile Table table;
+
+    /**
+     * @param values canonical values
+     */
+    public StringCanonicalizer(Collection<String> values) {
+        this.table = new Table(values);
+    }
+
+    /**
+     * Replace canonical values
+     * @param values new canonical values
+     */
+    public void reset(Collection<String> values) {
+        this.table = new Table(values);
+    }
+
+    /**
+     * @param chars buffer with characters of value
+     * @param offset offset of value in buffer
+     * @param length length of value
+     * @return canonical instance, if value is known, otherwise new String
+     */
+    public String canonicalize(char[] chars, int offset, int length) {
+        int hash = 0;
+        for(int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[offset + i];
+        }
+
+        Table current = table;
+        for(int index = hash & current.mask; null != current.values[index]; index = (index + 1) & current.mask) {
+            if(matches(current.values[index], chars, offset, length)) {
+                return current.values[index];
+            }
+        }
+        return new String(chars, offset, length);
+    }
+
+    /**
+     * @param value value
+     * @return canonical instance, if value is known, otherwise value itself
+     */
+    public String canonicalize(String value) {
+        if(null == value) {
+            return null;
+        }
+        Table current = table;
+        for(int index = value.hashCode() & current.mask; null != current.values[index]; index = (index + 1) & current.mask) {
+            if(current.values[index].equals(value)) {
+                return current.values[index];
+            }
+        }
+        return value;
+    }
+
+    private static boolean matches(String value, char[] chars, int offset, int length) {
+        if(value.length() != length) {
+            return false;
+        }
+        for(int i = 0; i < length; i++) {
+            if(value.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Table {
+        private final String[] values;
+        private final int mask;
+
+        private Table(Collection<String> values) {
+            Set<String> distinct = new LinkedHashSet<>(values);
+            int capacity = Integer.highestOneBit(Math.max(distinct.size(), 1) * 4 - 1) << 1;
+            this.values = new String[capacity];
+            this.mask = capacity - 1;
+
+            for(String value : distinct) {
+                int index = value.hashCode() & mask;
+                while(null != this.values[index]) {
+                    index = (index + 1) & mask;
+                }
+                this.values[index] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.creditsuisse.validator.calendar;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HolidayCalendarsTest {
+
+    private final HolidayCalendars calendars = new HolidayCalendars(getHolidays(), "USD");
+
+    @Test
+    public void weekendTest() {
+        assertFalse(calendars.isWorkingDay(LocalDate.of(2017, 1, 7)));
+        assertFalse(calendars.isWorkingDay(LocalDate.of(2017, 1, 8)));
+        assertTrue(calendars.isWorkingDay(LocalDate.of(2017, 1, 9)));
+        assertFalse(calendars.isWorkingDay(LocalDate.of(2030, 1, 5)));
+        assertTrue(calendars.isWorkingDay(LocalDate.of(1999, 1, 4)));
+    }
+
+    @Test
+    public void holidayTest() {
+        assertFalse(calendars.isWorkingDay(LocalDate.of(2017, 7, 4)));
+        assertTrue(calendars.isWorkingDay(LocalDate.of(2018, 7, 3)));
+        assertFalse(calendars.isWorkingDay(LocalDate.of(2018, 7, 4)));
+        assertTrue(calendars.get("EUR").isWorkingDay(LocalDate.of(2018, 7, 4)));
+        assertTrue(calendars.get("AUD").isWorkingDay(LocalDate.of(2018, 7, 4)));
+    }
+
+    @Test
+    public void jointCalendarTest() {
+        assertFalse(calendars.isWorkingDay(LocalDate.of(2018, 7, 4), "EURUSD"));
+        assertFalse(calendars.isWorkingDay(LocalDate.of(2018, 5, 1), "EURUSD"));
+        assertTrue(calendars.isWorkingDay(LocalDate.of(2018, 5, 1), "GBPUSD"));
+        assertTrue(calendars.isWorkingDay(LocalDate.of(2018, 7, 4), "EURGBP"));
+        assertFalse(calendars.isWorkingDay(LocalDate.of(2018, 7, 4), null));
+    }
+
+    @Test
+    public void addBusinessDaysTest() {
+        assertEquals(LocalDate.of(2018, 7, 5), calendars.addBusinessDays(LocalDate.of(2018, 7, 2), 2, "EURUSD"));
+        assertEquals(LocalDate.of(2018, 5, 3), calendars.addBusinessDays(LocalDate.of(2018, 4, 27), 3, "EURUSD"));
+        assertEquals(LocalDate.of(2018, 4, 27), calendars.addBusinessDays(LocalDate.of(2018, 5, 3), -3, "EURUSD"));
+        assertEquals(LocalDate.of(2018, 5, 2), calendars.addBusinessDays(LocalDate.of(2018, 4, 27), 3, "GBPUSD"));
+    }
+
+    @Test
+    public void spotDateTest() {
+        SettlementCalendar settlementCalendar = new HolidayCalendars(getHolidays(), "USD",
+                Collections.singletonList("USDCAD")).getSettlementCalendar();
+
+        assertEquals(LocalDate.of(2018, 7, 5), settlementCalendar.spotDate(LocalDate.of(2018, 7, 2), "EURUSD"));
+        assertEquals(LocalDate.of(2018, 7, 10), settlementCalendar.spotDate(LocalDate.of(2018, 7, 6), "EURUSD"));
+        assertEquals(LocalDate.of(2018, 7, 5), settlementCalendar.spotDate(LocalDate.of(2018, 7, 3), "USDCAD"));
+        assertEquals(LocalDate.of(2018, 7, 5), settlementCalendar.spotDate(LocalDate.of(2018, 7, 3), "CADUSD"));
+        assertEquals(LocalDate.of(2030, 1, 8), settlementCalendar.spotDate(LocalDate.of(2030, 1, 4), "EURUSD"));
+        assertEquals(1, settlementCalendar.getSpotDays("CADUSD"));
+        assertNull(settlementCalendar.spotDate(LocalDate.of(2018, 7, 2), "EUR/USD"));
+    }
+
+    private static Map<String, List<LocalDate>> getHolidays() {
+        Map<String, List<LocalDate>> holidays = new HashMap<>();
+        holidays.put("USD", Arrays.asList(LocalDate.of(2017, 7, 4), LocalDate.of(2018, 7, 4)));
+        holidays.put("EUR", Arrays.asList(LocalDate.of(2018, 5, 1)));
+        return holidays;
+    }
+}
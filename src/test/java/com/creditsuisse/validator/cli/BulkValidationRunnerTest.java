@@ -0,0 +1,61 @@
+package com.creditsuisse.validator.cli;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "cli.input=target/cli/trades.csv", "cli.output=target/cli/errors.ndjson", "cli.regionSize=200"})
+@DirtiesContext
+public class BulkValidationRunnerTest {
+
+    private static final String HEADER = "customer,ccyPair,type,direction,tradeDate,amount1,amount2,rate,valueDate,legalEntity,trader";
+    private static final String VALID_TRADE = "PLUTO1,EURUSD,Spot,BUY,2016-08-11,1000000.00,1120000.00,1.12,2016-08-15,\"CS Zurich\",Johann Baumfiddler";
+    private static final String NOT_VALID_TRADE = VALID_TRADE.replace("PLUTO1", "PLUTO3");
+
+    @Autowired
+    private BulkValidationRunner bulkValidationRunner;
+
+    @BeforeClass
+    public static void writeInput() throws IOException {
+        StringBuilder input = new StringBuilder(HEADER).append("\r\n");
+        for(int i = 0; i < 20; i++) {
+            if(i == 5) {
+                input.append(VALID_TRADE.replace("2016-08-11", "11.08.2016")).append("\r\n");
+                continue;
+            }
+            input.append(i % 7 == 3 ? NOT_VALID_TRADE : VALID_TRADE).append("\r\n");
+        }
+        Path file = Paths.get("target/cli/trades.csv");
+        Files.createDirectories(file.getParent());
+        Files.write(file, input.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void csvTest() throws IOException {
+        List<String> reports = Files.readAllLines(Paths.get("target/cli/errors.ndjson"));
+
+        assertEquals(4, reports.size());
+        assertTrue(reports.get(0).startsWith("{\"index\":3,"));
+        assertTrue(reports.get(1).startsWith("{\"index\":5,\"error\":"));
+        assertTrue(reports.get(2).startsWith("{\"index\":10,"));
+        assertTrue(reports.get(3).startsWith("{\"index\":17,"));
+        assertTrue(reports.get(3).contains("\"legalEntity\":\"CS Zurich\""));
+        assertEquals(1, bulkValidationRunner.getExitCode());
+    }
+}
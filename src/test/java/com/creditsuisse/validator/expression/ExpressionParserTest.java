@@ -0,0 +1,103 @@
+package com.creditsuisse.validator.expression;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.rules.ProductType;
+import com.creditsuisse.validator.rules.TradeField;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ExpressionParserTest {
+
+    @Test
+    public void compiledSameAsInterpretedTest() throws Throwable {
+        List<String> conditions = Arrays.asList(
+                "amount1 > 0",
+                "amount1 = 1000000",
+                "rate >= 1.1 and rate < 1.2",
+                "valueDate > tradeDate",
+                "not (payCcy is null) or ccyPair in ('EURUSD', 'GBPUSD')",
+                "payCcy is not null and payCcy not in ('USD')",
+                "tradeDate != '2016-08-11' or NOT direction = 'SELL'",
+                "premium <= -0.5 OR customer = 'PLUTO1' AND legalEntity is null");
+
+        for(String text : conditions) {
+            Expression condition = ExpressionParser.parse(text);
+            for(Trade trade : trades()) {
+                assertEquals(text, condition.evaluate(trade), (boolean) condition.compile().invokeExact(trade));
+            }
+        }
+    }
+
+    @Test
+    public void evaluateTest() {
+        Trade trade = trades().get(0);
+        assertEquals(true, ExpressionParser.parse("amount1 = 1000000 and amount1 > 999999.99").evaluate(trade));
+        assertEquals(false, ExpressionParser.parse("premium > 0").evaluate(trade));
+        assertEquals(true, ExpressionParser.parse("premium is null").evaluate(trade));
+        assertEquals(true, ExpressionParser.parse("'2016-08-15' = valueDate").evaluate(trade));
+        assertEquals(EnumSet.of(TradeField.VALUE_DATE, TradeField.TRADE_DATE),
+                ExpressionParser.parse("valueDate > tradeDate").getFields());
+    }
+
+    @Test
+    public void ruleTest() {
+        ExpressionRule rule = new ExpressionRule("positiveAmounts", EnumSet.of(ProductType.SPOT),
+                ExpressionParser.parse("amount1 > 0 and amount2 > 0"), MessageTextEnum.RULE_IS_VIOLATED);
+        Trade trade = trades().get(0);
+
+        assertNull(rule.validate(trade, null));
+        trade.setAmount2(BigDecimal.ZERO);
+        assertEquals(MessageTextEnum.RULE_IS_VIOLATED, rule.validate(trade, null));
+        assertEquals(EnumSet.of(TradeField.AMOUNT1, TradeField.AMOUNT2), rule.getFields());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownFieldTest() {
+        ExpressionParser.parse("amount3 > 0");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongLiteralTypeTest() {
+        ExpressionParser.parse("valueDate > 0");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notClosedTest() {
+        ExpressionParser.parse("(amount1 > 0 and rate > 0");
+    }
+
+    private static List<Trade> trades() {
+        Trade spot = new Trade();
+        spot.setCustomer("PLUTO1");
+        spot.setCcyPair("EURUSD");
+        spot.setDirection("BUY");
+        spot.setTradeDate(LocalDate.of(2016, 8, 11));
+        spot.setValueDate(LocalDate.of(2016, 8, 15));
+        spot.setAmount1(new BigDecimal("1000000.00"));
+        spot.setAmount2(new BigDecimal("1120000.00"));
+        spot.setRate(1.12);
+        spot.setLegalEntity("CS Zurich");
+
+        Trade option = new Trade();
+        option.setCustomer("PLUTO2");
+        option.setCcyPair("USDJPY");
+        option.setDirection("SELL");
+        option.setTradeDate(LocalDate.of(2016, 8, 12));
+        option.setValueDate(LocalDate.of(2016, 8, 10));
+        option.setAmount1(new BigDecimal("-5"));
+        option.setRate(1.25);
+        option.setPayCcy("USD");
+        option.setPremium(-0.75);
+
+        return Arrays.asList(spot, option, new Trade());
+    }
+}
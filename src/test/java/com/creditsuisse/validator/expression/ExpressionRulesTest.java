@@ -0,0 +1,74 @@
+package com.creditsuisse.validator.expression;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.rules.ProductType;
+import com.creditsuisse.validator.rules.TradeField;
+import com.creditsuisse.validator.rules.TradeRule;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExpressionRulesTest {
+
+    @Test
+    public void initTest() {
+        List<TradeRule> rules = init(new MockEnvironment()
+                .withProperty("validation.expressions", " positiveAmount, ,forwardRate ")
+                .withProperty("validation.expressions.positiveAmount", "amount1 > 0")
+                .withProperty("validation.expressions.forwardRate", "rate is not null")
+                .withProperty("validation.expressions.forwardRate.productTypes", "spot, Forward")
+                .withProperty("validation.expressions.forwardRate.message", " CP1 "));
+
+        assertEquals(2, rules.size());
+        ExpressionRule positiveAmount = (ExpressionRule) rules.get(0);
+        assertEquals("positiveAmount", positiveAmount.getName());
+        assertEquals(EnumSet.allOf(ProductType.class), positiveAmount.getProductTypes());
+        assertEquals(EnumSet.of(TradeField.AMOUNT1), positiveAmount.getFields());
+
+        ExpressionRule forwardRate = (ExpressionRule) rules.get(1);
+        assertEquals("forwardRate", forwardRate.getName());
+        assertEquals(EnumSet.of(ProductType.SPOT, ProductType.FORWARD), forwardRate.getProductTypes());
+        assertEquals(MessageTextEnum.CCYPAIR_IS_NOT_VALID, forwardRate.validate(new Trade(), null));
+        assertEquals(MessageTextEnum.RULE_IS_VIOLATED, positiveAmount.validate(new Trade(), null));
+    }
+
+    @Test
+    public void noRulesTest() {
+        assertTrue(init(new MockEnvironment()).isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void missingConditionTest() {
+        init(new MockEnvironment().withProperty("validation.expressions", "positiveAmount"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unknownMessageTest() {
+        init(new MockEnvironment()
+                .withProperty("validation.expressions", "positiveAmount")
+                .withProperty("validation.expressions.positiveAmount", "amount1 > 0")
+                .withProperty("validation.expressions.positiveAmount.message", "XX1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownProductTypeTest() {
+        init(new MockEnvironment()
+                .withProperty("validation.expressions", "positiveAmount")
+                .withProperty("validation.expressions.positiveAmount", "amount1 > 0")
+                .withProperty("validation.expressions.positiveAmount.productTypes", "SPOT,SWAP"));
+    }
+
+    private static List<TradeRule> init(MockEnvironment environment) {
+        ExpressionRules expressionRules = new ExpressionRules();
+        ReflectionTestUtils.setField(expressionRules, "environment", environment);
+        expressionRules.init();
+        return expressionRules.getRules();
+    }
+}
@@ -0,0 +1,60 @@
+package com.creditsuisse.validator.integration;
+
+import com.creditsuisse.validator.integration.stub.HolidayServiceStub;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {"fixer.remote.enabled=true", "fixer.remote.stub.enabled=true",
+        "fixer.remote.circuitBreaker.failureThreshold=1"})
+public class RemoteFixerFacadeTest {
+
+    @Autowired
+    private FixerFacade fixerFacade;
+
+    @Autowired
+    private HolidayServiceStub holidayServiceStub;
+
+    @Test
+    public void bulkCallTest() {
+        assertTrue(fixerFacade instanceof RemoteFixerFacade);
+        int requestCount = holidayServiceStub.getRequestCount();
+
+        fixerFacade.prefetch(Arrays.asList(LocalDate.of(2018, 7, 4), LocalDate.of(2018, 5, 1), LocalDate.of(2018, 5, 2)));
+        assertFalse(fixerFacade.isWorkingDay(LocalDate.of(2018, 7, 4), "EURUSD"));
+        assertFalse(fixerFacade.isWorkingDay(LocalDate.of(2018, 5, 1), "EURUSD"));
+        assertTrue(fixerFacade.isWorkingDay(LocalDate.of(2018, 5, 1), "GBPUSD"));
+        assertTrue(fixerFacade.isWorkingDay(LocalDate.of(2018, 5, 2), "EURUSD"));
+        assertEquals(requestCount + 1, holidayServiceStub.getRequestCount());
+
+        fixerFacade.prefetch(Arrays.asList(LocalDate.of(2018, 7, 4), LocalDate.of(2018, 5, 1)));
+        assertEquals(requestCount + 1, holidayServiceStub.getRequestCount());
+
+        // not valid currency pair uses default calendar (USD), as local calendars
+        assertFalse(fixerFacade.isWorkingDay(LocalDate.of(2018, 7, 4), "EU1GBP"));
+        assertTrue(fixerFacade.isWorkingDay(LocalDate.of(2018, 5, 1), "EU1EUR"));
+    }
+
+    @Test
+    @DirtiesContext
+    public void fallbackTest() {
+        fixerFacade.prefetch(Arrays.asList(LocalDate.of(2019, 7, 4)));
+        holidayServiceStub.stop();
+
+        assertFalse(fixerFacade.isWorkingDay(LocalDate.of(2019, 7, 4), "EURUSD"));
+        assertFalse(fixerFacade.isWorkingDay(LocalDate.of(2019, 12, 25), "EURUSD"));
+        assertTrue(fixerFacade.isWorkingDay(LocalDate.of(2019, 12, 27), "EURUSD"));
+        assertTrue(((RemoteFixerFacade) fixerFacade).isCircuitOpen());
+    }
+}
@@ -0,0 +1,112 @@
+package com.creditsuisse.validator.io;
+
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.rules.TradeField;
+import com.creditsuisse.validator.util.StringCanonicalizer;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class BinaryTradeReaderTest {
+
+    private static final String OPTION_TRADE = "{\"tradeId\":\"T1\",\"customer\":\"PLUTO1\",\"ccyPair\":\"EURUSD\","
+            + "\"type\":\"VanillaOption\",\"style\":\"AMERICAN\",\"direction\":\"BUY\",\"strategy\":\"CALL\","
+            + "\"tradeDate\":\"2016-08-11\",\"amount1\":1000000.00,\"amount2\":1120000.00,\"rate\":1.12,"
+            + "\"deliveryDate\":\"2016-08-22\",\"expiryDate\":\"2016-08-19\",\"excerciseStartDate\":\"2016-08-12\","
+            + "\"payCcy\":\"USD\",\"premium\":0.20,\"premiumCcy\":\"USD\",\"premiumType\":\"%USD\","
+            + "\"premiumDate\":\"2016-08-12\",\"legalEntity\":\"CS Zurich\",\"trader\":\"Johann Baumfiddler\"}";
+
+    private static final String SPOT_TRADE = "{\"customer\":\"PLUTO2\",\"ccyPair\":\"EURUSD\",\"type\":\"Spot\","
+            + "\"direction\":\"SELL\",\"tradeDate\":\"2016-08-11\",\"amount1\":1E+6,\"amount2\":-0.000000000001,"
+            + "\"rate\":1.12,\"valueDate\":\"2016-08-15\",\"legalEntity\":\"CS Zurich\",\"trader\":\"Rosie Blue\"}";
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final StringCanonicalizer canonicalizer =
+            new StringCanonicalizer(Arrays.asList("PLUTO1", "EURUSD", "USD", "CS Zurich"));
+
+    @Test
+    public void roundTripTest() throws Exception {
+        List<Trade> trades = Arrays.asList(
+                mapper.readValue(OPTION_TRADE, Trade.class),
+                mapper.readValue(SPOT_TRADE, Trade.class),
+                new Trade());
+
+        assertEquals(mapper.writeValueAsString(trades), mapper.writeValueAsString(roundTrip(trades)));
+    }
+
+    @Test
+    public void textFallbackTest() throws Exception {
+        Trade trade = mapper.readValue(OPTION_TRADE, Trade.class);
+        trade.setAmount1(new BigDecimal("123456789012345678901234567890.5"));
+        trade.setAmount2(new BigDecimal("1E+200"));
+        trade.setPayCcy("US");
+        trade.setPremiumCcy("€UR");
+        trade.setCcyPair("EUR/USD");
+        trade.setTrader("Jürg Müller");
+
+        List<Trade> trades = Arrays.asList(trade);
+        assertEquals(mapper.writeValueAsString(trades), mapper.writeValueAsString(roundTrip(trades)));
+    }
+
+    @Test
+    public void textBitTest() throws Exception {
+        Trade trade = mapper.readValue(OPTION_TRADE, Trade.class);
+        assertEquals(0, textBits(trade));
+
+        trade.setAmount1(new BigDecimal("1E+200"));
+        trade.setPayCcy("US");
+        trade.setTrader("Jürg Müller");
+        assertEquals((1 << TradeField.AMOUNT1.ordinal()) | (1 << TradeField.PAY_CCY.ordinal()), textBits(trade));
+    }
+
+    @Test
+    public void canonicalValuesTest() throws Exception {
+        List<Trade> trades = roundTrip(Arrays.asList(
+                mapper.readValue(OPTION_TRADE, Trade.class), mapper.readValue(OPTION_TRADE, Trade.class)));
+
+        assertSame(trades.get(0).getLegalEntity(), trades.get(1).getLegalEntity());
+        assertSame(trades.get(0).getPayCcy(), trades.get(1).getPayCcy());
+        assertSame(trades.get(0).getTradeDate(), trades.get(1).getTradeDate());
+    }
+
+    @Test(expected = BinaryFormatException.class)
+    public void truncatedRecordTest() throws Exception {
+        byte[] bytes = BinaryTradeWriter.encode(Arrays.asList(mapper.readValue(OPTION_TRADE, Trade.class)));
+        roundTrip(Arrays.copyOf(bytes, bytes.length - 1));
+    }
+
+    @Test(expected = BinaryFormatException.class)
+    public void wrongMagicTest() throws Exception {
+        roundTrip("[{}]".getBytes("UTF-8"));
+    }
+
+    private static int textBits(Trade trade) {
+        // magic, length and present precede text bits of the first record
+        return ByteBuffer.wrap(BinaryTradeWriter.encode(Arrays.asList(trade))).getInt(BinaryTradeFormat.MAGIC.length + 8);
+    }
+
+    private List<Trade> roundTrip(List<Trade> trades) {
+        return roundTrip(BinaryTradeWriter.encode(trades));
+    }
+
+    private List<Trade> roundTrip(byte[] bytes) {
+        List<Trade> trades = new ArrayList<>();
+        new BinaryTradeReader(ByteBuffer.wrap(bytes), canonicalizer).forEachRemaining(trades::add);
+        return trades;
+    }
+}
@@ -0,0 +1,64 @@
+package com.creditsuisse.validator.io;
+
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.util.StringCanonicalizer;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TradeDeserializerTest {
+
+    private static final String OPTION_TRADE = "{\"tradeId\":\"T1\",\"customer\":\"PLUTO1\",\"ccyPair\":\"EURUSD\","
+            + "\"type\":\"VanillaOption\",\"style\":\"AMERICAN\",\"direction\":\"BUY\",\"strategy\":\"CALL\","
+            + "\"tradeDate\":\"2016-08-11\",\"amount1\":1000000.00,\"amount2\":\"1120000.00\",\"rate\":1.12,"
+            + "\"deliveryDate\":\"2016-08-22\",\"expiryDate\":[2016,8,19],\"excerciseStartDate\":\"2016-08-12\","
+            + "\"payCcy\":\"USD\",\"premium\":0.20,\"premiumCcy\":\"USD\",\"premiumType\":\"%USD\","
+            + "\"premiumDate\":\"2016-08-12\",\"valueDate\":null,\"legalEntity\":\"CS Zurich\","
+            + "\"trader\":\"Johann Baumfiddler\",\"unknown\":{\"nested\":[1,2]}}";
+
+    private final ObjectMapper defaultMapper = mapper();
+    private final ObjectMapper customMapper = mapper().registerModule(new SimpleModule()
+            .addDeserializer(Trade.class, new TradeDeserializer(
+                    new StringCanonicalizer(Arrays.asList("PLUTO1", "EURUSD", "USD", "CS Zurich")))));
+
+    @Test
+    public void sameAsDefaultBindingTest() throws Exception {
+        ObjectMapper writer = mapper();
+        assertEquals(writer.writeValueAsString(defaultMapper.readValue(OPTION_TRADE, Trade.class)),
+                writer.writeValueAsString(customMapper.readValue(OPTION_TRADE, Trade.class)));
+    }
+
+    @Test
+    public void valuesTest() throws Exception {
+        Trade trade = customMapper.readValue(OPTION_TRADE, Trade.class);
+
+        assertEquals(LocalDate.of(2016, 8, 11), trade.getTradeDate());
+        assertEquals(LocalDate.of(2016, 8, 19), trade.getExpiryDate());
+        assertEquals(new BigDecimal("1120000.00"), trade.getAmount2());
+        assertNull(trade.getValueDate());
+        assertSame(trade.getPremiumDate(), customMapper.readValue(OPTION_TRADE, Trade.class).getPremiumDate());
+        assertSame(trade.getLegalEntity(), customMapper.readValue(OPTION_TRADE, Trade.class).getLegalEntity());
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void notValidDateTest() throws Exception {
+        customMapper.readValue(OPTION_TRADE.replace("2016-08-11", "2016-02-30"), Trade.class);
+    }
+
+    private static ObjectMapper mapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+}
@@ -0,0 +1,79 @@
+package com.creditsuisse.validator.reference;
+
+import com.creditsuisse.validator.calendar.HolidayCalendars;
+import com.creditsuisse.validator.util.CurrencyCodes;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CurrencySetTest {
+
+    private final CurrencySet currencies = new CurrencySet(Arrays.asList("USD", "EUR", "AAA", "ZZZ", "USD"));
+
+    @Test
+    public void encodeTest() {
+        assertEquals(0, CurrencyCodes.encode("AAA"));
+        assertEquals(CurrencyCodes.SIZE - 1, CurrencyCodes.encode("ZZZ"));
+        assertEquals("USD", CurrencyCodes.decode(CurrencyCodes.encode("USD")));
+        assertEquals(CurrencyCodes.encode("USD"), CurrencyCodes.encode("EURUSD", 3));
+
+        assertEquals(CurrencyCodes.NOT_VALID, CurrencyCodes.encode(null));
+        assertEquals(CurrencyCodes.NOT_VALID, CurrencyCodes.encode("usd"));
+        assertEquals(CurrencyCodes.NOT_VALID, CurrencyCodes.encode("US"));
+        assertEquals(CurrencyCodes.NOT_VALID, CurrencyCodes.encode("USDX"));
+        assertEquals(CurrencyCodes.NOT_VALID, CurrencyCodes.encode("U$D"));
+        assertEquals(CurrencyCodes.NOT_VALID, CurrencyCodes.encode("EURUS", 3));
+        assertEquals(CurrencyCodes.NOT_VALID, CurrencyCodes.encode("EURUSD", -1));
+    }
+
+    @Test
+    public void containsTest() {
+        assertEquals(4, currencies.size());
+        assertEquals(Arrays.asList("AAA", "EUR", "USD", "ZZZ"), currencies.toList());
+
+        assertTrue(currencies.contains("USD"));
+        assertTrue(currencies.contains("AAA"));
+        assertTrue(currencies.contains("ZZZ"));
+        assertFalse(currencies.contains("GBP"));
+        assertFalse(currencies.contains("usd"));
+        assertFalse(currencies.contains("US"));
+        assertFalse(currencies.contains("USDD"));
+        assertFalse(currencies.contains((CharSequence) null));
+        assertFalse(currencies.contains(CurrencyCodes.NOT_VALID));
+    }
+
+    @Test
+    public void containsPairTest() {
+        assertTrue(currencies.containsPair("EURUSD"));
+        assertTrue(currencies.containsPair("USDUSD"));
+        assertFalse(currencies.containsPair("EURGBP"));
+        assertFalse(currencies.containsPair("eurusd"));
+        assertFalse(currencies.containsPair("EURUS"));
+        assertFalse(currencies.containsPair("EURUSDX"));
+        assertFalse(currencies.containsPair("EUR/USD"));
+        assertFalse(currencies.containsPair(null));
+    }
+
+    @Test
+    public void referenceDataTest() {
+        ReferenceData referenceData = new ReferenceData(1, "test", Arrays.asList("EUR", "USD"), Arrays.asList("PLUTO1"),
+                Arrays.asList("CS Zurich"), new HolidayCalendars(Collections.emptyMap(), "USD"));
+
+        assertTrue(referenceData.isValidCurrency("EUR"));
+        assertFalse(referenceData.isValidCurrency("eur"));
+        assertFalse(referenceData.isValidCurrency(null));
+        assertTrue(referenceData.isValidCcyPair("EURUSD"));
+        assertFalse(referenceData.isValidCcyPair("EURCHF"));
+        assertFalse(referenceData.isValidCcyPair("EUR"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notValidCurrencyTest() {
+        new CurrencySet(Arrays.asList("EUR", "usd"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.creditsuisse.validator.reference;
+
+import com.creditsuisse.validator.calendar.HolidayCalendars;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.service.ValidationService;
+import com.creditsuisse.validator.util.StringCanonicalizer;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "reference.data.watch=false")
+@DirtiesContext
+public class ReferenceDataProviderTest {
+
+    @ClassRule
+    public static final TemporaryFolder LOCATION = new TemporaryFolder();
+
+    private static final String INITIAL = "valid.customers=PLUTO1,PLUTO3\nholidays.calendars=USD\nholidays.default=USD\n"
+            + "holidays.USD=2017-08-21\n";
+
+    @Autowired
+    private ReferenceDataProvider referenceDataProvider;
+
+    @Autowired
+    private ValidationService validationService;
+
+    @Autowired
+    private StringCanonicalizer tradeCanonicalizer;
+
+    @BeforeClass
+    public static void writeReferenceData() throws IOException {
+        // location is known only after folder is created, so it's passed to context as system property
+        System.setProperty("reference.data.location", LOCATION.getRoot().toString());
+        write(INITIAL);
+    }
+
+    /**
+     * Tests reload different data, so every test starts with initial data
+     */
+    @Before
+    public void reloadInitial() throws IOException {
+        write(INITIAL);
+        assertTrue(referenceDataProvider.reload());
+    }
+
+    @AfterClass
+    public static void clearLocation() {
+        System.clearProperty("reference.data.location");
+    }
+
+    @Test
+    public void reloadTest() throws IOException {
+        ReferenceData initial = referenceDataProvider.get();
+        assertTrue(initial.isSupportedCustomer("PLUTO3"));
+        assertFalse(initial.isSupportedCustomer("PLUTO2"));
+        assertTrue(initial.isValidCurrency("EUR"));
+        assertFalse(validationService.validate(Collections.singletonList(getTrade())).isValid());
+
+        write("valid.customers=PLUTO1\nholidays.calendars=USD\nholidays.default=USD\nholidays.USD=\n");
+        assertTrue(referenceDataProvider.reload());
+
+        assertTrue(referenceDataProvider.get().getVersion() > initial.getVersion());
+        assertFalse(referenceDataProvider.get().isSupportedCustomer("PLUTO3"));
+        assertTrue(initial.isSupportedCustomer("PLUTO3"));
+        assertTrue(validationService.validate(Collections.singletonList(getTrade())).isValid());
+        // spot T+1 pairs are not in location, so they are taken from application.properties
+        assertEquals(1, referenceDataProvider.get().getHolidayCalendars().getSettlementCalendar().getSpotDays("USDCAD"));
+
+        // canonical values follow reloaded reference data
+        write("valid.customers=PLUTO1,PLUTO9\nholidays.calendars=USD\nholidays.default=USD\nholidays.USD=\n");
+        assertTrue(referenceDataProvider.reload());
+        assertSame(tradeCanonicalizer.canonicalize(new String("PLUTO9")), tradeCanonicalizer.canonicalize(new String("PLUTO9")));
+    }
+
+    @Test
+    public void holidayKeyReloadTest() throws IOException {
+        write("holidays.EUR=2017-08-18\n");
+        assertTrue(referenceDataProvider.reload());
+
+        HolidayCalendars calendars = referenceDataProvider.get().getHolidayCalendars();
+        assertFalse(calendars.get("EUR").isWorkingDay(LocalDate.of(2017, 8, 18)));
+        assertTrue(calendars.get("EUR").isWorkingDay(LocalDate.of(2017, 12, 27)));
+        // other keys are taken from application.properties
+        assertFalse(calendars.get("GBP").isWorkingDay(LocalDate.of(2017, 12, 26)));
+        assertFalse(calendars.get("USD").isWorkingDay(LocalDate.of(2017, 7, 4)));
+        assertEquals("USD", calendars.getDefaultCurrency());
+        assertEquals(1, calendars.getSettlementCalendar().getSpotDays("USDCAD"));
+    }
+
+    @Test
+    public void notValidReloadTest() throws IOException {
+        ReferenceData current = referenceDataProvider.get();
+        write("valid.currencies=EUR,usd\n");
+
+        assertFalse(referenceDataProvider.reload());
+        assertEquals(current, referenceDataProvider.get());
+    }
+
+    private static void write(String properties) throws IOException {
+        Files.write(LOCATION.getRoot().toPath().resolve("reference.properties"), properties.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Trade getTrade() {
+        Trade trade = new Trade();
+        trade.setCustomer("PLUTO1");
+        trade.setCcyPair("EURUSD");
+        trade.setType("Spot");
+        trade.setTradeDate(LocalDate.of(2017, 8, 17));
+        trade.setValueDate(LocalDate.of(2017, 8, 21));
+        trade.setLegalEntity("CS Zurich");
+        return trade;
+    }
+}
@@ -0,0 +1,140 @@
+package com.creditsuisse.validator.resource;
+
+import com.creditsuisse.validator.job.ValidationJobService;
+import com.creditsuisse.validator.service.ValidationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.creditsuisse.validator.resource.ValidationResource.APPLICATION_NDJSON_VALUE;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.fileUpload;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class JobResourceTest {
+
+    private static final String VALID_TRADE = "{\"customer\":\"PLUTO1\",\"ccyPair\":\"EURUSD\",\"type\":\"Spot\","
+            + "\"direction\":\"BUY\",\"tradeDate\":\"2016-08-11\",\"amount1\":1000000.00,\"amount2\":1120000.00,"
+            + "\"rate\":1.12,\"valueDate\":\"2016-08-15\",\"legalEntity\":\"CS Zurich\",\"trader\":\"Johann Baumfiddler\"}";
+
+    private static final String NOT_VALID_TRADE = VALID_TRADE.replace("PLUTO1", "PLUTO3");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ValidationService validationService;
+
+    @Autowired
+    private ValidationJobService validationJobService;
+
+    @Test
+    public void jobTest() throws Exception {
+        MvcResult result = mockMvc.perform(post("/jobs").contentType(APPLICATION_JSON)
+                .content("[" + VALID_TRADE + "," + NOT_VALID_TRADE + "," + VALID_TRADE + "," + NOT_VALID_TRADE + "]"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", containsString("/jobs/")))
+                .andReturn();
+        String id = awaitCompleted(result);
+
+        mockMvc.perform(get("/jobs/" + id))
+                .andExpect(jsonPath("$.processed").value(4))
+                .andExpect(jsonPath("$.errors").value(2))
+                .andExpect(jsonPath("$.valid").value(false));
+
+        mockMvc.perform(get("/jobs/" + id + "/results").param("offset", "1").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.results.length()").value(1))
+                .andExpect(jsonPath("$.results[0].index").value(3))
+                .andExpect(jsonPath("$.results[0].trade.customer").value("PLUTO3"));
+
+        mockMvc.perform(delete("/jobs/" + id)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/jobs/" + id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void uploadTest() throws Exception {
+        byte[] file = (VALID_TRADE + "\n" + VALID_TRADE + "\n").getBytes(StandardCharsets.UTF_8);
+        MvcResult result = mockMvc.perform(fileUpload("/jobs")
+                .file(new MockMultipartFile("file", "trades.ndjson", APPLICATION_NDJSON_VALUE, file)))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        String id = awaitCompleted(result);
+
+        mockMvc.perform(get("/jobs/" + id))
+                .andExpect(jsonPath("$.processed").value(2))
+                .andExpect(jsonPath("$.valid").value(true))
+                .andExpect(jsonPath("$.progress").value(1.0));
+    }
+
+    @Test
+    public void failedJobTest() throws Exception {
+        // reports of chunks before malformed trade are written, before job fails
+        ReflectionTestUtils.setField(validationService, "streamChunkSize", 1);
+        try {
+            MvcResult result = mockMvc.perform(post("/jobs").contentType(APPLICATION_NDJSON_VALUE)
+                    .content(NOT_VALID_TRADE + "\n" + NOT_VALID_TRADE + "\n{\"customer\":}\n"))
+                    .andExpect(status().isAccepted())
+                    .andReturn();
+            String id = await(result, "FAILED");
+
+            mockMvc.perform(get("/jobs/" + id + "/results"))
+                    .andExpect(jsonPath("$.total").value(2))
+                    .andExpect(jsonPath("$.results.length()").value(2));
+        } finally {
+            ReflectionTestUtils.setField(validationService, "streamChunkSize", 1000);
+        }
+    }
+
+    @Test
+    public void fullDirectoryTest() throws Exception {
+        ReflectionTestUtils.setField(validationJobService, "maxDirectorySize", 1L);
+        try {
+            mockMvc.perform(post("/jobs").contentType(APPLICATION_JSON).content("[" + VALID_TRADE + "]"))
+                    .andExpect(status().isServiceUnavailable());
+        } finally {
+            ReflectionTestUtils.setField(validationJobService, "maxDirectorySize", 0L);
+        }
+    }
+
+    private String awaitCompleted(MvcResult submitted) throws Exception {
+        return await(submitted, "COMPLETED");
+    }
+
+    private String await(MvcResult submitted, String status) throws Exception {
+        String id = objectMapper.readTree(submitted.getResponse().getContentAsString()).get("id").asText();
+        for(int i = 0; i < 100; i++) {
+            JsonNode job = objectMapper.readTree(mockMvc.perform(get("/jobs/" + id)).andReturn().getResponse().getContentAsString());
+            if(job.get("status").asText().equals(status)) {
+                return id;
+            }
+            assertEquals("Job is finished: " + job, false, job.get("status").asText().matches("COMPLETED|FAILED"));
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Job is not " + status);
+    }
+}
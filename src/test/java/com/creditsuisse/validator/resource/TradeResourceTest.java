@@ -0,0 +1,63 @@
+package com.creditsuisse.validator.resource;
+
+import com.creditsuisse.validator.metrics.ValidationMetrics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.CUSTOMER_IS_NOT_SUPPORTED;
+import static org.junit.Assert.assertEquals;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TradeResourceTest {
+
+    private static final String VALID_TRADE = "{\"tradeId\":\"T-1\",\"customer\":\"PLUTO1\",\"ccyPair\":\"EURUSD\",\"type\":\"Spot\","
+            + "\"direction\":\"BUY\",\"tradeDate\":\"2016-08-11\",\"amount1\":1000000.00,\"amount2\":1120000.00,"
+            + "\"rate\":1.12,\"valueDate\":\"2016-08-15\",\"legalEntity\":\"CS Zurich\",\"trader\":\"Johann Baumfiddler\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ValidationMetrics validationMetrics;
+
+    @Test
+    public void amendmentTest() throws Exception {
+        mockMvc.perform(put("/trades").contentType(APPLICATION_JSON).content("[" + VALID_TRADE + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true));
+
+        long customerInvocations = validationMetrics.rule("customerIsSupported").getInvocations();
+        long legalEntityInvocations = validationMetrics.rule("legalEntity").getInvocations();
+
+        mockMvc.perform(patch("/trades/T-1").contentType(APPLICATION_JSON).content("{\"customer\":\"PLUTO3\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.validationDetails[0].trade.customer").value("PLUTO3"))
+                .andExpect(jsonPath("$.validationDetails[0].trade.ccyPair").value("EURUSD"))
+                .andExpect(jsonPath("$.validationDetails[0].messages[0]").value(CUSTOMER_IS_NOT_SUPPORTED.getText()));
+
+        assertEquals(customerInvocations + 1, validationMetrics.rule("customerIsSupported").getInvocations());
+        assertEquals(legalEntityInvocations, validationMetrics.rule("legalEntity").getInvocations());
+
+        mockMvc.perform(patch("/trades/T-1").contentType(APPLICATION_JSON).content("{\"customer\":\"PLUTO2\"}"))
+                .andExpect(jsonPath("$.valid").value(true));
+
+        mockMvc.perform(delete("/trades/T-1"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(patch("/trades/T-1").contentType(APPLICATION_JSON).content("{\"customer\":\"PLUTO1\"}"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,289 @@
+package com.creditsuisse.validator.resource;
+
+import com.creditsuisse.validator.io.BinaryTradeFormat;
+import com.creditsuisse.validator.io.BinaryTradeWriter;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.service.ValidationService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.CUSTOMER_IS_NOT_SUPPORTED;
+import static com.creditsuisse.validator.resource.ValidationResource.APPLICATION_COMPACT_JSON_VALUE;
+import static com.creditsuisse.validator.resource.ValidationResource.APPLICATION_NDJSON_VALUE;
+import static com.creditsuisse.validator.resource.ValidationResource.TIMEOUT_HEADER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ValidationResourceTest {
+
+    private static final String VALID_TRADE = "{\"customer\":\"PLUTO1\",\"ccyPair\":\"EURUSD\",\"type\":\"Spot\","
+            + "\"direction\":\"BUY\",\"tradeDate\":\"2016-08-11\",\"amount1\":1000000.00,\"amount2\":1120000.00,"
+            + "\"rate\":1.12,\"valueDate\":\"2016-08-15\",\"legalEntity\":\"CS Zurich\",\"trader\":\"Johann Baumfiddler\"}";
+
+    private static final String NOT_VALID_TRADE = VALID_TRADE.replace("PLUTO1", "PLUTO3");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ValidationService validationService;
+
+    @Test
+    public void streamNdjsonTest() throws Exception {
+        String body = VALID_TRADE + "\n" + NOT_VALID_TRADE + "\n" + VALID_TRADE + "\n";
+        String[] reports = stream(body, APPLICATION_NDJSON_VALUE);
+
+        assertEquals(1, reports.length);
+        assertTrue(reports[0].contains("PLUTO3"));
+    }
+
+    @Test
+    public void streamJsonArrayTest() throws Exception {
+        String body = "[" + NOT_VALID_TRADE + "," + VALID_TRADE + "," + NOT_VALID_TRADE + "]";
+        String[] reports = stream(body, APPLICATION_JSON.toString());
+
+        assertEquals(2, reports.length);
+    }
+
+    @Test
+    public void streamValidTradesTest() throws Exception {
+        String body = "[" + VALID_TRADE + "," + VALID_TRADE + "]";
+        String[] reports = stream(body, APPLICATION_JSON.toString());
+
+        assertEquals(0, reports.length);
+    }
+
+    @Test
+    public void metricsEndpointTest() throws Exception {
+        stream("[" + NOT_VALID_TRADE + "]", APPLICATION_JSON.toString());
+
+        mockMvc.perform(get("/validation"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trades").value(greaterThan(0)))
+                .andExpect(jsonPath("$.rules.customerIsSupported.failures").value(greaterThan(0)))
+                .andExpect(jsonPath("$.failures.CUSTOMER_IS_NOT_SUPPORTED").value(greaterThan(0)))
+                .andExpect(jsonPath("$.batchLatencyMicros.p99").exists());
+    }
+
+    @Test
+    public void compactResponseByAcceptTest() throws Exception {
+        String body = "[" + VALID_TRADE + "," + NOT_VALID_TRADE.replace("{", "{\"tradeId\":\"T-2\",") + "]";
+
+        mockMvc.perform(post("/").contentType(APPLICATION_JSON).accept(APPLICATION_COMPACT_JSON_VALUE).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].tradeId").value("T-2"))
+                .andExpect(jsonPath("$.errors[0].codes[0]").value(CUSTOMER_IS_NOT_SUPPORTED.getCode()))
+                .andExpect(jsonPath("$.errors[0].trade").doesNotExist());
+    }
+
+    @Test
+    public void compactResponseByParameterTest() throws Exception {
+        String body = "[" + NOT_VALID_TRADE + "," + VALID_TRADE + "]";
+
+        mockMvc.perform(post("/").param("format", "compact").contentType(APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errors[0].index").value(0))
+                .andExpect(jsonPath("$.errors[0].tradeId").doesNotExist())
+                .andExpect(jsonPath("$.errors[1]").doesNotExist());
+
+        mockMvc.perform(get("/messages"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$." + CUSTOMER_IS_NOT_SUPPORTED.getCode()).value(CUSTOMER_IS_NOT_SUPPORTED.getText()));
+    }
+
+    @Test
+    public void fullResponseTest() throws Exception {
+        mockMvc.perform(post("/").contentType(APPLICATION_JSON).content("[" + NOT_VALID_TRADE + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.validationDetails[0].trade.customer").value("PLUTO3"))
+                .andExpect(jsonPath("$.validationDetails[0].trade.tradeId").doesNotExist())
+                .andExpect(jsonPath("$.validationDetails[0].messages[0]").value(CUSTOMER_IS_NOT_SUPPORTED.getText()));
+    }
+
+    @Test
+    public void validOnlyResponseTest() throws Exception {
+        mockMvc.perform(post("/").param("validOnly", "true").contentType(APPLICATION_JSON).content("[" + NOT_VALID_TRADE + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.validationDetails").isEmpty());
+    }
+
+    @Test
+    public void streamedResponseTest() throws Exception {
+        MvcResult result = mockMvc.perform(post("/").param("stream", "true").contentType(APPLICATION_JSON)
+                .content("[" + NOT_VALID_TRADE + "," + VALID_TRADE + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.validationDetails[0].trade.customer").value("PLUTO3"))
+                .andExpect(jsonPath("$.validationDetails[1]").doesNotExist())
+                .andReturn();
+
+        assertTrue(result.getResponse().getContentAsString().endsWith("\"valid\":false}"));
+    }
+
+    @Test
+    public void streamedResponseTruncatedTest() throws Exception {
+        mockMvc.perform(post("/").param("stream", "true").param("maxErrors", "1").contentType(APPLICATION_JSON)
+                .content("[" + NOT_VALID_TRADE + "," + NOT_VALID_TRADE + "]"))
+                .andExpect(jsonPath("$.validationDetails.length()").value(1))
+                .andExpect(jsonPath("$.truncated").value(true));
+
+        // limit is reached by the last trade, so nothing is skipped
+        mockMvc.perform(post("/").param("stream", "true").param("maxErrors", "1").contentType(APPLICATION_JSON)
+                .content("[" + VALID_TRADE + "," + NOT_VALID_TRADE + "]"))
+                .andExpect(jsonPath("$.validationDetails.length()").value(1))
+                .andExpect(jsonPath("$.truncated").doesNotExist());
+    }
+
+    @Test
+    public void streamedResponseErrorTest() throws Exception {
+        ReflectionTestUtils.setField(validationService, "streamChunkSize", 1);
+        try {
+            mockMvc.perform(post("/").param("stream", "true").contentType(APPLICATION_JSON)
+                    .content("[" + NOT_VALID_TRADE + ",{\"customer\":}]"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.validationDetails[0].trade.customer").value("PLUTO3"))
+                    .andExpect(jsonPath("$.valid").value(false))
+                    .andExpect(jsonPath("$.error").exists());
+        } finally {
+            ReflectionTestUtils.setField(validationService, "streamChunkSize", 1000);
+        }
+    }
+
+    @Test
+    public void streamErrorTest() throws Exception {
+        ReflectionTestUtils.setField(validationService, "streamChunkSize", 1);
+        try {
+            String[] records = stream(VALID_TRADE + "\n" + VALID_TRADE + "\n{\"customer\":}\n", APPLICATION_NDJSON_VALUE);
+
+            assertEquals(1, records.length);
+            assertTrue(records[0].startsWith("{\"valid\":false,\"error\":"));
+        } finally {
+            ReflectionTestUtils.setField(validationService, "streamChunkSize", 1000);
+        }
+    }
+
+    @Test
+    public void streamingDuplicatesRejectedTest() throws Exception {
+        mockMvc.perform(post("/stream").param("duplicates", "true").contentType(APPLICATION_NDJSON_VALUE).content(VALID_TRADE))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/").param("stream", "true").param("duplicates", "true").contentType(APPLICATION_JSON)
+                .content("[" + VALID_TRADE + "]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void streamedResponseFormatTest() throws Exception {
+        String body = "[" + VALID_TRADE + "]";
+        mockMvc.perform(post("/").param("stream", "true").param("format", "compact").contentType(APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/").param("stream", "true").contentType(APPLICATION_JSON).accept(APPLICATION_COMPACT_JSON_VALUE)
+                .content(body))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/").param("stream", "true").contentType(BinaryTradeFormat.CONTENT_TYPE).content(new byte[0]))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/").param("stream", "false").contentType(APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true));
+    }
+
+    @Test
+    public void timeoutHeaderTest() throws Exception {
+        // every reading of clock moves it by 1 s, so deadline of 10 ms expires before the first trade
+        AtomicLong clock = new AtomicLong();
+        ReflectionTestUtils.setField(validationService, "clock", (LongSupplier) () -> clock.addAndGet(1_000_000_000L));
+        try {
+            mockMvc.perform(post("/").header(TIMEOUT_HEADER, "10").contentType(APPLICATION_JSON)
+                    .content("[" + VALID_TRADE + "," + VALID_TRADE + "]"))
+                    .andExpect(jsonPath("$.valid").value(false))
+                    .andExpect(jsonPath("$.timedOut").value(true))
+                    .andExpect(jsonPath("$.notValidated.length()").value(2));
+
+            // parameter has priority over header
+            mockMvc.perform(post("/").header(TIMEOUT_HEADER, "10").param("timeout", "100000").contentType(APPLICATION_JSON)
+                    .content("[" + VALID_TRADE + "," + VALID_TRADE + "]"))
+                    .andExpect(jsonPath("$.valid").value(true))
+                    .andExpect(jsonPath("$.timedOut").doesNotExist())
+                    .andExpect(jsonPath("$.notValidated").doesNotExist());
+        } finally {
+            ReflectionTestUtils.setField(validationService, "clock", (LongSupplier) System::nanoTime);
+        }
+    }
+
+    @Test
+    public void streamTimedOutTest() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        ReflectionTestUtils.setField(validationService, "clock", (LongSupplier) () -> clock.addAndGet(1_000_000_000L));
+        try {
+            // deadline expires before the first chunk is read, so trades are neither validated nor listed
+            String content = mockMvc.perform(post("/stream").header(TIMEOUT_HEADER, "10").contentType(APPLICATION_NDJSON_VALUE)
+                    .content(NOT_VALID_TRADE + "\n" + VALID_TRADE + "\n"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertEquals("{\"valid\":false,\"timedOut\":true}\n", content);
+
+            mockMvc.perform(post("/").param("stream", "true").header(TIMEOUT_HEADER, "10").contentType(APPLICATION_JSON)
+                    .content("[" + NOT_VALID_TRADE + "," + VALID_TRADE + "]"))
+                    .andExpect(jsonPath("$.validationDetails.length()").value(0))
+                    .andExpect(jsonPath("$.valid").value(false))
+                    .andExpect(jsonPath("$.timedOut").value(true));
+        } finally {
+            ReflectionTestUtils.setField(validationService, "clock", (LongSupplier) System::nanoTime);
+        }
+    }
+
+    @Test
+    public void binaryRequestTest() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        String json = "[" + VALID_TRADE + "," + NOT_VALID_TRADE + "]";
+        List<Trade> trades = objectMapper.readValue(json, new TypeReference<List<Trade>>() {});
+
+        String jsonResponse = mockMvc.perform(post("/").contentType(APPLICATION_JSON).content(json))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(post("/").contentType(BinaryTradeFormat.CONTENT_TYPE).content(BinaryTradeWriter.encode(trades)))
+                .andExpect(status().isOk())
+                .andExpect(content().json(jsonResponse, true));
+
+        mockMvc.perform(post("/").contentType(BinaryTradeFormat.CONTENT_TYPE).content(new byte[]{'V', 'T', 'B', '1', 0}))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String[] stream(String body, String contentType) throws Exception {
+        MvcResult result = mockMvc.perform(post("/stream").contentType(contentType).content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String content = result.getResponse().getContentAsString();
+        return content.isEmpty() ? new String[0] : content.split("\n");
+    }
+}
@@ -0,0 +1,140 @@
+package com.creditsuisse.validator.service;
+
+import com.creditsuisse.validator.metrics.ValidationMetrics;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import com.creditsuisse.validator.reference.ReferenceDataProvider;
+import com.creditsuisse.validator.rules.ProductType;
+import com.creditsuisse.validator.rules.TradeColumns;
+import com.creditsuisse.validator.rules.TradeField;
+import com.creditsuisse.validator.rules.TradeRule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ExecutionPlanTest {
+
+    @Autowired
+    private List<TradeRule> rules;
+
+    @Autowired
+    private ReferenceDataProvider referenceDataProvider;
+
+    /**
+     * Plan of every product type should contain only rules, which are applied to it, in order of rules
+     */
+    @Test
+    public void planPerProductTypeTest() {
+        ExecutionPlan executionPlan = new ExecutionPlan(rules, new ValidationMetrics());
+
+        for(ProductType productType : ProductType.values()) {
+            List<TradeRule> expected = new ArrayList<>();
+            for(TradeRule rule : rules) {
+                if(rule.getProductTypes().contains(productType)) {
+                    expected.add(rule);
+                }
+            }
+            assertEquals(productType.name(), expected, executionPlan.getRules(productType));
+        }
+
+        assertTrue(getNames(executionPlan.getRules(ProductType.OPTION)).contains("styleAndExcerciseStartDate"));
+        assertFalse(getNames(executionPlan.getRules(ProductType.OPTION)).contains("valueDate"));
+        assertTrue(getNames(executionPlan.getRules(ProductType.SPOT)).contains("valueDate"));
+        assertFalse(getNames(executionPlan.getRules(ProductType.SPOT)).contains("expiryPremiumDeliveryDate"));
+        assertEquals("valueDateAfterTradeDate", executionPlan.getRules(ProductType.OTHER).get(0).getName());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void duplicatedRuleNameTest() {
+        new ExecutionPlan(Arrays.asList(rules.get(0), rules.get(0)), new ValidationMetrics());
+    }
+
+    /**
+     * Columnar validation should give the same messages as validation of every trade,
+     *      for valid trades and trades with every field null or not valid
+     */
+    @Test
+    public void columnarValidationTest() {
+        List<Object> values = Arrays.asList(null, "pluto1", "CS London", "EURUS", "usd", "XXXUSD", "QQQUSD", "Spot",
+                "Forward", "EUROPEAN", "FX", LocalDate.of(2016, 8, 10), LocalDate.of(2016, 8, 13), LocalDate.of(2016, 8, 30));
+        List<Trade> trades = new ArrayList<>();
+        for(Trade valid : Arrays.asList(getSpotTrade(), getOptionTrade())) {
+            trades.add(valid);
+            for(TradeField field : TradeField.values()) {
+                for(Object value : values) {
+                    if(null == value || value.getClass().isInstance(field.get(valid))) {
+                        Trade trade = TradeField.copy(valid);
+                        field.set(trade, value);
+                        trades.add(trade);
+                    }
+                }
+            }
+        }
+
+        ValidationMetrics validationMetrics = new ValidationMetrics();
+        ExecutionPlan executionPlan = new ExecutionPlan(rules, validationMetrics);
+        ReferenceData referenceData = referenceDataProvider.get();
+        long[] masks = executionPlan.validate(new TradeColumns(trades, 0, trades.size()), referenceData, validationMetrics);
+        assertEquals(trades.size(), validationMetrics.rule("legalEntity").getInvocations());
+        assertTrue(validationMetrics.rule("legalEntity").getFailures() > 0);
+
+        for(int i = 0; i < trades.size(); i++) {
+            assertEquals("Trade " + i, executionPlan.validate(trades.get(i), referenceData, false, false, validationMetrics),
+                    masks[i]);
+        }
+    }
+
+    private static List<String> getNames(List<TradeRule> rules) {
+        List<String> names = new ArrayList<>();
+        for(TradeRule rule : rules) {
+            names.add(rule.getName());
+        }
+        return names;
+    }
+    private static Trade getSpotTrade() {
+        Trade trade = new Trade();
+        trade.setCustomer("PLUTO1");
+        trade.setCcyPair("EURUSD");
+        trade.setType("Spot");
+        trade.setDirection("BUY");
+        trade.setTradeDate(LocalDate.of(2016, 8, 11));
+        trade.setAmount1(BigDecimal.valueOf(1000000.00));
+        trade.setAmount2(BigDecimal.valueOf(1120000.00));
+        trade.setRate(1.12);
+        trade.setValueDate(LocalDate.of(2016, 8, 15));
+        trade.setLegalEntity("CS Zurich");
+        trade.setTrader("Johann Baumfiddler");
+        return trade;
+    }
+
+    private static Trade getOptionTrade() {
+        Trade trade = getSpotTrade();
+        trade.setType("VanillaOption");
+        trade.setValueDate(null);
+        trade.setStyle("AMERICAN");
+        trade.setStrategy("CALL");
+        trade.setDeliveryDate(LocalDate.of(2016, 8, 22));
+        trade.setExpiryDate(LocalDate.of(2016, 8, 19));
+        trade.setExcerciseStartDate(LocalDate.of(2016, 8, 12));
+        trade.setPayCcy("USD");
+        trade.setPremium(0.20);
+        trade.setPremiumCcy("USD");
+        trade.setPremiumType("%USD");
+        trade.setPremiumDate(LocalDate.of(2016, 8, 12));
+        return trade;
+    }
+}
@@ -0,0 +1,104 @@
+package com.creditsuisse.validator.service;
+
+import com.creditsuisse.validator.calendar.HolidayCalendars;
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.metrics.ValidationMetrics;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.reference.ReferenceData;
+import com.creditsuisse.validator.rules.CustomerIsSupportedRule;
+import com.creditsuisse.validator.rules.LegalEntityRule;
+import com.creditsuisse.validator.rules.TradeRule;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.CUSTOMER_IS_NOT_SUPPORTED;
+import static com.creditsuisse.validator.enums.MessageTextEnum.LEGAL_ENTITY_IS_NOT_VALID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class ResultCacheTest {
+
+    private final ValidationMetrics validationMetrics = new ValidationMetrics();
+    private final List<TradeRule> rules = Arrays.asList(new CustomerIsSupportedRule(), new LegalEntityRule());
+    private final ResultCache resultCache = new ResultCache();
+
+    @Before
+    public void init() {
+        ReflectionTestUtils.setField(resultCache, "enabled", true);
+        ReflectionTestUtils.setField(resultCache, "maxSize", 100);
+        ReflectionTestUtils.setField(resultCache, "ttl", 60000L);
+        ReflectionTestUtils.setField(resultCache, "validationMetrics", validationMetrics);
+        resultCache.init();
+    }
+
+    @Test
+    public void hitTest() {
+        ReferenceData referenceData = referenceData(1);
+        Trade trade = getTrade();
+        assertNull(resultCache.get(resultCache.key(trade, referenceData)));
+
+        ExecutionPlan executionPlan = new ExecutionPlan(rules, validationMetrics);
+        resultCache.put(resultCache.key(trade, referenceData), executionPlan.validate(trade, referenceData, false,
+                validationMetrics));
+
+        // the same content with other tradeId and scale of amount
+        Trade retry = getTrade();
+        retry.setTradeId("T-2");
+        retry.setAmount1(new BigDecimal("1000.00"));
+        assertNotNull(resultCache.get(resultCache.key(retry, referenceData)));
+        assertEquals(1L, cacheMetric("hits"));
+        assertEquals(1L, cacheMetric("misses"));
+
+        // reloaded reference data invalidate all results
+        assertNull(resultCache.get(resultCache.key(retry, referenceData(2))));
+        assertEquals(0, resultCache.size());
+    }
+
+    @Test
+    public void replayInOrderOfPlanTest() {
+        ReferenceData referenceData = referenceData(1);
+        Trade trade = getTrade();
+        ResultCache.Key key = resultCache.key(trade, referenceData);
+        resultCache.put(key, new ExecutionPlan(rules, validationMetrics).validate(trade, referenceData, false,
+                validationMetrics));
+
+        Map<String, MessageTextEnum> failures = resultCache.get(key);
+        ExecutionPlan reordered = new ExecutionPlan(Arrays.asList(rules.get(1), rules.get(0)), validationMetrics);
+        assertEquals(CUSTOMER_IS_NOT_SUPPORTED.mask() | LEGAL_ENTITY_IS_NOT_VALID.mask(),
+                reordered.replay(trade, failures, false, validationMetrics));
+        assertEquals(LEGAL_ENTITY_IS_NOT_VALID.mask(), reordered.replay(trade, failures, true, validationMetrics));
+
+        // rules are recorded also by replay: validation, full replay and failFast replay
+        assertEquals(3, validationMetrics.rule("legalEntity").getInvocations());
+        assertEquals(2, validationMetrics.rule("customerIsSupported").getInvocations());
+    }
+
+    private static ReferenceData referenceData(long version) {
+        return new ReferenceData(version, "test", Arrays.asList("EUR", "USD"), Collections.singletonList("PLUTO1"),
+                Collections.singletonList("CS Zurich"), new HolidayCalendars(Collections.emptyMap(), "USD"));
+    }
+
+    private static Trade getTrade() {
+        Trade trade = new Trade();
+        trade.setTradeId("T-1");
+        trade.setCustomer("PLUTO3");
+        trade.setCcyPair("EURUSD");
+        trade.setType("Spot");
+        trade.setAmount1(new BigDecimal("1000"));
+        trade.setLegalEntity("CS London");
+        return trade;
+    }
+
+    @SuppressWarnings("unchecked")
+    private long cacheMetric(String name) {
+        return (Long) ((Map<String, Object>) validationMetrics.toMap().get("resultCache")).get(name);
+    }
+}
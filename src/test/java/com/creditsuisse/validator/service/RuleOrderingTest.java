@@ -0,0 +1,106 @@
+package com.creditsuisse.validator.service;
+
+import com.creditsuisse.validator.expression.ExpressionRules;
+import com.creditsuisse.validator.metrics.ValidationMetrics;
+import com.creditsuisse.validator.rules.CcyPairCurrencyRule;
+import com.creditsuisse.validator.rules.CustomerIsSupportedRule;
+import com.creditsuisse.validator.rules.LegalEntityRule;
+import com.creditsuisse.validator.rules.ProductType;
+import com.creditsuisse.validator.rules.TradeRule;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RuleOrderingTest {
+
+    private final ValidationMetrics validationMetrics = new ValidationMetrics();
+    private final List<TradeRule> rules = Arrays.asList(new CustomerIsSupportedRule(), new CcyPairCurrencyRule(), new LegalEntityRule());
+
+    @Test
+    public void reorderByCostAndFailureRateTest() {
+        RuleOrdering ruleOrdering = ruleOrdering("");
+        record("customerIsSupported", 1000, 10, 500);
+        record("ccyPairCurrency", 1000, 0, 50);
+        record("legalEntity", 1000, 100, 100);
+
+        assertTrue(ruleOrdering.reorder());
+        assertEquals(Arrays.asList("legalEntity", "customerIsSupported", "ccyPairCurrency"), names(ruleOrdering));
+        assertFalse(ruleOrdering.reorder());
+    }
+
+    @Test
+    public void reorderByRecentTrafficTest() {
+        RuleOrdering ruleOrdering = ruleOrdering("");
+        record("customerIsSupported", 1000, 10, 500);
+        record("ccyPairCurrency", 1000, 0, 50);
+        record("legalEntity", 1000, 100, 100);
+        ruleOrdering.reorder();
+
+        // cumulative failure rates would still put legalEntity first
+        record("customerIsSupported", 1000, 300, 500);
+        record("legalEntity", 1000, 0, 100);
+
+        assertTrue(ruleOrdering.reorder());
+        assertEquals(Arrays.asList("customerIsSupported", "legalEntity", "ccyPairCurrency"), names(ruleOrdering));
+    }
+
+    @Test
+    public void notObservedRulesKeepStaticOrderTest() {
+        RuleOrdering ruleOrdering = ruleOrdering("");
+        record("legalEntity", 1000, 100, 100);
+
+        ruleOrdering.reorder();
+        assertEquals(Arrays.asList("legalEntity", "customerIsSupported", "ccyPairCurrency"), names(ruleOrdering));
+    }
+
+    @Test
+    public void staticOrderTest() {
+        RuleOrdering ruleOrdering = ruleOrdering("legalEntity, ccyPairCurrency");
+
+        assertFalse(ruleOrdering.isAdaptive());
+        assertEquals(Arrays.asList("legalEntity", "ccyPairCurrency", "customerIsSupported"), names(ruleOrdering));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unknownRuleOfStaticOrderTest() {
+        ruleOrdering("legalEntity,unknown");
+    }
+
+    private RuleOrdering ruleOrdering(String staticOrder) {
+        RuleOrdering ruleOrdering = new RuleOrdering();
+        ReflectionTestUtils.setField(ruleOrdering, "adaptive", false);
+        ReflectionTestUtils.setField(ruleOrdering, "minInvocations", 1000L);
+        ReflectionTestUtils.setField(ruleOrdering, "decay", 0.5);
+        ReflectionTestUtils.setField(ruleOrdering, "staticOrder", staticOrder);
+        ReflectionTestUtils.setField(ruleOrdering, "rules", rules);
+        ReflectionTestUtils.setField(ruleOrdering, "expressionRules", expressionRules());
+        ReflectionTestUtils.setField(ruleOrdering, "validationMetrics", validationMetrics);
+        ruleOrdering.init();
+        return ruleOrdering;
+    }
+
+    private static ExpressionRules expressionRules() {
+        ExpressionRules expressionRules = new ExpressionRules();
+        ReflectionTestUtils.setField(expressionRules, "environment", new MockEnvironment());
+        expressionRules.init();
+        return expressionRules;
+    }
+
+    private void record(String rule, int invocations, int failures, long nanos) {
+        for(int i = 0; i < invocations; i++) {
+            validationMetrics.rule(rule).record(i < failures, nanos);
+        }
+    }
+
+    private static List<String> names(RuleOrdering ruleOrdering) {
+        return Arrays.asList(ruleOrdering.getExecutionPlan().getRules(ProductType.SPOT).stream()
+                .map(TradeRule::getName).toArray(String[]::new));
+    }
+}
@@ -1,177 +1,412 @@
-package com.creditsuisse.validator.service;
-
-import com.creditsuisse.validator.enums.MessageTextEnum;
-import com.creditsuisse.validator.model.ErrorReport;
-import com.creditsuisse.validator.model.Trade;
-import com.creditsuisse.validator.responses.ValidationResponse;
-import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.context.junit4.SpringRunner;
-
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-
-import static com.creditsuisse.validator.enums.MessageTextEnum.*;
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
-
-@RunWith(SpringRunner.class)
-@SpringBootTest
-public class ValidationServiceTest {
-
-    @Autowired
-    private ValidationService validationService;
-
-    @Test
-    public void positiveValidationTest() {
-        ValidationResponse validationResponse = validationService.validate(getValidTrades());
-        assertTrue(validationResponse.isValid());
-    }
-
-    @Test
-    public void negativeValidationValueDateAfterTradeDateTest() {
-        Trade trade = getSpotValidTrade();
-        trade.setValueDate(LocalDate.of(2016, 1, 1));
-        trade.setTradeDate(LocalDate.of(2016, 1, 2));
-        negativeTradeTest(trade, VALUE_DATE_BEFORE_TRADE_DATE);
-    }
-
-    @Test
-    public void negativeValidationValueDateIsWorkingDayTest() {
-        Trade trade = getSpotValidTrade();
-        trade.setValueDate(LocalDate.of(2017, 1, 1));
-        negativeTradeTest(trade, VALUE_DATE_IS_NOT_WORKING_DAY);
-    }
-
-    @Test
-    public void negativeValidationCustomerIsSupportedTest() {
-        Trade trade = getSpotValidTrade();
-        trade.setCustomer("PLUTO3");
-        negativeTradeTest(trade, CUSTOMER_IS_NOT_SUPPORTED);
-    }
-
-    @Test
-    public void negativeValidationCcyPairCurrencyTest() {
-        Trade trade = getSpotValidTrade();
-        trade.setCcyPair("USD");
-        negativeTradeTest(trade, CCYPAIR_IS_NOT_VALID);
-        trade.setCcyPair("AAAAAA");
-        negativeTradeTest(trade, CCYPAIR_IS_NOT_VALID);
-    }
-
-    @Test
-    public void negativeValidationPayCcyCurrencyTest() {
-        Trade trade = getSpotValidTrade();
-        trade.setPayCcy("AAA");
-        negativeTradeTest(trade, PAYCCY_IS_NOT_VALID);
-    }
-
-    @Test
-    public void negativeValidationPremiumCcyCurrencyTest() {
-        Trade trade = getSpotValidTrade();
-        trade.setPayCcy("AAA");
-        negativeTradeTest(trade, PREMIUMCCY_IS_NOT_VALID);
-    }
-
-    @Test
-    public void negativeValidationValueDateTest() {
-        Trade trade = getSpotValidTrade();
-        trade.setValueDate(null);
-        negativeTradeTest(trade, VALUE_DATE_IS_EMPTY);
-    }
-
-    @Test
-    public void negativeValidationOptionNotValidStyleTest() {
-        Trade trade = getOptionValidTrade();
-        trade.setStyle("NOT_RECOGNIZED_STYLE");
-        negativeTradeTest(trade, STYLE_IS_NOT_VALID_FOR_OPTION);
-    }
-
-    @Test
-    public void negativeValidationAmericanExcerciesStartDateEmptyTest() {
-        Trade trade = getOptionValidTrade();
-        trade.setStyle("AMERICAN");
-        trade.setExcerciseStartDate(null);
-        negativeTradeTest(trade, EXCERCISE_START_DATE_IS_EMPTY);
-    }
-
-    @Test
-    public void negativeValidationAmericanExcerciesStartDateBeforeTradeDateTest() {
-        Trade trade = getOptionValidTrade();
-        trade.setStyle("AMERICAN");
-        trade.setExcerciseStartDate(LocalDate.of(2016, 1, 1));
-        trade.setTradeDate(LocalDate.of(2016, 1, 2));
-        negativeTradeTest(trade, EXCERCISE_START_DATE_IS_BEFORE_TRADE_DATE);
-    }
-
-    @Test
-    public void negativeValidationAmericanExcerciesStartDateAfterExpiryDateTest() {
-        Trade trade = getOptionValidTrade();
-        trade.setStyle("AMERICAN");
-        trade.setExcerciseStartDate(LocalDate.of(2016, 1, 2));
-        trade.setTradeDate(LocalDate.of(2016, 1, 1));
-        trade.setExpiryDate(LocalDate.of(2016, 1, 1));
-        negativeTradeTest(trade, EXCERCISE_START_DATE_IS_AFTER_EXPIRY_DATE);
-    }
-
-    private void negativeTradeTest(Trade trade, MessageTextEnum message) {
-        ValidationResponse validationResponse = validationService.validate(Collections.singletonList(trade));
-        assertEquals(validationResponse.isValid(), false);
-        List<ErrorReport> errorReports = validationResponse.getValidationDetails();
-        assertEquals(errorReports.size(), 1);
-        assertEquals(errorReports.get(0).getMessages().size(), 1);
-        assertEquals(errorReports.get(0).getMessages().get(0), message);
-    }
-
-    private List<Trade> getValidTrades() {
-        return Arrays.asList(getSpotValidTrade(), getOptionValidTrade());
-    }
-    
-    private Trade getSpotValidTrade() {
-        Trade trade = new Trade();
-        trade.setCustomer("PLUTO1");
-        trade.setCcyPair("EURUSD");
-        trade.setType("Spot");
-        trade.setDirection("BUY");
-        trade.setTradeDate(LocalDate.of(2016, 8, 11));
-        trade.setAmount1(BigDecimal.valueOf(1000000.00));
-        trade.setAmount2(BigDecimal.valueOf(1120000.00));
-        trade.setRate(1.12);
-        trade.setValueDate(LocalDate.of(2016, 8, 15));
-        trade.setLegalEntity("CS Zurich");
-        trade.setTrader("Johann Baumfiddler");
-        
-        return trade;
-    }
-
-    private Trade getOptionValidTrade() {
-        Trade trade = new Trade();
-        trade.setCustomer("PLUTO1");
-        trade.setCcyPair("EURUSD");
-        trade.setType("VanillaOption");
-        trade.setStyle("AMERICAN");
-        trade.setDirection("BUY");
-        trade.setStrategy("CALL");
-        trade.setTradeDate(LocalDate.of(2016, 8, 11));
-        trade.setAmount1(BigDecimal.valueOf(1000000.00));
-        trade.setAmount2(BigDecimal.valueOf(1120000.00));
-        trade.setRate(1.12);
-        trade.setDeliveryDate(LocalDate.of(2016, 8, 22));
-        trade.setExpiryDate(LocalDate.of(2016, 8, 19));
-        trade.setExcerciseStartDate(LocalDate.of(2016, 8, 12));
-        trade.setPayCcy("USD");
-        trade.setPremium(0.20);
-        trade.setPremiumCcy("USD");
-        trade.setPremiumType("%USD");
-        trade.setPremiumDate(LocalDate.of(2016, 8, 12));
-        trade.setLegalEntity("CS Zurich");
-        trade.setTrader("Johann Baumfiddler");
-
-        return trade;
-    }
+package com.creditsuisse.validator.service;
+
+import com.creditsuisse.validator.enums.MessageTextEnum;
+import com.creditsuisse.validator.model.ErrorReport;
+import com.creditsuisse.validator.model.Trade;
+import com.creditsuisse.validator.responses.ValidationResponse;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.creditsuisse.validator.enums.MessageTextEnum.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ValidationServiceTest {
+
+    @Autowired
+    private ValidationService validationService;
+
+    @Test
+    public void positiveValidationTest() {
+        ValidationResponse validationResponse = validationService.validate(getValidTrades());
+        assertTrue(validationResponse.isValid());
+    }
+
+    @Test
+    public void negativeValidationValueDateAfterTradeDateTest() {
+        Trade trade = getSpotValidTrade();
+        trade.setValueDate(LocalDate.of(2016, 1, 1));
+        trade.setTradeDate(LocalDate.of(2016, 1, 2));
+        negativeTradeTest(trade, VALUE_DATE_BEFORE_TRADE_DATE);
+    }
+
+    @Test
+    public void negativeValidationValueDateIsWorkingDayTest() {
+        Trade trade = getSpotValidTrade();
+        trade.setValueDate(LocalDate.of(2017, 1, 1));
+        negativeTradeTest(trade, VALUE_DATE_IS_NOT_WORKING_DAY);
+    }
+
+    @Test
+    public void negativeValidationCustomerIsSupportedTest() {
+        Trade trade = getSpotValidTrade();
+        trade.setCustomer("PLUTO3");
+        negativeTradeTest(trade, CUSTOMER_IS_NOT_SUPPORTED);
+    }
+
+    @Test
+    public void negativeValidationCcyPairCurrencyTest() {
+        Trade trade = getSpotValidTrade();
+        trade.setCcyPair("USD");
+        negativeTradeTest(trade, CCYPAIR_IS_NOT_VALID);
+        trade.setCcyPair("AAAAAA");
+        negativeTradeTest(trade, CCYPAIR_IS_NOT_VALID);
+    }
+
+    @Test
+    public void negativeValidationPayCcyCurrencyTest() {
+        Trade trade = getSpotValidTrade();
+        trade.setPayCcy("AAA");
+        negativeTradeTest(trade, PAYCCY_IS_NOT_VALID);
+    }
+
+    @Test
+    public void negativeValidationPremiumCcyCurrencyTest() {
+        Trade trade = getSpotValidTrade();
+        trade.setPayCcy("AAA");
+        negativeTradeTest(trade, PREMIUMCCY_IS_NOT_VALID);
+    }
+
+    @Test
+    public void negativeValidationValueDateTest() {
+        Trade trade = getSpotValidTrade();
+        trade.setValueDate(null);
+        negativeTradeTest(trade, VALUE_DATE_IS_EMPTY);
+    }
+
+    @Test
+    public void negativeValidationSpotDateTest() {
+        Trade trade = getSpotValidTrade();
+        trade.setValueDate(LocalDate.of(2016, 8, 16));
+        negativeTradeTest(trade, VALUE_DATE_IS_NOT_SPOT_DATE);
+
+        trade.setCcyPair("USDCAD");
+        trade.setValueDate(LocalDate.of(2016, 8, 12));
+        assertTrue(validationService.validate(Collections.singletonList(trade)).isValid());
+
+        // currency, which isn't in reference data, is reported only by ccyPair rule
+        trade.setCcyPair("QQQUSD");
+        trade.setValueDate(LocalDate.of(2016, 8, 16));
+        negativeTradeTest(trade, CCYPAIR_IS_NOT_VALID);
+    }
+
+    @Test
+    public void negativeValidationForwardSpotDateTest() {
+        Trade trade = getSpotValidTrade();
+        trade.setType("Forward");
+        negativeTradeTest(trade, VALUE_DATE_IS_BEFORE_SPOT_DATE);
+    }
+
+    @Test
+    public void negativeValidationOptionNotValidStyleTest() {
+        Trade trade = getOptionValidTrade();
+        trade.setStyle("NOT_RECOGNIZED_STYLE");
+        negativeTradeTest(trade, STYLE_IS_NOT_VALID_FOR_OPTION);
+    }
+
+    @Test
+    public void negativeValidationAmericanExcerciesStartDateEmptyTest() {
+        Trade trade = getOptionValidTrade();
+        trade.setStyle("AMERICAN");
+        trade.setExcerciseStartDate(null);
+        negativeTradeTest(trade, EXCERCISE_START_DATE_IS_EMPTY);
+    }
+
+    @Test
+    public void negativeValidationAmericanExcerciesStartDateBeforeTradeDateTest() {
+        Trade trade = getOptionValidTrade();
+        trade.setStyle("AMERICAN");
+        trade.setExcerciseStartDate(LocalDate.of(2016, 1, 1));
+        trade.setTradeDate(LocalDate.of(2016, 1, 2));
+        negativeTradeTest(trade, EXCERCISE_START_DATE_IS_BEFORE_TRADE_DATE);
+    }
+
+    @Test
+    public void negativeValidationAmericanExcerciesStartDateAfterExpiryDateTest() {
+        Trade trade = getOptionValidTrade();
+        trade.setStyle("AMERICAN");
+        trade.setExcerciseStartDate(LocalDate.of(2016, 1, 2));
+        trade.setTradeDate(LocalDate.of(2016, 1, 1));
+        trade.setExpiryDate(LocalDate.of(2016, 1, 1));
+        negativeTradeTest(trade, EXCERCISE_START_DATE_IS_AFTER_EXPIRY_DATE);
+    }
+
+    @Test
+    public void bigBatchValidationTest() {
+        List<Trade> trades = new ArrayList<>();
+        for(int i = 0; i < 1000; i++) {
+            Trade trade = getSpotValidTrade();
+            if(i % 3 == 0) {
+                trade.setCustomer("PLUTO" + (i + 3));
+            }
+            trades.add(trade);
+        }
+
+        ValidationResponse validationResponse = validationService.validate(trades);
+        assertEquals(validationResponse.isValid(), false);
+        List<ErrorReport> errorReports = validationResponse.getValidationDetails();
+        assertEquals(errorReports.size(), 334);
+        for(int i = 0; i < errorReports.size(); i++) {
+            assertEquals(errorReports.get(i).getTrade().getCustomer(), "PLUTO" + (i * 3 + 3));
+        }
+    }
+
+    @Test
+    public void failFastValidationTest() {
+        Trade trade = getSpotValidTrade();
+        trade.setCustomer("PLUTO3");
+        trade.setLegalEntity("CS London");
+        ValidationOptions options = new ValidationOptions();
+        options.setFailFast(true);
+
+        ValidationResponse validationResponse = validationService.validate(Collections.singletonList(trade), options);
+        assertEquals(validationResponse.getValidationDetails().get(0).getMessages().size(), 1);
+        assertEquals(validationResponse.getValidationDetails().get(0).getMessages().get(0), MessageTextEnum.CUSTOMER_IS_NOT_SUPPORTED);
+    }
+
+    @Test
+    public void maxErrorsValidationTest() {
+        List<Trade> trades = new ArrayList<>();
+        for(int i = 0; i < 1000; i++) {
+            Trade trade = getSpotValidTrade();
+            trade.setCustomer("PLUTO3");
+            trades.add(trade);
+        }
+        ValidationOptions options = new ValidationOptions();
+        options.setMaxErrors(10);
+
+        ValidationResponse validationResponse = validationService.validate(trades, options);
+        assertEquals(validationResponse.isValid(), false);
+        assertEquals(validationResponse.getValidationDetails().size(), 10);
+        assertTrue(validationResponse.isTruncated());
+
+        options.setValidOnly(true);
+        validationResponse = validationService.validate(trades, options);
+        assertEquals(validationResponse.isValid(), false);
+        assertTrue(validationResponse.getValidationDetails().isEmpty());
+
+        // exactly maxErrors not valid trades, all trades are validated
+        options.setValidOnly(false);
+        validationResponse = validationService.validate(trades.subList(0, 10), options);
+        assertEquals(validationResponse.getValidationDetails().size(), 10);
+        assertFalse(validationResponse.isTruncated());
+    }
+
+    @Test
+    public void deadlineValidationTest() {
+        AtomicLong clock = new AtomicLong();
+        ReflectionTestUtils.setField(validationService, "clock", (LongSupplier) clock::get);
+        try {
+            ValidationOptions options = new ValidationOptions();
+            options.setTimeout(20);
+
+            ValidationResponse response = validationService.validate(getDeadlineTrades(clock), options);
+            assertFalse(response.isValid());
+            assertTrue(response.isTimedOut());
+            assertEquals(LongStream.range(21, 40).boxed().collect(Collectors.toList()), response.getNotValidated());
+            assertEquals(10, response.getValidationDetails().size());
+            for(ErrorReport report : response.getValidationDetails()) {
+                assertTrue(report.getIndex() < 21);
+            }
+        } finally {
+            ReflectionTestUtils.setField(validationService, "clock", (LongSupplier) System::nanoTime);
+        }
+    }
+
+    @Test
+    public void streamDeadlineValidationTest() {
+        AtomicLong clock = new AtomicLong();
+        ReflectionTestUtils.setField(validationService, "clock", (LongSupplier) clock::get);
+        ReflectionTestUtils.setField(validationService, "streamChunkSize", 10);
+        try {
+            ValidationOptions options = new ValidationOptions();
+            options.setTimeout(20);
+            List<Long> reported = new ArrayList<>();
+
+            ValidationResponse response = validationService.validate(getDeadlineTrades(clock).iterator(),
+                    report -> reported.add(report.getIndex()), options);
+            // trades 30-39 are not read, so they are not listed, but response is timed out
+            assertFalse(response.isValid());
+            assertTrue(response.isTimedOut());
+            assertEquals(LongStream.range(21, 30).boxed().collect(Collectors.toList()), response.getNotValidated());
+            assertEquals(Arrays.asList(1L, 3L, 5L, 7L, 9L, 11L, 13L, 15L, 17L, 19L), reported);
+        } finally {
+            ReflectionTestUtils.setField(validationService, "clock", (LongSupplier) System::nanoTime);
+            ReflectionTestUtils.setField(validationService, "streamChunkSize", 1000);
+        }
+    }
+
+    /**
+     * Trades, which move clock to their index in milliseconds, when they are validated (customer is read),
+     *      so trades after index 20 expire deadline of 20 ms. Trades with odd index are not valid.
+     */
+    private List<Trade> getDeadlineTrades(AtomicLong clock) {
+        List<Trade> trades = new ArrayList<>();
+        for(int i = 0; i < 40; i++) {
+            long time = TimeUnit.MILLISECONDS.toNanos(i);
+            Trade trade = getSpotValidTrade(new Trade() {
+                @Override
+                public String getCustomer() {
+                    clock.accumulateAndGet(time, Math::max);
+                    return super.getCustomer();
+                }
+            });
+            trade.setCustomer(i % 2 == 0 ? "PLUTO1" : "PLUTO3");
+            trades.add(trade);
+        }
+        return trades;
+    }
+
+    @Test
+    public void duplicatesValidationTest() {
+        List<Trade> trades = new ArrayList<>();
+        for(int i = 0; i < 100; i++) {
+            Trade trade = getSpotValidTrade();
+            trade.setAmount1(BigDecimal.valueOf(i + 1));
+            trades.add(trade);
+        }
+        trades.get(3).setCustomer("PLUTO3");
+
+        Trade duplicate = getSpotValidTrade();
+        duplicate.setAmount1(new BigDecimal("6.00"));
+        trades.add(duplicate);
+        Trade conflicting = getSpotValidTrade();
+        conflicting.setAmount1(BigDecimal.valueOf(8));
+        conflicting.setRate(2.0);
+        trades.add(conflicting);
+        Trade notValidDuplicate = getSpotValidTrade();
+        notValidDuplicate.setAmount1(BigDecimal.valueOf(4));
+        notValidDuplicate.setCustomer("PLUTO3");
+        trades.add(notValidDuplicate);
+
+        ValidationOptions options = new ValidationOptions();
+        assertEquals(validationService.validate(trades, options).getValidationDetails().size(), 2);
+
+        options.setDuplicates(true);
+        List<ErrorReport> validationDetails = validationService.validate(trades, options).getValidationDetails();
+        assertEquals(validationDetails.size(), 4);
+        assertEquals(validationDetails.get(0).getMessages(), Collections.singletonList(CUSTOMER_IS_NOT_SUPPORTED));
+        assertEquals(validationDetails.get(1).getMessages(), Collections.singletonList(DUPLICATE_TRADE));
+        assertEquals(validationDetails.get(2).getMessages(), Collections.singletonList(CONFLICTING_TRADE));
+        assertEquals(validationDetails.get(3).getMessages(), Arrays.asList(CUSTOMER_IS_NOT_SUPPORTED, DUPLICATE_TRADE));
+    }
+
+    @Test
+    public void duplicatesAfterMaxErrorsValidationTest() {
+        List<Trade> trades = Arrays.asList(getSpotValidTrade(), getSpotValidTrade(), getSpotValidTrade(), getSpotValidTrade());
+        trades.get(0).setCustomer("PLUTO3");
+        trades.get(1).setCustomer("PLUTO3");
+
+        ValidationOptions options = new ValidationOptions();
+        options.setDuplicates(true);
+        options.setMaxErrors(2);
+        ValidationResponse response = validationService.validate(trades, options);
+
+        // trade 3 is duplicate of trade 2, but they are not validated after stop
+        assertEquals(response.getValidationDetails().size(), 2);
+        assertEquals(response.getValidationDetails().get(1).getMessages(),
+                Arrays.asList(CUSTOMER_IS_NOT_SUPPORTED, DUPLICATE_TRADE));
+        assertTrue(response.isTruncated());
+    }
+
+    @Test
+    public void streamValidationTest() {
+        List<Trade> trades = Arrays.asList(getSpotValidTrade(), getSpotValidTrade(), getSpotValidTrade());
+        trades.get(1).setCustomer("PLUTO3");
+        List<String> events = new ArrayList<>();
+
+        ValidationResponse response = validationService.validate(trades.iterator(), new ValidationListener() {
+            @Override
+            public void accept(ErrorReport report) {
+                events.add("report " + report.getIndex());
+            }
+
+            @Override
+            public void chunkValidated() {
+                events.add("chunk");
+            }
+        }, ValidationOptions.full());
+
+        assertFalse(response.isValid());
+        assertTrue(response.getValidationDetails().isEmpty());
+        assertEquals(Arrays.asList("report 1", "chunk"), events);
+    }
+
+    private void negativeTradeTest(Trade trade, MessageTextEnum message) {
+        ValidationResponse validationResponse = validationService.validate(Collections.singletonList(trade));
+        assertEquals(validationResponse.isValid(), false);
+        List<ErrorReport> errorReports = validationResponse.getValidationDetails();
+        assertEquals(errorReports.size(), 1);
+        assertEquals(errorReports.get(0).getMessages().size(), 1);
+        assertEquals(errorReports.get(0).getMessages().get(0), message);
+    }
+
+    private List<Trade> getValidTrades() {
+        return Arrays.asList(getSpotValidTrade(), getOptionValidTrade());
+    }
+    
+    private Trade getSpotValidTrade() {
+        return getSpotValidTrade(new Trade());
+    }
+
+    private Trade getSpotValidTrade(Trade trade) {
+        trade.setCustomer("PLUTO1");
+        trade.setCcyPair("EURUSD");
+        trade.setType("Spot");
+        trade.setDirection("BUY");
+        trade.setTradeDate(LocalDate.of(2016, 8, 11));
+        trade.setAmount1(BigDecimal.valueOf(1000000.00));
+        trade.setAmount2(BigDecimal.valueOf(1120000.00));
+        trade.setRate(1.12);
+        trade.setValueDate(LocalDate.of(2016, 8, 15));
+        trade.setLegalEntity("CS Zurich");
+        trade.setTrader("Johann Baumfiddler");
+        
+        return trade;
+    }
+
+    private Trade getOptionValidTrade() {
+        Trade trade = new Trade();
+        trade.setCustomer("PLUTO1");
+        trade.setCcyPair("EURUSD");
+        trade.setType("VanillaOption");
+        trade.setStyle("AMERICAN");
+        trade.setDirection("BUY");
+        trade.setStrategy("CALL");
+        trade.setTradeDate(LocalDate.of(2016, 8, 11));
+        trade.setAmount1(BigDecimal.valueOf(1000000.00));
+        trade.setAmount2(BigDecimal.valueOf(1120000.00));
+        trade.setRate(1.12);
+        trade.setDeliveryDate(LocalDate.of(2016, 8, 22));
+        trade.setExpiryDate(LocalDate.of(2016, 8, 19));
+        trade.setExcerciseStartDate(LocalDate.of(2016, 8, 12));
+        trade.setPayCcy("USD");
+        trade.setPremium(0.20);
+        trade.setPremiumCcy("USD");
+        trade.setPremiumType("%USD");
+        trade.setPremiumDate(LocalDate.of(2016, 8, 12));
+        trade.setLegalEntity("CS Zurich");
+        trade.setTrader("Johann Baumfiddler");
+
+        return trade;
+    }
 }
\ No newline at end of file